@@ -0,0 +1,91 @@
+package business;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable list that is extended one element at a time without copying its elements.
+ * <p>
+ * A list and every list extended from it share one backing array. Extending the longest
+ * of them writes the next free slot and returns a longer list over the same array, so a
+ * run of appends costs amortised constant time; a shorter list never reads past its own
+ * length, so it is unaffected. Extending a list that has already been extended, or whose
+ * array is full, copies it into a new array first.
+ *
+ * @param <E> The type of element
+ */
+final class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess
+{
+    /**
+     * Capacity of the first backing array
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final AppendOnlyList<Object> EMPTY = new AppendOnlyList<>(new Object[0], new AtomicInteger(), 0);
+
+    /**
+     * List variables:
+     * <ul>
+     *   <li>{@code elements} - Backing array shared with the lists extended from this one</li>
+     *   <li>{@code used} - Number of slots of the array taken by the longest list</li>
+     *   <li>{@code size} - Number of elements in this list</li>
+     * </ul>
+     */
+    private final Object[] elements;
+    private final AtomicInteger used;
+    private final int size;
+
+    private AppendOnlyList(Object[] elements, AtomicInteger used, int size)
+    {
+        this.elements = elements;
+        this.used = used;
+        this.size = size;
+    }
+
+    /**
+     * @return An empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <E> AppendOnlyList<E> empty()
+    {
+        return (AppendOnlyList<E>) EMPTY;
+    }
+
+    /**
+     * Creates a list with one more element at the end.
+     *
+     * @param element The element to add
+     * @return A new list; this one is unchanged
+     */
+    AppendOnlyList<E> with(E element)
+    {
+        if (size < elements.length && used.compareAndSet(size, size + 1))
+        {
+            elements[size] = element;
+            return new AppendOnlyList<>(elements, used, size + 1);
+        }
+
+        Object[] grown = Arrays.copyOf(elements, Math.max(INITIAL_CAPACITY, size * 2));
+        // Slots past this list's end may hold another list's elements
+        Arrays.fill(grown, size, grown.length, null);
+        grown[size] = element;
+        return new AppendOnlyList<>(grown, new AtomicInteger(size + 1), size + 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index)
+    {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+}
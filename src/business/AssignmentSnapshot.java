@@ -0,0 +1,69 @@
+package business;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only map of module assignments keyed by student or staff ID, as shared through
+ * the {@link file_handling.DataRepository}.
+ * <p>
+ * A single-record edit is applied to the shared map in place, under the repository's
+ * update lock, rather than copying every assignment, so an edit costs the same however
+ * many assignments there are. Each edit replaces one whole entry, so readers see either
+ * the old assignment or the new one; iteration is weakly consistent and never fails
+ * because of a concurrent edit. Callers that need a stable copy to modify use
+ * {@code loadAssignments()}, which copies the snapshot.
+ *
+ * @param <V> The type of assignment
+ */
+final class AssignmentSnapshot<V> extends AbstractMap<Integer, V>
+{
+    /**
+     * Snapshot variables:
+     * <ul>
+     *   <li>{@code assignments} - The assignments by ID</li>
+     *   <li>{@code entries} - Read-only view of the assignments handed to readers</li>
+     * </ul>
+     */
+    private final Map<Integer, V> assignments = new ConcurrentHashMap<>();
+    private final Set<Entry<Integer, V>> entries = Collections.unmodifiableMap(assignments).entrySet();
+
+    /**
+     * Adds or replaces the assignment of one ID. Only called while the snapshot is
+     * being loaded or under the repository's update lock.
+     *
+     * @param id         The student or staff ID
+     * @param assignment The assignment
+     */
+    void store(Integer id, V assignment)
+    {
+        assignments.put(id, assignment);
+    }
+
+    @Override
+    public V get(Object id)
+    {
+        return assignments.get(id);
+    }
+
+    @Override
+    public boolean containsKey(Object id)
+    {
+        return assignments.containsKey(id);
+    }
+
+    @Override
+    public int size()
+    {
+        return assignments.size();
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet()
+    {
+        return entries;
+    }
+}
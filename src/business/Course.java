@@ -3,13 +3,15 @@ package business;
 import business.interfaces.ICourse;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import file_handling.DataRepository;
 import file_handling.FilePathHandler;
 import file_handling.JsonProcessor;
+import file_handling.LatencyTimer;
+import file_handling.MetricsRegistry;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -23,7 +25,17 @@ public class Course implements ICourse
     private String courseTitle;
     private String courseId;
     private DepartmentId departmentId;
-    private static final String DATA_FILE = FilePathHandler.COURSES_FILE.getNormalisedPath();
+
+    /**
+     * Decodes the courses file into an indexed, immutable catalogue
+     */
+    private static final DataRepository.DatasetLoader<CourseCatalogue> LOADER =
+            filePath -> new CourseCatalogue(loadFromFile(filePath));
+
+    /**
+     * Times {@link #getAll()}, including any reload of the courses file
+     */
+    private static final LatencyTimer GET_ALL_TIMER = MetricsRegistry.getInstance().timer("course.getAll");
 
     // Default constructor
     public Course()
@@ -73,35 +85,58 @@ public class Course implements ICourse
 
     /**
      * Retrieves all courses from the JSON file.
+     * The courses file is only parsed again when it has changed since the last read.
      *
-     * @return List of Course objects
+     * @return Unmodifiable list of Course objects
      * @throws IOException if there is an error reading the file
      */
     public static List<Course> getAll() throws IOException
     {
-        JsonProcessor courseProcessor = new JsonProcessor(DATA_FILE);
-        courseProcessor.processFile();
-
-        JsonObject jsonContent = (JsonObject) courseProcessor.getJsonContent();
-        JsonArray coursesJson = jsonContent.getAsJsonArray("courses");
-
-        if (coursesJson == null)
+        long start = System.nanoTime();
+        try
         {
-            throw new IOException("No courses array found in JSON file");
+            return getCatalogue().getCourses();
+        }
+        finally
+        {
+            GET_ALL_TIMER.record(System.nanoTime() - start);
         }
+    }
 
+    /**
+     * Gets the current course catalogue from the shared repository.
+     *
+     * @return The catalogue built from the current courses file
+     * @throws IOException if there is an error reading the file
+     */
+    static CourseCatalogue getCatalogue() throws IOException
+    {
+        return DataRepository.getInstance().get(FilePathHandler.COURSES_FILE, LOADER);
+    }
+
+    /**
+     * Parses the courses file into an unmodifiable list of courses.
+     * The file is streamed exactly once; each course element is mapped to its
+     * department through {@link DepartmentMatcher} as it is read.
+     *
+     * @param filePath Path of the courses file
+     * @return Unmodifiable list of Course objects
+     * @throws IOException if there is an error reading the file
+     */
+    static List<Course> loadFromFile(String filePath) throws IOException
+    {
         Gson gson = new GsonBuilder()
-                .registerTypeAdapter(Course.class, new CourseDeserialiser(DATA_FILE))
+                .registerTypeAdapter(Course.class, new CourseDeserialiser())
                 .create();
 
         List<Course> courses = new ArrayList<>();
-        coursesJson.forEach(jsonElement ->
+        JsonProcessor courseProcessor = new JsonProcessor(filePath, gson);
+        if (!courseProcessor.streamRecords("courses", Course.class, courses::add))
         {
-            Course course = gson.fromJson(jsonElement, Course.class);
-            courses.add(course);
-        });
+            throw new IOException("No courses array found in JSON file");
+        }
 
-        return courses;
+        return Collections.unmodifiableList(courses);
     }
 
     /**
@@ -111,9 +146,10 @@ public class Course implements ICourse
      */
     /**
      * Gets courses for a specific department.
+     * The courses are looked up in the catalogue's department index rather than filtered.
      *
      * @param department The department to get courses for
-     * @return List of courses in the department
+     * @return Unmodifiable list of courses in the department
      * @throws IOException if there is an error reading the file
      */
     public static List<Course> getCoursesByDepartment(Department department) throws IOException
@@ -122,11 +158,7 @@ public class Course implements ICourse
         {
             return new ArrayList<>();
         }
-
-        List<Course> allCourses = getAll();
-        return allCourses.stream()
-                .filter(course -> department.getDepartmentId() == course.getDepartmentId())
-                .collect(Collectors.toList());
+        return getCatalogue().getCoursesByDepartment(department.getDepartmentId());
     }
 
     /**
@@ -244,19 +276,15 @@ public class Course implements ICourse
     }
 
     /**
-     * Gets course code from course title
+     * Gets course code from course title.
+     * Answered from the title index built when the courses file was loaded.
      *
      * @param courseTitle The full course title (e.g., "BA (Hons) Theatre")
      * @return The course code or empty string if not found
      */
     public static String getCourseCodeFromTitle(String courseTitle) throws IOException
     {
-        List<Course> allCourses = getAll();
-        return allCourses.stream()
-                .filter(course -> course.getCourseTitle().equals(courseTitle))
-                .map(Course::getCourseCode)
-                .findFirst()
-                .orElse("");
+        return getCatalogue().getCourseCode(courseTitle);
     }
 
     public boolean hasValidCourseCode()
@@ -0,0 +1,85 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of every course in the courses file together with the
+ * lookup indexes built from it.
+ * <p>
+ * A new catalogue is built each time the courses file is loaded and replaces the
+ * previous one as a whole, so readers never see an index from a different load
+ * than the course list.
+ */
+final class CourseCatalogue
+{
+    /**
+     * Catalogue instance variables:
+     * <ul>
+     *   <li>{@code courses} - Every course, in file order</li>
+     *   <li>{@code codesByTitle} - Course code for each course title; the first course wins on duplicates</li>
+     *   <li>{@code coursesByDepartment} - Unmodifiable list of each department's courses, in file order</li>
+     * </ul>
+     */
+    private final List<Course> courses;
+    private final Map<String, String> codesByTitle;
+    private final Map<DepartmentId, List<Course>> coursesByDepartment;
+
+    /**
+     * Builds a catalogue and its indexes from a list of courses.
+     *
+     * @param courses The courses to index
+     */
+    CourseCatalogue(List<Course> courses)
+    {
+        this.courses = Collections.unmodifiableList(new ArrayList<>(courses));
+
+        Map<String, String> titles = new HashMap<>();
+        Map<DepartmentId, List<Course>> departments = new EnumMap<>(DepartmentId.class);
+        for (Course course : this.courses)
+        {
+            if (course.getCourseTitle() != null)
+            {
+                titles.putIfAbsent(course.getCourseTitle(), course.getCourseCode());
+            }
+            departments.computeIfAbsent(course.getDepartmentId(), department -> new ArrayList<>()).add(course);
+        }
+        departments.replaceAll((department, list) -> Collections.unmodifiableList(list));
+        this.codesByTitle = Collections.unmodifiableMap(titles);
+        this.coursesByDepartment = departments;
+    }
+
+    /**
+     * @return Unmodifiable list of all courses
+     */
+    List<Course> getCourses()
+    {
+        return courses;
+    }
+
+    /**
+     * Gets the course code for a course title.
+     *
+     * @param courseTitle The exact course title
+     * @return The course code, or an empty string if no course has that title
+     */
+    String getCourseCode(String courseTitle)
+    {
+        return codesByTitle.getOrDefault(courseTitle, "");
+    }
+
+    /**
+     * Gets the courses of a department.
+     *
+     * @param departmentId The department
+     * @return Unmodifiable list of the department's courses, in file order
+     */
+    List<Course> getCoursesByDepartment(DepartmentId departmentId)
+    {
+        return coursesByDepartment.getOrDefault(departmentId, Collections.emptyList());
+    }
+}
@@ -1,7 +1,6 @@
 package business;
 
 import com.google.gson.*;
-import file_handling.JsonProcessor;
 
 import java.lang.reflect.Type;
 
@@ -10,9 +9,11 @@ import java.lang.reflect.Type;
  * This class handles the conversion of JSON data into Course objects,
  * managing the parsing of course details and their associated department information.
  * <p>
+ * The deserialiser works purely on the element it is given, so a whole courses
+ * file is decoded in a single pass over its already-parsed contents.
+ * <p>
  * The class provides functionality for:
  * <ul>
- *   <li>Reading course data from JSON files</li>
  *   <li>Converting JSON elements to Course objects</li>
  *   <li>Handling department associations</li>
  *   <li>Managing error cases during deserialisation</li>
@@ -20,24 +21,6 @@ import java.lang.reflect.Type;
  */
 public class CourseDeserialiser implements JsonDeserializer<Course>
 {
-    /**
-     * Class instance variables:
-     * <ul>
-     *   <li>{@code jsonProcessor} - Handles the processing and reading of JSON files</li>
-     * </ul>
-     */
-    private final JsonProcessor jsonProcessor;
-
-    /**
-     * Constructs a new CourseDeserialiser with a specified JSON file path.
-     *
-     * @param filePath The path to the JSON file containing course data
-     */
-    public CourseDeserialiser(String filePath)
-    {
-        this.jsonProcessor = new JsonProcessor(filePath);
-    }
-
     /**
      * Deserialises a JSON element into a Course object.
      * This method processes the JSON data and creates a new Course instance with
@@ -55,11 +38,10 @@ public class CourseDeserialiser implements JsonDeserializer<Course>
     {
         try
         {
-            jsonProcessor.processFile();
             JsonObject jsonObject = json.getAsJsonObject();
             Course course = new Course();
 
-            // Get the course name and code using JsonProcessor's parsed content
+            // Get the course name and code from the element
             String name = getStringValue(jsonObject, "name");
             String code = getStringValue(jsonObject, "code");
 
@@ -75,7 +57,7 @@ public class CourseDeserialiser implements JsonDeserializer<Course>
         }
         catch (Exception e)
         {
-            throw new JsonParseException("Error processing JSON file: " + e.getMessage());
+            throw new JsonParseException("Error processing course: " + e.getMessage());
         }
     }
 
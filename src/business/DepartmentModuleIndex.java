@@ -0,0 +1,103 @@
+package business;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Materialised view of the modules taught by each department, derived from the
+ * course and module catalogues.
+ * <p>
+ * The view is built once per pair of catalogue snapshots and shared by every caller.
+ * When either file is reloaded the repository hands out a new catalogue, and the next
+ * call to {@link #current()} rebuilds the view from it.
+ */
+final class DepartmentModuleIndex
+{
+    /**
+     * The most recently built view
+     */
+    private static volatile DepartmentModuleIndex current;
+
+    /**
+     * Index instance variables:
+     * <ul>
+     *   <li>{@code courses} - The course catalogue the view was built from</li>
+     *   <li>{@code modules} - The module catalogue the view was built from</li>
+     *   <li>{@code modulesByDepartment} - Modules of every course in each department, in catalogue order</li>
+     * </ul>
+     */
+    private final CourseCatalogue courses;
+    private final ModuleCatalogue modules;
+    private final Map<DepartmentId, Set<Module>> modulesByDepartment;
+
+    /**
+     * Builds the view from a pair of catalogues.
+     *
+     * @param courses The course catalogue
+     * @param modules The module catalogue
+     */
+    private DepartmentModuleIndex(CourseCatalogue courses, ModuleCatalogue modules)
+    {
+        this.courses = courses;
+        this.modules = modules;
+
+        Map<DepartmentId, Set<Module>> index = new EnumMap<>(DepartmentId.class);
+        for (Course course : courses.getCourses())
+        {
+            DepartmentId departmentId = course.getDepartmentId();
+            if (departmentId != null)
+            {
+                index.computeIfAbsent(departmentId, id -> new LinkedHashSet<>())
+                        .addAll(modules.getModulesForCourse(course.getCourseCode()));
+            }
+        }
+
+        index.replaceAll((id, departmentModules) -> Collections.unmodifiableSet(departmentModules));
+        this.modulesByDepartment = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Gets the view for the current course and module files, rebuilding it if either
+     * has been reloaded since it was last built.
+     *
+     * @return The current view
+     * @throws IOException if the course or module file cannot be read
+     */
+    static DepartmentModuleIndex current() throws IOException
+    {
+        CourseCatalogue courseCatalogue = Course.getCatalogue();
+        ModuleCatalogue moduleCatalogue = Module.getCatalogue();
+
+        DepartmentModuleIndex index = current;
+        if (index == null || index.courses != courseCatalogue || index.modules != moduleCatalogue)
+        {
+            // Concurrent rebuilds produce equal views, so the last one simply wins
+            index = new DepartmentModuleIndex(courseCatalogue, moduleCatalogue);
+            current = index;
+        }
+        return index;
+    }
+
+    /**
+     * Gets the modules taught by a department.
+     *
+     * @param departmentId The department to look up
+     * @return Unmodifiable set of modules, empty if the department has none
+     */
+    Set<Module> getModules(DepartmentId departmentId)
+    {
+        return modulesByDepartment.getOrDefault(departmentId, Collections.emptySet());
+    }
+
+    /**
+     * @return Unmodifiable map of every department that teaches modules to its modules
+     */
+    Map<DepartmentId, Set<Module>> asMap()
+    {
+        return modulesByDepartment;
+    }
+}
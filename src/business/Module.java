@@ -1,11 +1,18 @@
 package business;
 
 import business.interfaces.IModule;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import file_handling.AtomicFileWriter;
+import file_handling.DataRepository;
 import file_handling.FilePathHandler;
+import file_handling.JsonJournal;
 import file_handling.JsonProcessor;
+import file_handling.LatencyTimer;
+import file_handling.MetricsRegistry;
 
 import java.io.IOException;
 import java.util.*;
@@ -40,6 +47,22 @@ public class Module implements IModule
     private final String acYear;
     private final List<String> associatedCourses;
 
+    /**
+     * Decodes the modules file into an indexed, immutable catalogue
+     */
+    private static final DataRepository.DatasetLoader<ModuleCatalogue> LOADER = Module::loadFromFile;
+
+    /**
+     * Times {@link #getAll()}, including any reload of the modules file
+     */
+    private static final LatencyTimer GET_ALL_TIMER = MetricsRegistry.getInstance().timer("module.getAll");
+
+    /**
+     * Modules added since the modules file was last rewritten, one JSON record per line
+     */
+    private static final JsonJournal<JsonObject> JOURNAL =
+            new JsonJournal<>(FilePathHandler.MODULES_FILE, JsonObject.class, new Gson());
+
     /**
      * Constructs a new Module instance.
      *
@@ -68,23 +91,7 @@ public class Module implements IModule
 
         for (JsonElement element : jsonArray)
         {
-            JsonObject moduleObj = element.getAsJsonObject();
-
-            String name = moduleObj.get("module_name").getAsString();
-            String code = moduleObj.get("module_code").getAsString();
-            String acYear = moduleObj.get("ac_year").getAsString();
-
-            List<String> associatedCourses = new ArrayList<>();
-            if (moduleObj.has("associated_courses"))
-            {
-                JsonArray coursesArray = moduleObj.getAsJsonArray("associated_courses");
-                for (JsonElement courseElement : coursesArray)
-                {
-                    associatedCourses.add(courseElement.getAsString());
-                }
-            }
-
-            Module module = new Module(name, code, acYear, associatedCourses);
+            Module module = fromJsonObject(element.getAsJsonObject());
             if (module.isValid())
             {
                 modules.add(module);
@@ -94,6 +101,49 @@ public class Module implements IModule
         return modules;
     }
 
+    /**
+     * Creates a Module from a single JSON module record.
+     *
+     * @param moduleObj The JSON object containing the module data
+     * @return The decoded Module, which may not be valid
+     */
+    public static Module fromJsonObject(JsonObject moduleObj)
+    {
+        String name = moduleObj.get("module_name").getAsString();
+        String code = moduleObj.get("module_code").getAsString();
+        String acYear = moduleObj.get("ac_year").getAsString();
+
+        List<String> associatedCourses = new ArrayList<>();
+        if (moduleObj.has("associated_courses"))
+        {
+            JsonArray coursesArray = moduleObj.getAsJsonArray("associated_courses");
+            for (JsonElement courseElement : coursesArray)
+            {
+                associatedCourses.add(courseElement.getAsString());
+            }
+        }
+
+        return new Module(name, code, acYear, associatedCourses);
+    }
+
+    /**
+     * Converts the module to a JSON module record, the reverse of {@link #fromJsonObject(JsonObject)}.
+     *
+     * @return A new JSON object holding the module data
+     */
+    public JsonObject toJsonObject()
+    {
+        JsonObject moduleObj = new JsonObject();
+        moduleObj.addProperty("module_name", name);
+        moduleObj.addProperty("module_code", code);
+        moduleObj.addProperty("ac_year", acYear);
+
+        JsonArray coursesArray = new JsonArray();
+        associatedCourses.forEach(coursesArray::add);
+        moduleObj.add("associated_courses", coursesArray);
+        return moduleObj;
+    }
+
     /**
      * @return The name of the module
      */
@@ -139,39 +189,155 @@ public class Module implements IModule
 
     /**
      * Retrieves all modules associated with a specific course.
+     * Answered from the course index built when the modules file was loaded.
      *
      * @param courseCode The course code to filter by
-     * @return List of modules associated with the specified course
+     * @return Unmodifiable list of modules associated with the specified course
      * @throws IOException If there is an error reading the modules file
      */
     public static List<Module> getModulesForCourse(String courseCode) throws IOException
     {
-        List<Module> allModules = getAll();
-        return allModules.stream()
-                .filter(module -> module.isAssociatedWithCourse(courseCode))
-                .collect(Collectors.toList());
+        return getCatalogue().getModulesForCourse(courseCode);
+    }
+
+    /**
+     * Retrieves all modules taught on the courses of a department.
+     * Answered from a department index shared by every caller and rebuilt only
+     * when the course or module file changes.
+     *
+     * @param departmentId The department to look up
+     * @return Unmodifiable set of the department's modules, in catalogue order
+     * @throws IOException If there is an error reading the course or module file
+     */
+    public static Set<Module> getModulesForDepartment(DepartmentId departmentId) throws IOException
+    {
+        return DepartmentModuleIndex.current().getModules(departmentId);
+    }
+
+    /**
+     * Retrieves all modules taught on the courses of a department, by department name.
+     *
+     * @param departmentName The exact name of the department
+     * @return Unmodifiable set of the department's modules, empty if the name is not a known department
+     * @throws IOException If there is an error reading the course or module file
+     */
+    public static Set<Module> getModulesForDepartment(String departmentName) throws IOException
+    {
+        DepartmentId departmentId = DepartmentId.fromString(departmentName);
+        if (!departmentId.getDepartmentName().equals(departmentName))
+        {
+            return Collections.emptySet();
+        }
+        return getModulesForDepartment(departmentId);
     }
 
     /**
      * Retrieves all modules from the system.
+     * The modules file is only parsed again when it has changed since the last read.
      *
-     * @return List of all modules in the system
+     * @return Unmodifiable list of all modules in the system
      * @throws IOException If there is an error reading the modules file
      */
     public static List<Module> getAll() throws IOException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            return getCatalogue().getModules();
+        }
+        finally
+        {
+            GET_ALL_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets the current module catalogue from the shared repository.
+     *
+     * @return The catalogue built from the current modules file
+     * @throws IOException If there is an error reading the modules file
+     */
+    static ModuleCatalogue getCatalogue() throws IOException
+    {
+        return DataRepository.getInstance().get(FilePathHandler.MODULES_FILE, LOADER);
+    }
+
+    /**
+     * Adds a module to the catalogue.
+     * The module is appended to the journal rather than rewriting the modules file, and
+     * the cached catalogue is extended in place of a reload, so the cost of a save does
+     * not grow with the number of modules. The journal is folded back into the modules
+     * file in the background once it grows long enough.
+     *
+     * @param module The module to add
+     * @throws IOException If the module cannot be written
+     */
+    public static void add(Module module) throws IOException
+    {
+        JOURNAL.append(module.toJsonObject());
+        if (module.isValid())
+        {
+            DataRepository.getInstance().update(FilePathHandler.MODULES_FILE, LOADER,
+                    catalogue -> catalogue.withModule(module));
+        }
+
+        JOURNAL.compactIfNeeded(Module::writeCompactedFile);
+    }
+
+    /**
+     * Rewrites the modules file with the journalled modules appended to its modules array.
+     * Runs while the journal is locked, so no module can be added part way through.
+     *
+     * @throws IOException If the modules file cannot be read or written
+     */
+    private static void writeCompactedFile() throws IOException
     {
         JsonProcessor processor = new JsonProcessor(FilePathHandler.MODULES_FILE.getNormalisedPath());
         processor.processFile();
-        JsonElement root = (JsonElement) processor.getJsonContent();
+        JsonObject jsonObject = (JsonObject) processor.getJsonContent();
+        JsonArray modulesArray = jsonObject.getAsJsonArray("modules");
+        JOURNAL.replay(modulesArray::add);
 
-        if (!root.isJsonObject())
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        AtomicFileWriter.write(FilePathHandler.MODULES_FILE, writer -> gson.toJson(jsonObject, writer));
+    }
+
+    /**
+     * Streams the modules file and builds its catalogue and indexes, then replays the
+     * journal to add the modules saved since the file was last rewritten.
+     *
+     * @param filePath Path of the modules file
+     * @return Catalogue of all valid modules in the file and the journal
+     * @throws IOException If there is an error reading the modules file
+     */
+    private static ModuleCatalogue loadFromFile(String filePath) throws IOException
+    {
+        List<Module> modules = new ArrayList<>();
+        JsonProcessor processor = new JsonProcessor(filePath);
+        boolean found = processor.streamRecords("modules", JsonObject.class, moduleObj ->
         {
-            throw new IOException("Root element is not a JsonObject");
+            Module module = fromJsonObject(moduleObj);
+            if (module.isValid())
+            {
+                modules.add(module);
+            }
+        });
+
+        if (!found)
+        {
+            throw new IOException("No modules array found in JSON file");
         }
 
-        JsonObject rootObj = root.getAsJsonObject();
-        JsonArray modulesJson = rootObj.getAsJsonArray("modules");
-        return Module.fromJsonArray(modulesJson);
+        JOURNAL.replay(moduleObj ->
+        {
+            Module module = fromJsonObject(moduleObj);
+            if (module.isValid())
+            {
+                modules.add(module);
+            }
+        });
+
+        return new ModuleCatalogue(modules);
     }
 
     /**
@@ -287,6 +453,7 @@ public class Module implements IModule
 
     /**
      * Retrieves a module by its code.
+     * Answered from the code index built when the modules file was loaded.
      *
      * @param code The code of the module to retrieve
      * @return The module with the specified code, or null if not found
@@ -294,10 +461,6 @@ public class Module implements IModule
      */
     public static Module getModuleByCode(String code) throws IOException
     {
-        List<Module> allModules = getAll();
-        return allModules.stream()
-                .filter(module -> module.getCode().equals(code))
-                .findFirst()
-                .orElse(null);
+        return getCatalogue().getModuleByCode(code);
     }
 }
\ No newline at end of file
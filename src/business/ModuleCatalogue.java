@@ -0,0 +1,278 @@
+package business;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable snapshot of every module in the modules file together with the
+ * lookup indexes built from it.
+ * <p>
+ * A new catalogue is built each time the modules file is loaded, so the indexes
+ * always describe exactly the same set of modules as the list they were built from.
+ * A module added since the load is applied with {@link #withModule(Module)}, which
+ * shares the loaded list and indexes and records the new module in an overlay of added
+ * modules. The overlay is append-only and shared by every catalogue extended from the
+ * same load, each seeing only the added modules up to its own count, so an add costs
+ * the same however many modules there are.
+ */
+final class ModuleCatalogue
+{
+    /**
+     * Catalogue instance variables:
+     * <ul>
+     *   <li>{@code loaded} - The catalogue built when the modules file was loaded; itself for a loaded catalogue</li>
+     *   <li>{@code loadedModules} - Every valid module in the file, in file order</li>
+     *   <li>{@code modulesByCourse} - Loaded modules associated with each course code, in file order</li>
+     *   <li>{@code modulesByCode} - Loaded module for each module code; the first module wins on duplicates</li>
+     *   <li>{@code added} - Modules added since the load that this catalogue includes, in the order added</li>
+     *   <li>{@code modules} - The loaded modules followed by the added ones</li>
+     * </ul>
+     */
+    private final ModuleCatalogue loaded;
+    private final List<Module> loadedModules;
+    private final Map<String, List<Module>> modulesByCourse;
+    private final Map<String, Module> modulesByCode;
+    private final AppendOnlyList<Module> added;
+    private final List<Module> modules;
+
+    /**
+     * Overlay indexes, shared by every catalogue extended from this load and only set
+     * on the loaded catalogue:
+     * <ul>
+     *   <li>{@code addedCount} - Number of modules in the most extended catalogue</li>
+     *   <li>{@code addedByCourse} - Position in {@code added} of each module added to a course, ascending</li>
+     *   <li>{@code addedByCode} - Position of the first added module with a code not in {@code modulesByCode}</li>
+     * </ul>
+     */
+    private final AtomicInteger addedCount;
+    private final Map<String, AppendOnlyList<Integer>> addedByCourse;
+    private final Map<String, Integer> addedByCode;
+
+    /**
+     * Builds a catalogue and its indexes from a list of modules.
+     *
+     * @param modules The modules to index
+     */
+    ModuleCatalogue(List<Module> modules)
+    {
+        this.loaded = this;
+        this.loadedModules = Collections.unmodifiableList(new ArrayList<>(modules));
+        this.modulesByCourse = indexByCourse(this.loadedModules);
+        this.modulesByCode = indexByCode(this.loadedModules);
+        this.added = AppendOnlyList.empty();
+        this.modules = this.loadedModules;
+        this.addedCount = new AtomicInteger();
+        this.addedByCourse = new ConcurrentHashMap<>();
+        this.addedByCode = new ConcurrentHashMap<>();
+    }
+
+    private ModuleCatalogue(ModuleCatalogue loaded, AppendOnlyList<Module> added)
+    {
+        this.loaded = loaded;
+        this.loadedModules = loaded.loadedModules;
+        this.modulesByCourse = loaded.modulesByCourse;
+        this.modulesByCode = loaded.modulesByCode;
+        this.added = added;
+        this.modules = concat(loadedModules, added);
+        this.addedCount = null;
+        this.addedByCourse = null;
+        this.addedByCode = null;
+    }
+
+    /**
+     * Creates a catalogue with one more module at the end. The loaded list and indexes
+     * are shared and the module is appended to the overlay in place. Only a catalogue
+     * that has already been extended is copied, which the shared repository never does
+     * because it always extends the latest catalogue.
+     *
+     * @param module The module to add
+     * @return A new catalogue; this one is unchanged
+     */
+    ModuleCatalogue withModule(Module module)
+    {
+        int position = added.size();
+        if (!loaded.addedCount.compareAndSet(position, position + 1))
+        {
+            List<Module> all = new ArrayList<>(modules);
+            all.add(module);
+            return new ModuleCatalogue(all);
+        }
+
+        for (String courseCode : module.getAssociatedCourses())
+        {
+            loaded.addedByCourse.compute(courseCode, (code, positions) ->
+            {
+                if (positions == null)
+                {
+                    return AppendOnlyList.<Integer>empty().with(position);
+                }
+                return positions.get(positions.size() - 1) == position ? positions : positions.with(position);
+            });
+        }
+        if (!modulesByCode.containsKey(module.getCode()))
+        {
+            loaded.addedByCode.putIfAbsent(module.getCode(), position);
+        }
+
+        return new ModuleCatalogue(loaded, added.with(module));
+    }
+
+    /**
+     * @return Unmodifiable list of all modules
+     */
+    List<Module> getModules()
+    {
+        return modules;
+    }
+
+    /**
+     * @return The catalogue built when the modules file was loaded, which this one extends
+     */
+    ModuleCatalogue getLoaded()
+    {
+        return loaded;
+    }
+
+    /**
+     * @return Unmodifiable list of the modules added since the load, in the order added
+     */
+    List<Module> getAddedModules()
+    {
+        return added;
+    }
+
+    /**
+     * Gets the modules associated with a course.
+     *
+     * @param courseCode The course code to look up
+     * @return Unmodifiable list of associated modules, empty if there are none
+     */
+    List<Module> getModulesForCourse(String courseCode)
+    {
+        List<Module> loadedForCourse = modulesByCourse.getOrDefault(courseCode, Collections.emptyList());
+        AppendOnlyList<Integer> positions = loaded.addedByCourse.get(courseCode);
+        if (positions == null || added.isEmpty())
+        {
+            return loadedForCourse;
+        }
+
+        // Later catalogues may have added more; only count the modules this one includes
+        int visible = Collections.binarySearch(positions, added.size());
+        int count = visible >= 0 ? visible : -visible - 1;
+        if (count == 0)
+        {
+            return loadedForCourse;
+        }
+        return concat(loadedForCourse, new AbstractList<>()
+        {
+            @Override
+            public Module get(int index)
+            {
+                Objects.checkIndex(index, count);
+                return added.get(positions.get(index));
+            }
+
+            @Override
+            public int size()
+            {
+                return count;
+            }
+        });
+    }
+
+    /**
+     * Gets a module by its code.
+     *
+     * @param code The module code to look up
+     * @return The module with that code, or null if there is none
+     */
+    Module getModuleByCode(String code)
+    {
+        Module module = modulesByCode.get(code);
+        if (module != null)
+        {
+            return module;
+        }
+        Integer position = loaded.addedByCode.get(code);
+        return position != null && position < added.size() ? added.get(position) : null;
+    }
+
+    /**
+     * Joins two lists into an unmodifiable view without copying either.
+     *
+     * @param first  The leading elements
+     * @param second The trailing elements
+     * @return The joined view, or the first list if the second is empty
+     */
+    private static List<Module> concat(List<Module> first, List<Module> second)
+    {
+        if (second.isEmpty())
+        {
+            return first;
+        }
+        int split = first.size();
+        return new AbstractList<>()
+        {
+            @Override
+            public Module get(int index)
+            {
+                return index < split ? first.get(index) : second.get(index - split);
+            }
+
+            @Override
+            public int size()
+            {
+                return split + second.size();
+            }
+        };
+    }
+
+    /**
+     * Builds the course code to modules index.
+     * A module that lists the same course more than once is only indexed once.
+     *
+     * @param modules The modules to index
+     * @return Unmodifiable map of course codes to unmodifiable module lists
+     */
+    private static Map<String, List<Module>> indexByCourse(List<Module> modules)
+    {
+        Map<String, List<Module>> index = new HashMap<>();
+        for (Module module : modules)
+        {
+            for (String courseCode : module.getAssociatedCourses())
+            {
+                List<Module> courseModules = index.computeIfAbsent(courseCode, code -> new ArrayList<>());
+                if (courseModules.isEmpty() || courseModules.get(courseModules.size() - 1) != module)
+                {
+                    courseModules.add(module);
+                }
+            }
+        }
+
+        index.replaceAll((code, courseModules) -> Collections.unmodifiableList(courseModules));
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Builds the module code to module index.
+     *
+     * @param modules The modules to index
+     * @return Unmodifiable map of module codes to modules
+     */
+    private static Map<String, Module> indexByCode(List<Module> modules)
+    {
+        Map<String, Module> index = new HashMap<>();
+        for (Module module : modules)
+        {
+            index.putIfAbsent(module.getCode(), module);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+}
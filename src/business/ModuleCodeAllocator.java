@@ -0,0 +1,159 @@
+package business;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Hands out unused module codes of the form {@code xxx-YY}, where {@code xxx} is three
+ * hex digits and {@code YY} is the academic year, giving 4,096 codes per year.
+ * <p>
+ * Each year's codes are tracked in an occupancy bitmap built from the module catalogue,
+ * so finding a free code never re-reads the modules file. A search starts at a random
+ * code, which keeps new codes spread out as before, and scans forward a word of the
+ * bitmap at a time; its cost is bounded by the size of the code space rather than by
+ * how full the year is, and a full year is reported as soon as it is reached. The
+ * bitmaps are rebuilt only when the modules file is reloaded; modules saved since are
+ * read from the catalogue's added modules and marked one by one.
+ */
+public final class ModuleCodeAllocator
+{
+    /**
+     * Number of codes available in each academic year
+     */
+    static final int CODES_PER_YEAR = 4096;
+
+    private static final ModuleCodeAllocator INSTANCE = new ModuleCodeAllocator(new Random());
+
+    /**
+     * Allocator variables, all guarded by this:
+     * <ul>
+     *   <li>{@code random} - Chooses where each search starts</li>
+     *   <li>{@code occupancy} - Codes in use, by the year suffix of the code</li>
+     *   <li>{@code seededFrom} - The loaded catalogue the bitmaps were built from, or null</li>
+     *   <li>{@code addedSeen} - Number of the catalogue's added modules already marked</li>
+     * </ul>
+     */
+    private final Random random;
+    private final Map<String, BitSet> occupancy = new HashMap<>();
+    private ModuleCatalogue seededFrom;
+    private int addedSeen;
+
+    /**
+     * Constructs an allocator with no codes in use.
+     *
+     * @param random Chooses where each search starts
+     */
+    ModuleCodeAllocator(Random random)
+    {
+        this.random = random;
+    }
+
+    /**
+     * @return The allocator shared by every dialog
+     */
+    public static ModuleCodeAllocator getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Finds a module code that no module uses yet. The code is not reserved until the
+     * module is saved with {@link Module#add(Module)}.
+     *
+     * @param acYear The two-digit academic year the code ends with
+     * @return An unused code for the year
+     * @throws IOException           if the modules file cannot be read
+     * @throws IllegalStateException if every code of the year is in use
+     */
+    public synchronized String allocate(String acYear) throws IOException
+    {
+        catchUp(Module.getCatalogue());
+        return next(acYear);
+    }
+
+    /**
+     * Brings the bitmaps up to date with a catalogue. A catalogue extended from the one
+     * the bitmaps were built from only has its newly added modules marked; any other
+     * catalogue comes from a reload and the bitmaps are rebuilt from it.
+     *
+     * @param catalogue The current module catalogue
+     */
+    synchronized void catchUp(ModuleCatalogue catalogue)
+    {
+        List<Module> added = catalogue.getAddedModules();
+        if (catalogue.getLoaded() != seededFrom)
+        {
+            occupancy.clear();
+            addedSeen = 0;
+            for (Module module : catalogue.getLoaded().getModules())
+            {
+                occupy(module.getCode());
+            }
+            seededFrom = catalogue.getLoaded();
+        }
+        for (; addedSeen < added.size(); addedSeen++)
+        {
+            occupy(added.get(addedSeen).getCode());
+        }
+    }
+
+    /**
+     * Finds an unused code in the bitmap, starting at a random position and wrapping once.
+     *
+     * @param acYear The two-digit academic year the code ends with
+     * @return An unused code for the year
+     * @throws IllegalStateException if every code of the year is in use
+     */
+    synchronized String next(String acYear)
+    {
+        BitSet used = occupancy.computeIfAbsent(acYear, year -> new BitSet(CODES_PER_YEAR));
+        int start = random.nextInt(CODES_PER_YEAR);
+        int free = used.nextClearBit(start);
+        if (free >= CODES_PER_YEAR)
+        {
+            free = used.nextClearBit(0);
+            if (free >= start)
+            {
+                throw new IllegalStateException("All " + CODES_PER_YEAR
+                        + " module codes for academic year " + acYear + " are in use");
+            }
+        }
+        return String.format("%03x-%s", free, acYear);
+    }
+
+    /**
+     * Marks a code as used. Codes not of the form {@code xxx-YY} cannot clash with a
+     * generated code and are ignored.
+     */
+    synchronized void occupy(String code)
+    {
+        int separator = code == null ? -1 : code.indexOf('-');
+        if (separator != 3)
+        {
+            return;
+        }
+        try
+        {
+            int index = Integer.parseInt(code.substring(0, separator), 16);
+            occupancy.computeIfAbsent(code.substring(separator + 1), year -> new BitSet(CODES_PER_YEAR)).set(index);
+        }
+        catch (NumberFormatException e)
+        {
+            // Not a hex prefix, so no generated code can match it
+        }
+    }
+
+    /**
+     * @param acYear The two-digit academic year
+     * @return Number of codes of the year in use
+     */
+    synchronized int countUsed(String acYear)
+    {
+        BitSet used = occupancy.get(acYear);
+        return used == null ? 0 : used.cardinality();
+    }
+}
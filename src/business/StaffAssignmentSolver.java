@@ -0,0 +1,368 @@
+package business;
+
+import users.Staff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Assigns modules to staff so that as many modules as possible are covered by
+ * exactly one member of staff, without any member of staff going over their
+ * module limit or their weekly hours.
+ * <p>
+ * A member of staff can teach any module of a course in their own department, so the
+ * underlying bipartite graph is complete between a department's staff and its modules.
+ * Rather than matching individual staff to individual modules, the solver works on a
+ * compressed flow network:
+ * <pre>
+ *   source -&gt; module group -&gt; department -&gt; sink
+ * </pre>
+ * where a module group holds every module taught by the same set of departments,
+ * and a department's capacity is the total capacity of its staff. A maximum flow over
+ * this network gives the largest number of modules that can be covered, and only has a
+ * few hundred nodes whatever the number of staff and modules. Each department's share
+ * of modules is then dealt to its staff, always to the member whose load is the lowest
+ * fraction of their capacity, which keeps loads balanced.
+ */
+final class StaffAssignmentSolver
+{
+    /**
+     * Weekly teaching hours that one module takes up
+     */
+    static final int TEACHING_HOURS_PER_MODULE = 6;
+
+    /**
+     * Solver instance variables:
+     * <ul>
+     *   <li>{@code allStaff} - Every member of staff, including those who cannot take modules</li>
+     *   <li>{@code staffByDepartment} - Staff able to take at least one module, grouped by department</li>
+     *   <li>{@code departmentsByModule} - Departments able to teach each module, in catalogue order</li>
+     * </ul>
+     */
+    private final List<Staff> allStaff;
+    private final Map<DepartmentId, List<Staff>> staffByDepartment = new EnumMap<>(DepartmentId.class);
+    private final Map<Module, Set<DepartmentId>> departmentsByModule = new LinkedHashMap<>();
+
+    /**
+     * Constructs a solver for a set of staff and the modules of each department.
+     *
+     * @param staff               The staff to assign
+     * @param modulesByDepartment The modules taught by each department
+     */
+    StaffAssignmentSolver(List<Staff> staff, Map<DepartmentId, Set<Module>> modulesByDepartment)
+    {
+        this.allStaff = staff;
+        for (Staff member : staff)
+        {
+            DepartmentId departmentId = DepartmentId.fromString(member.getDepartment());
+            if (departmentId.getDepartmentName().equals(member.getDepartment()) && capacityOf(member) > 0)
+            {
+                staffByDepartment.computeIfAbsent(departmentId, id -> new ArrayList<>()).add(member);
+            }
+        }
+
+        modulesByDepartment.forEach((departmentId, modules) ->
+        {
+            for (Module module : modules)
+            {
+                departmentsByModule.computeIfAbsent(module, m -> EnumSet.noneOf(DepartmentId.class)).add(departmentId);
+            }
+        });
+    }
+
+    /**
+     * Gets how many modules a member of staff can take.
+     *
+     * @param staff The member of staff
+     * @return The lower of their module limit and the modules their weekly hours allow
+     */
+    static int capacityOf(Staff staff)
+    {
+        return Math.max(0, Math.min(staff.getMaxModules(), staff.getWeeklyHours() / TEACHING_HOURS_PER_MODULE));
+    }
+
+    /**
+     * Solves the assignment.
+     *
+     * @return The modules assigned to each member of staff and the modules left uncovered
+     */
+    Result solve()
+    {
+        long start = System.nanoTime();
+
+        // Group modules by the exact set of departments that can teach them
+        Map<Set<DepartmentId>, List<Module>> groups = new LinkedHashMap<>();
+        departmentsByModule.forEach((module, departments) ->
+                groups.computeIfAbsent(departments, d -> new ArrayList<>()).add(module));
+
+        List<DepartmentId> departments = new ArrayList<>(staffByDepartment.keySet());
+        Map<DepartmentId, Integer> departmentNodes = new EnumMap<>(DepartmentId.class);
+        List<Set<DepartmentId>> groupKeys = new ArrayList<>(groups.keySet());
+
+        // Nodes: 0 = source, 1 = sink, then module groups, then departments
+        FlowNetwork network = new FlowNetwork(2 + groupKeys.size() + departments.size());
+        for (int d = 0; d < departments.size(); d++)
+        {
+            int node = 2 + groupKeys.size() + d;
+            departmentNodes.put(departments.get(d), node);
+            int capacity = 0;
+            for (Staff member : staffByDepartment.get(departments.get(d)))
+            {
+                capacity += capacityOf(member);
+            }
+            network.addEdge(node, 1, capacity);
+        }
+
+        List<int[]> groupEdges = new ArrayList<>();
+        for (int g = 0; g < groupKeys.size(); g++)
+        {
+            Set<DepartmentId> key = groupKeys.get(g);
+            network.addEdge(0, 2 + g, groups.get(key).size());
+            for (DepartmentId departmentId : key)
+            {
+                Integer departmentNode = departmentNodes.get(departmentId);
+                if (departmentNode != null)
+                {
+                    int edge = network.addEdge(2 + g, departmentNode, Integer.MAX_VALUE);
+                    groupEdges.add(new int[]{g, edge, departmentNode});
+                }
+            }
+        }
+        network.maxFlow(0, 1);
+
+        // Hand each department the number of modules the flow routed to it from each group
+        Map<DepartmentId, List<Module>> modulesForDepartment = new EnumMap<>(DepartmentId.class);
+        int[] taken = new int[groupKeys.size()];
+        for (int[] groupEdge : groupEdges)
+        {
+            int group = groupEdge[0];
+            int flow = network.flowOn(groupEdge[1]);
+            DepartmentId departmentId = departments.get(groupEdge[2] - 2 - groupKeys.size());
+            List<Module> groupModules = groups.get(groupKeys.get(group));
+            modulesForDepartment.computeIfAbsent(departmentId, id -> new ArrayList<>())
+                    .addAll(groupModules.subList(taken[group], taken[group] + flow));
+            taken[group] += flow;
+        }
+
+        List<Module> uncovered = new ArrayList<>();
+        for (int g = 0; g < groupKeys.size(); g++)
+        {
+            List<Module> groupModules = groups.get(groupKeys.get(g));
+            uncovered.addAll(groupModules.subList(taken[g], groupModules.size()));
+        }
+
+        Map<Integer, List<String>> moduleIdsByStaff = new HashMap<>();
+        for (Staff member : allStaff)
+        {
+            moduleIdsByStaff.put(member.getId(), new ArrayList<>());
+        }
+        modulesForDepartment.forEach((departmentId, modules) ->
+                dealToStaff(staffByDepartment.get(departmentId), modules, moduleIdsByStaff));
+
+        return new Result(moduleIdsByStaff, uncovered, System.nanoTime() - start);
+    }
+
+    /**
+     * Deals modules to staff, each time to the member whose load is the lowest
+     * fraction of their capacity. The caller guarantees the modules fit.
+     *
+     * @param staff            The staff of one department
+     * @param modules          The modules routed to the department
+     * @param moduleIdsByStaff Receives the module codes assigned to each member
+     */
+    private static void dealToStaff(List<Staff> staff, List<Module> modules, Map<Integer, List<String>> moduleIdsByStaff)
+    {
+        int[] loads = new int[staff.size()];
+        PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) ->
+        {
+            // Compare load / capacity without division; larger capacity first on ties
+            long left = (long) loads[a] * capacityOf(staff.get(b));
+            long right = (long) loads[b] * capacityOf(staff.get(a));
+            return left != right ? Long.compare(left, right)
+                    : Integer.compare(capacityOf(staff.get(b)), capacityOf(staff.get(a)));
+        });
+        for (int i = 0; i < staff.size(); i++)
+        {
+            queue.add(i);
+        }
+
+        for (Module module : modules)
+        {
+            int member = queue.poll();
+            moduleIdsByStaff.get(staff.get(member).getId()).add(module.getCode());
+            loads[member]++;
+            if (loads[member] < capacityOf(staff.get(member)))
+            {
+                queue.add(member);
+            }
+        }
+    }
+
+    /**
+     * Outcome of one solve.
+     */
+    static final class Result
+    {
+        private final Map<Integer, List<String>> moduleIdsByStaff;
+        private final List<Module> uncovered;
+        private final long elapsedNanos;
+
+        private Result(Map<Integer, List<String>> moduleIdsByStaff, List<Module> uncovered, long elapsedNanos)
+        {
+            this.moduleIdsByStaff = moduleIdsByStaff;
+            this.uncovered = Collections.unmodifiableList(uncovered);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return Map of staff IDs to their assigned module codes; every member of staff is present
+         */
+        Map<Integer, List<String>> getModuleIdsByStaff()
+        {
+            return moduleIdsByStaff;
+        }
+
+        /**
+         * @return Modules that no member of staff had capacity for
+         */
+        List<Module> getUncovered()
+        {
+            return uncovered;
+        }
+
+        /**
+         * @return Time spent solving, in nanoseconds
+         */
+        long getElapsedNanos()
+        {
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * Small directed flow network solved with Dinic's algorithm.
+     * Edges are stored in arrays, each followed by its reverse edge.
+     */
+    private static final class FlowNetwork
+    {
+        private final List<List<Integer>> adjacency = new ArrayList<>();
+        private int[] to = new int[16];
+        private long[] capacity = new long[16];
+        private long[] originalCapacity = new long[16];
+        private int edgeCount;
+        private int[] level;
+        private int[] nextEdge;
+
+        private FlowNetwork(int nodes)
+        {
+            for (int i = 0; i < nodes; i++)
+            {
+                adjacency.add(new ArrayList<>());
+            }
+        }
+
+        /**
+         * Adds an edge and its zero-capacity reverse edge.
+         *
+         * @return Index of the forward edge
+         */
+        private int addEdge(int from, int target, long edgeCapacity)
+        {
+            if (edgeCount + 2 > to.length)
+            {
+                to = Arrays.copyOf(to, to.length * 2);
+                capacity = Arrays.copyOf(capacity, capacity.length * 2);
+                originalCapacity = Arrays.copyOf(originalCapacity, originalCapacity.length * 2);
+            }
+            int edge = edgeCount;
+            to[edge] = target;
+            capacity[edge] = edgeCapacity;
+            originalCapacity[edge] = edgeCapacity;
+            to[edge + 1] = from;
+            adjacency.get(from).add(edge);
+            adjacency.get(target).add(edge + 1);
+            edgeCount += 2;
+            return edge;
+        }
+
+        /**
+         * @return Flow routed along a forward edge
+         */
+        private int flowOn(int edge)
+        {
+            return (int) (originalCapacity[edge] - capacity[edge]);
+        }
+
+        private long maxFlow(int source, int sink)
+        {
+            long total = 0;
+            while (buildLevels(source, sink))
+            {
+                nextEdge = new int[adjacency.size()];
+                long pushed;
+                while ((pushed = push(source, sink, Long.MAX_VALUE)) > 0)
+                {
+                    total += pushed;
+                }
+            }
+            return total;
+        }
+
+        private boolean buildLevels(int source, int sink)
+        {
+            level = new int[adjacency.size()];
+            Arrays.fill(level, -1);
+            level[source] = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(source);
+            while (!queue.isEmpty())
+            {
+                int node = queue.poll();
+                for (int edge : adjacency.get(node))
+                {
+                    if (capacity[edge] > 0 && level[to[edge]] < 0)
+                    {
+                        level[to[edge]] = level[node] + 1;
+                        queue.add(to[edge]);
+                    }
+                }
+            }
+            return level[sink] >= 0;
+        }
+
+        private long push(int node, int sink, long limit)
+        {
+            if (node == sink)
+            {
+                return limit;
+            }
+            List<Integer> edges = adjacency.get(node);
+            for (; nextEdge[node] < edges.size(); nextEdge[node]++)
+            {
+                int edge = edges.get(nextEdge[node]);
+                int target = to[edge];
+                if (capacity[edge] > 0 && level[target] == level[node] + 1)
+                {
+                    long pushed = push(target, sink, Math.min(limit, capacity[edge]));
+                    if (pushed > 0)
+                    {
+                        capacity[edge] -= pushed;
+                        capacity[edge ^ 1] += pushed;
+                        return pushed;
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+}
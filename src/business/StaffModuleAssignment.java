@@ -7,13 +7,16 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
+import file_handling.AtomicFileWriter;
+import file_handling.DataRepository;
 import file_handling.FilePathHandler;
+import file_handling.JsonJournal;
 import file_handling.JsonProcessor;
+import file_handling.LatencyTimer;
+import file_handling.MetricsRegistry;
 import users.Staff;
 
 /**
@@ -29,6 +32,23 @@ public class StaffModuleAssignment implements IStaffModuleAssignment
      */
     private static final String ASSIGNMENTS_FILE = FilePathHandler.ASSIGNED_STAFF_FILE.getNormalisedPath();
 
+    /**
+     * Decodes the assignments file into a read-only map keyed by staff ID
+     */
+    private static final DataRepository.DatasetLoader<AssignmentSnapshot<StaffModuleAssignment>> LOADER =
+            StaffModuleAssignment::loadFromFile;
+
+    /**
+     * Times {@link #saveAssignments(Map)}
+     */
+    private static final LatencyTimer SAVE_TIMER = MetricsRegistry.getInstance().timer("staffAssignments.save");
+
+    /**
+     * Journal of single-staff updates made since the assignments file was last rewritten
+     */
+    private static final JsonJournal<StaffModuleAssignment> JOURNAL =
+            new JsonJournal<>(FilePathHandler.ASSIGNED_STAFF_FILE, StaffModuleAssignment.class, new Gson());
+
     /**
      * The unique identifier of the staff member
      */
@@ -96,40 +116,79 @@ public class StaffModuleAssignment implements IStaffModuleAssignment
      * @throws IOException If there is an error reading from the file
      */
     public static Map<Integer, StaffModuleAssignment> loadAssignments() throws IOException
+    {
+        // Copy the shared snapshot so callers can modify and save their own map
+        return new HashMap<>(loadSnapshot());
+    }
+
+    /**
+     * Gets the shared, read-only snapshot of all staff module assignments.
+     * Returns an empty map if neither the file nor its journal exists.
+     *
+     * @return Unmodifiable map of staff IDs to their corresponding module assignments
+     * @throws IOException If there is an error reading from the file
+     */
+    private static Map<Integer, StaffModuleAssignment> loadSnapshot() throws IOException
     {
         File file = new File(ASSIGNMENTS_FILE);
-        if (!file.exists())
+        if (!file.exists() && !JOURNAL.exists())
         {
-            return new HashMap<>();
+            return Collections.emptyMap();
         }
 
-        JsonProcessor processor = new JsonProcessor(ASSIGNMENTS_FILE);
-        processor.processFile();
-        JsonObject root = (JsonObject) processor.getJsonContent();
-        JsonArray assignmentsArray = root.getAsJsonArray("assignments");
-
-        Map<Integer, StaffModuleAssignment> assignments = new HashMap<>();
-        Gson gson = new GsonBuilder().create();
+        return DataRepository.getInstance().get(FilePathHandler.ASSIGNED_STAFF_FILE, LOADER);
+    }
 
-        if (assignmentsArray != null)
+    /**
+     * Parses the assignments file into a read-only map, then replays the journal
+     * over it so that later updates replace earlier ones.
+     *
+     * @param filePath Path of the assignments file
+     * @return Read-only map of staff IDs to their corresponding module assignments
+     * @throws IOException If there is an error reading from the file
+     */
+    private static AssignmentSnapshot<StaffModuleAssignment> loadFromFile(String filePath) throws IOException
+    {
+        AssignmentSnapshot<StaffModuleAssignment> assignments = new AssignmentSnapshot<>();
+        if (new File(filePath).exists())
         {
-            assignmentsArray.forEach(element ->
-            {
-                StaffModuleAssignment assignment = gson.fromJson(element, StaffModuleAssignment.class);
-                assignments.put(assignment.getStaffId(), assignment);
-            });
+            JsonProcessor processor = new JsonProcessor(filePath);
+            processor.streamRecords("assignments", StaffModuleAssignment.class,
+                    assignment -> assignments.store(assignment.getStaffId(), assignment));
         }
+        JOURNAL.replay(assignment -> assignments.store(assignment.getStaffId(), assignment));
 
         return assignments;
     }
 
     /**
      * Saves all staff module assignments to the JSON storage file.
+     * The journal is emptied, as the saved map replaces every earlier update.
      *
      * @param assignments Map of staff IDs to their corresponding module assignments
      * @throws IOException If there is an error writing to the file
      */
     public static void saveAssignments(Map<Integer, StaffModuleAssignment> assignments) throws IOException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            JOURNAL.rewriteBase(() -> writeAssignmentsFile(assignments));
+            DataRepository.getInstance().invalidate(FilePathHandler.ASSIGNED_STAFF_FILE);
+        }
+        finally
+        {
+            SAVE_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes a complete map of assignments to the assignments file.
+     *
+     * @param assignments Map of staff IDs to their corresponding module assignments
+     * @throws IOException If there is an error writing to the file
+     */
+    private static void writeAssignmentsFile(Map<Integer, StaffModuleAssignment> assignments) throws IOException
     {
         JsonObject root = new JsonObject();
         JsonArray assignmentsArray = new JsonArray();
@@ -140,64 +199,34 @@ public class StaffModuleAssignment implements IStaffModuleAssignment
 
         root.add("assignments", assignmentsArray);
 
-        try (FileWriter writer = new FileWriter(ASSIGNMENTS_FILE))
-        {
-            gson.toJson(root, writer);
-        }
+        AtomicFileWriter.write(ASSIGNMENTS_FILE, writer -> gson.toJson(root, writer));
     }
 
     /**
-     * Generates initial random module assignments for all staff members.
+     * Generates initial module assignments for all staff members.
      * Assignments are based on:
      * - Staff department matching course department
-     * - Staff member's maximum module limit
+     * - Staff member's maximum module limit and weekly hours
      * - Available modules in department courses
+     * <p>
+     * As many modules as possible are covered by exactly one member of staff,
+     * and each department's modules are spread evenly over its staff.
      *
      * @throws IOException If there is an error accessing the storage file
      */
     public static void generateInitialAssignments() throws IOException
     {
         List<Staff> allStaff = Staff.getByDepartment("");
+        StaffAssignmentSolver.Result result =
+                new StaffAssignmentSolver(allStaff, DepartmentModuleIndex.current().asMap()).solve();
+
         Map<Integer, StaffModuleAssignment> assignments = new HashMap<>();
+        result.getModuleIdsByStaff().forEach((staffId, moduleIds) ->
+                assignments.put(staffId, new StaffModuleAssignment(staffId, moduleIds)));
 
-        for (Staff staff : allStaff)
+        if (!result.getUncovered().isEmpty())
         {
-            try
-            {
-                // Get courses for staff's department
-                List<Course> departmentCourses = Course.getAll().stream()
-                        .filter(course ->
-                        {
-                            DepartmentId deptId = course.getDepartmentId();
-                            String deptName = deptId != null ? deptId.getDepartmentName() : "";
-                            return deptName.equals(staff.getDepartment());
-                        })
-                        .collect(Collectors.toList());
-
-                // Get all modules for department courses
-                Set<Module> availableModules = new HashSet<>();
-                for (Course course : departmentCourses)
-                {
-                    List<Module> courseModules = Module.getModulesForCourse(course.getCourseCode());
-                    availableModules.addAll(courseModules);
-                }
-
-                // Randomly select modules up to staff's max_modules
-                List<String> moduleIds = new ArrayList<>(availableModules).stream()
-                        .limit(staff.getMaxModules())
-                        .map(Module::getCode)
-                        .collect(Collectors.toList());
-
-                // Create assignment
-                StaffModuleAssignment assignment = new StaffModuleAssignment(
-                        staff.getId(), moduleIds);
-                assignments.put(staff.getId(), assignment);
-
-            }
-            catch (Exception e)
-            {
-                System.err.println("Error generating assignments for staff " + staff.getId() + ": " + e.getMessage());
-            }
+            System.err.println(result.getUncovered().size() + " modules could not be assigned: not enough staff capacity");
         }
 
         // Save all assignments
@@ -206,6 +235,7 @@ public class StaffModuleAssignment implements IStaffModuleAssignment
 
     /**
      * Updates the module assignments for a specific staff member.
+     * The update is appended to the journal rather than rewriting the assignments file.
      *
      * @param staffId   The unique identifier of the staff member
      * @param moduleIds List of new module IDs to be assigned
@@ -213,10 +243,17 @@ public class StaffModuleAssignment implements IStaffModuleAssignment
      */
     public static void updateStaffAssignments(int staffId, List<String> moduleIds) throws IOException
     {
-        Map<Integer, StaffModuleAssignment> assignments = loadAssignments();
+        // Append only the changed record; the full file is rewritten by compaction
         StaffModuleAssignment updated = new StaffModuleAssignment(staffId, moduleIds);
-        assignments.put(staffId, updated);
-        saveAssignments(assignments);
+        JOURNAL.append(updated);
+        DataRepository.getInstance().update(FilePathHandler.ASSIGNED_STAFF_FILE, LOADER, assignments ->
+        {
+            // Replaces one entry of the shared snapshot instead of copying every assignment
+            assignments.store(staffId, updated);
+            return assignments;
+        });
+
+        JOURNAL.compactIfNeeded(() -> writeAssignmentsFile(loadSnapshot()));
     }
 
     /**
@@ -228,8 +265,8 @@ public class StaffModuleAssignment implements IStaffModuleAssignment
      */
     public static List<String> getStaffAssignments(int staffId) throws IOException
     {
-        Map<Integer, StaffModuleAssignment> assignments = loadAssignments();
+        Map<Integer, StaffModuleAssignment> assignments = loadSnapshot();
         StaffModuleAssignment assignment = assignments.get(staffId);
-        return assignment != null ? assignment.getModuleIds() : new ArrayList<>();
+        return assignment != null ? new ArrayList<>(assignment.getModuleIds()) : new ArrayList<>();
     }
 }
\ No newline at end of file
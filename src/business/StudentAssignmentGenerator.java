@@ -0,0 +1,212 @@
+package business;
+
+import users.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Generates the initial module assignments for a list of students in parallel.
+ * <p>
+ * The course and module catalogues are loaded once by the caller and shared by
+ * every worker. Students are split into ranges on a {@link ForkJoinPool}, each range
+ * builds its own map, and the maps are merged as the tasks join, so workers never
+ * contend on a shared map. The module codes of each course are worked out once and
+ * reused for every student on that course.
+ */
+final class StudentAssignmentGenerator
+{
+    /**
+     * Number of students below which a range is processed without splitting further
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1_024;
+
+    /**
+     * Cached in place of module codes for a course title that has no course code
+     */
+    private static final List<String> UNKNOWN_COURSE = Collections.unmodifiableList(new ArrayList<>());
+
+    /**
+     * Generator instance variables:
+     * <ul>
+     *   <li>{@code courses} - Course catalogue used to map course titles to codes</li>
+     *   <li>{@code modules} - Module catalogue used to find the modules of each course</li>
+     *   <li>{@code moduleCodesByTitle} - Module codes for each course title, filled in as titles are first seen</li>
+     * </ul>
+     */
+    private final CourseCatalogue courses;
+    private final ModuleCatalogue modules;
+    private final Map<String, List<String>> moduleCodesByTitle = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a generator over loaded catalogues.
+     *
+     * @param courses The course catalogue
+     * @param modules The module catalogue
+     */
+    StudentAssignmentGenerator(CourseCatalogue courses, ModuleCatalogue modules)
+    {
+        this.courses = courses;
+        this.modules = modules;
+    }
+
+    /**
+     * Generates an assignment for every student whose course is known.
+     *
+     * @param students The students to assign
+     * @param pool     The pool to run on
+     * @return The generated assignments and the time taken
+     */
+    Result generate(List<Student> students, ForkJoinPool pool)
+    {
+        long start = System.nanoTime();
+        Map<Integer, StudentModuleAssignment> assignments =
+                pool.invoke(new GenerateTask(students, 0, students.size()));
+        return new Result(assignments, students.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the codes of the modules taught on a course.
+     *
+     * @param courseTitle The course title
+     * @return Unmodifiable list of module codes, or null if the course is unknown
+     */
+    private List<String> moduleCodesFor(String courseTitle)
+    {
+        if (courseTitle == null)
+        {
+            return null;
+        }
+
+        List<String> codes = moduleCodesByTitle.computeIfAbsent(courseTitle, title ->
+        {
+            String courseCode = courses.getCourseCode(title);
+            if (courseCode == null || courseCode.isEmpty())
+            {
+                return UNKNOWN_COURSE;
+            }
+
+            List<String> moduleCodes = new ArrayList<>();
+            for (Module module : modules.getModulesForCourse(courseCode))
+            {
+                moduleCodes.add(module.getCode());
+            }
+            return Collections.unmodifiableList(moduleCodes);
+        });
+        return codes == UNKNOWN_COURSE ? null : codes;
+    }
+
+    /**
+     * Generates the assignments for one range of students.
+     */
+    private final class GenerateTask extends RecursiveTask<Map<Integer, StudentModuleAssignment>>
+    {
+        private final List<Student> students;
+        private final int from;
+        private final int to;
+
+        private GenerateTask(List<Student> students, int from, int to)
+        {
+            this.students = students;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Integer, StudentModuleAssignment> compute()
+        {
+            if (to - from <= SEQUENTIAL_THRESHOLD)
+            {
+                return computeDirectly();
+            }
+
+            int middle = (from + to) >>> 1;
+            GenerateTask left = new GenerateTask(students, from, middle);
+            left.fork();
+            Map<Integer, StudentModuleAssignment> right = new GenerateTask(students, middle, to).compute();
+            Map<Integer, StudentModuleAssignment> merged = left.join();
+
+            // Later students win, matching the order a sequential loop would put them in
+            merged.putAll(right);
+            return merged;
+        }
+
+        private Map<Integer, StudentModuleAssignment> computeDirectly()
+        {
+            Map<Integer, StudentModuleAssignment> assignments = new HashMap<>();
+            for (int i = from; i < to; i++)
+            {
+                Student student = students.get(i);
+                try
+                {
+                    List<String> moduleIds = moduleCodesFor(student.getCourse());
+                    if (moduleIds != null)
+                    {
+                        assignments.put(student.getId(),
+                                new StudentModuleAssignment(student.getId(), new ArrayList<>(moduleIds)));
+                    }
+                }
+                catch (Exception e)
+                {
+                    System.err.println("Error generating assignments for student " + student.getId() + ": " + e.getMessage());
+                }
+            }
+            return assignments;
+        }
+    }
+
+    /**
+     * Assignments produced by one generation run, with its throughput.
+     */
+    static final class Result
+    {
+        private final Map<Integer, StudentModuleAssignment> assignments;
+        private final int studentCount;
+        private final long elapsedNanos;
+
+        private Result(Map<Integer, StudentModuleAssignment> assignments, int studentCount, long elapsedNanos)
+        {
+            this.assignments = assignments;
+            this.studentCount = studentCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return Map of student IDs to their generated assignments
+         */
+        Map<Integer, StudentModuleAssignment> getAssignments()
+        {
+            return assignments;
+        }
+
+        /**
+         * @return Number of students processed, including those without a known course
+         */
+        int getStudentCount()
+        {
+            return studentCount;
+        }
+
+        /**
+         * @return Time spent generating, in nanoseconds
+         */
+        long getElapsedNanos()
+        {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return Students processed per second
+         */
+        double getStudentsPerSecond()
+        {
+            return elapsedNanos == 0 ? 0 : studentCount * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -5,14 +5,19 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import file_handling.AtomicFileWriter;
+import file_handling.DataRepository;
 import file_handling.FilePathHandler;
+import file_handling.JsonJournal;
 import file_handling.JsonProcessor;
+import file_handling.LatencyTimer;
+import file_handling.MetricsRegistry;
 import users.Student;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +33,23 @@ public class StudentModuleAssignment implements IStudentModuleAssignment
      */
     private static final String ASSIGNMENTS_FILE = FilePathHandler.ASSIGNED_STUDENTS_FILE.getNormalisedPath();
 
+    /**
+     * Decodes the assignments file into a read-only map keyed by student ID
+     */
+    private static final DataRepository.DatasetLoader<AssignmentSnapshot<StudentModuleAssignment>> LOADER =
+            StudentModuleAssignment::loadFromFile;
+
+    /**
+     * Times {@link #saveAssignments(Map)}
+     */
+    private static final LatencyTimer SAVE_TIMER = MetricsRegistry.getInstance().timer("studentAssignments.save");
+
+    /**
+     * Journal of single-student updates made since the assignments file was last rewritten
+     */
+    private static final JsonJournal<StudentModuleAssignment> JOURNAL =
+            new JsonJournal<>(FilePathHandler.ASSIGNED_STUDENTS_FILE, StudentModuleAssignment.class, new Gson());
+
     /**
      * The unique identifier of the student
      */
@@ -95,40 +117,79 @@ public class StudentModuleAssignment implements IStudentModuleAssignment
      * @throws IOException If there is an error reading from the file
      */
     public static Map<Integer, StudentModuleAssignment> loadAssignments() throws IOException
+    {
+        // Copy the shared snapshot so callers can modify and save their own map
+        return new HashMap<>(loadSnapshot());
+    }
+
+    /**
+     * Gets the shared, read-only snapshot of all student module assignments.
+     * Returns an empty map if neither the file nor its journal exists.
+     *
+     * @return Unmodifiable map of student IDs to their corresponding module assignments
+     * @throws IOException If there is an error reading from the file
+     */
+    static Map<Integer, StudentModuleAssignment> loadSnapshot() throws IOException
     {
         File file = new File(ASSIGNMENTS_FILE);
-        if (!file.exists())
+        if (!file.exists() && !JOURNAL.exists())
         {
-            return new HashMap<>();
+            return Collections.emptyMap();
         }
 
-        JsonProcessor processor = new JsonProcessor(ASSIGNMENTS_FILE);
-        processor.processFile();
-        JsonObject root = (JsonObject) processor.getJsonContent();
-        JsonArray assignmentsArray = root.getAsJsonArray("assignments");
-
-        Map<Integer, StudentModuleAssignment> assignments = new HashMap<>();
-        Gson gson = new GsonBuilder().create();
+        return DataRepository.getInstance().get(FilePathHandler.ASSIGNED_STUDENTS_FILE, LOADER);
+    }
 
-        if (assignmentsArray != null)
+    /**
+     * Parses the assignments file into a read-only map, then replays the journal
+     * over it so that later updates replace earlier ones.
+     *
+     * @param filePath Path of the assignments file
+     * @return Read-only map of student IDs to their corresponding module assignments
+     * @throws IOException If there is an error reading from the file
+     */
+    private static AssignmentSnapshot<StudentModuleAssignment> loadFromFile(String filePath) throws IOException
+    {
+        AssignmentSnapshot<StudentModuleAssignment> assignments = new AssignmentSnapshot<>();
+        if (new File(filePath).exists())
         {
-            assignmentsArray.forEach(element ->
-            {
-                StudentModuleAssignment assignment = gson.fromJson(element, StudentModuleAssignment.class);
-                assignments.put(assignment.getStudentId(), assignment);
-            });
+            JsonProcessor processor = new JsonProcessor(filePath);
+            processor.streamRecords("assignments", StudentModuleAssignment.class,
+                    assignment -> assignments.store(assignment.getStudentId(), assignment));
         }
+        JOURNAL.replay(assignment -> assignments.store(assignment.getStudentId(), assignment));
 
         return assignments;
     }
 
     /**
      * Saves all student module assignments to the JSON storage file.
+     * The journal is emptied, as the saved map replaces every earlier update.
      *
      * @param assignments Map of student IDs to their corresponding module assignments
      * @throws IOException If there is an error writing to the file
      */
     public static void saveAssignments(Map<Integer, StudentModuleAssignment> assignments) throws IOException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            JOURNAL.rewriteBase(() -> writeAssignmentsFile(assignments));
+            DataRepository.getInstance().invalidate(FilePathHandler.ASSIGNED_STUDENTS_FILE);
+        }
+        finally
+        {
+            SAVE_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes a complete map of assignments to the assignments file.
+     *
+     * @param assignments Map of student IDs to their corresponding module assignments
+     * @throws IOException If there is an error writing to the file
+     */
+    private static void writeAssignmentsFile(Map<Integer, StudentModuleAssignment> assignments) throws IOException
     {
         JsonObject root = new JsonObject();
         JsonArray assignmentsArray = new JsonArray();
@@ -139,52 +200,29 @@ public class StudentModuleAssignment implements IStudentModuleAssignment
 
         root.add("assignments", assignmentsArray);
 
-        try (FileWriter writer = new FileWriter(ASSIGNMENTS_FILE))
-        {
-            gson.toJson(root, writer);
-        }
+        AtomicFileWriter.write(ASSIGNMENTS_FILE, writer -> gson.toJson(root, writer));
     }
 
     /**
      * Generates initial module assignments for all students in the system.
      * Students are assigned all modules associated with their course.
+     * Students are processed in parallel and the result is saved in a single write.
      *
      * @throws IOException If there is an error accessing the storage file
      */
     public static void generateInitialAssignments() throws IOException
     {
         List<Student> allStudents = Student.getByCourse("");
-        Map<Integer, StudentModuleAssignment> assignments = new HashMap<>();
 
-        for (Student student : allStudents)
-        {
-            try
-            {
-                String courseCode = Course.getCourseCodeFromTitle(student.getCourse());
-                if (courseCode != null && !courseCode.isEmpty())
-                {
-                    // Get all modules for the student's course
-                    List<Module> courseModules = Module.getModulesForCourse(courseCode);
-
-                    // Create default assignments with all available modules
-                    List<String> moduleIds = courseModules.stream()
-                            .map(Module::getCode)
-                            .collect(Collectors.toList());
-
-                    // Create assignment
-                    StudentModuleAssignment assignment = new StudentModuleAssignment(
-                            student.getId(), moduleIds);
-                    assignments.put(student.getId(), assignment);
-                }
-            }
-            catch (Exception e)
-            {
-                System.err.println("Error generating assignments for student " + student.getId() + ": " + e.getMessage());
-            }
-        }
+        // Catalogues are loaded once and shared by every worker
+        StudentAssignmentGenerator generator =
+                new StudentAssignmentGenerator(Course.getCatalogue(), Module.getCatalogue());
+        StudentAssignmentGenerator.Result result = generator.generate(allStudents, ForkJoinPool.commonPool());
+        System.out.printf("Generated module assignments for %d students in %.1f ms (%.0f students/s)%n",
+                result.getStudentCount(), result.getElapsedNanos() / 1_000_000.0, result.getStudentsPerSecond());
 
         // Save all assignments
-        saveAssignments(assignments);
+        saveAssignments(result.getAssignments());
     }
 
     /**
@@ -225,6 +263,7 @@ public class StudentModuleAssignment implements IStudentModuleAssignment
 
     /**
      * Updates the module assignments for a specific student.
+     * The update is appended to the journal rather than rewriting the assignments file.
      *
      * @param studentId The unique identifier of the student
      * @param moduleIds List of new module IDs to be assigned
@@ -232,10 +271,18 @@ public class StudentModuleAssignment implements IStudentModuleAssignment
      */
     public static void updateStudentAssignments(int studentId, List<String> moduleIds) throws IOException
     {
-        Map<Integer, StudentModuleAssignment> assignments = loadAssignments();
+        // Append only the changed record; the full file is rewritten by compaction
         StudentModuleAssignment updated = new StudentModuleAssignment(studentId, moduleIds);
-        assignments.put(studentId, updated);
-        saveAssignments(assignments);
+        JOURNAL.append(updated);
+        DataRepository.getInstance().update(FilePathHandler.ASSIGNED_STUDENTS_FILE, LOADER, assignments ->
+        {
+            // Replaces one entry of the shared snapshot instead of copying every assignment
+            assignments.store(studentId, updated);
+            return assignments;
+        });
+        Timetable.studentAssignmentsChanged(updated);
+
+        JOURNAL.compactIfNeeded(() -> writeAssignmentsFile(loadSnapshot()));
     }
 
     /**
@@ -247,8 +294,8 @@ public class StudentModuleAssignment implements IStudentModuleAssignment
      */
     public static List<String> getStudentAssignments(int studentId) throws IOException
     {
-        Map<Integer, StudentModuleAssignment> assignments = loadAssignments();
+        Map<Integer, StudentModuleAssignment> assignments = loadSnapshot();
         StudentModuleAssignment assignment = assignments.get(studentId);
-        return assignment != null ? assignment.getModuleIds() : new ArrayList<>();
+        return assignment != null ? new ArrayList<>(assignment.getModuleIds()) : new ArrayList<>();
     }
 }
\ No newline at end of file
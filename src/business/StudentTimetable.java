@@ -0,0 +1,85 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable weekly timetable of one student, for every term.
+ * Each cell holds the codes of the student's modules taught in that slot; a cell
+ * holds more than one code only when the student takes more modules than there
+ * are slots.
+ */
+public final class StudentTimetable
+{
+    /**
+     * Timetable with no modules, for students without assignments
+     */
+    static final StudentTimetable EMPTY = of(Collections.emptyList(), module -> -1, Timetable.SLOT_COUNT);
+
+    /**
+     * Module codes in each slot, indexed by {@link Timetable#slotIndex(int, int, int)}
+     */
+    private final List<List<String>> cells;
+
+    private StudentTimetable(List<List<String>> cells)
+    {
+        this.cells = cells;
+    }
+
+    /**
+     * Builds a timetable from a list of modules and their slots.
+     *
+     * @param modules   The student's module codes
+     * @param slotOf    Gives the slot of a module, or -1 if it has none
+     * @param slotCount Number of slots in the timetable
+     * @return The timetable
+     */
+    static StudentTimetable of(List<String> modules, ToIntFunction<String> slotOf, int slotCount)
+    {
+        List<List<String>> cells = new ArrayList<>(slotCount);
+        for (int slot = 0; slot < slotCount; slot++)
+        {
+            cells.add(new ArrayList<>(1));
+        }
+        for (String module : modules)
+        {
+            int slot = slotOf.applyAsInt(module);
+            if (slot >= 0 && slot < slotCount)
+            {
+                cells.get(slot).add(module);
+            }
+        }
+        cells.replaceAll(Collections::unmodifiableList);
+        return new StudentTimetable(Collections.unmodifiableList(cells));
+    }
+
+    /**
+     * Gets the modules taught in one slot.
+     *
+     * @param term   Term index, from 0 to {@link Timetable#TERMS} - 1
+     * @param day    Day index, from 0 (Monday) to {@link Timetable#DAYS} - 1
+     * @param period Period index within the day, from 0 to {@link Timetable#PERIODS} - 1
+     * @return Unmodifiable list of module codes, empty if the slot is free
+     */
+    public List<String> getModules(int term, int day, int period)
+    {
+        return cells.get(Timetable.slotIndex(term, day, period));
+    }
+
+    /**
+     * @return true if the student has two modules in the same slot anywhere in the year
+     */
+    public boolean hasClash()
+    {
+        for (List<String> cell : cells)
+        {
+            if (cell.size() > 1)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,219 @@
+package business;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import file_handling.AtomicFileWriter;
+import file_handling.FilePathHandler;
+import file_handling.JsonProcessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Clash-free weekly timetable of every module students are assigned to.
+ * <p>
+ * Each module is placed in one slot, identified by term, day and period, so that no
+ * student has two modules at once. The timetable is built from the student module
+ * assignments by {@link TimetableSolver} and saved to
+ * {@link FilePathHandler#TIMETABLE_FILE}, so that modules keep their slots between
+ * runs. When one student's assignments change only that student's modules are
+ * re-placed; when the assignments file is replaced, the saved slots are kept and
+ * only modules that are new or now clash are moved.
+ * <p>
+ * A student's timetable is looked up by ID and shared by every student with the same
+ * modules, so serving it costs a hash lookup.
+ */
+public final class Timetable
+{
+    /**
+     * Number of terms in the academic year
+     */
+    public static final int TERMS = 3;
+
+    /**
+     * Number of teaching days in the week
+     */
+    public static final int DAYS = 5;
+
+    /**
+     * Number of teaching periods in a day
+     */
+    public static final int PERIODS = 4;
+
+    /**
+     * Total number of slots modules can be placed in
+     */
+    public static final int SLOT_COUNT = TERMS * DAYS * PERIODS;
+
+    /**
+     * Guards the timetable state below
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Timetable state:
+     * <ul>
+     *   <li>{@code solver} - Current module placement, or null before the first use</li>
+     *   <li>{@code groupsByStudent} - Enrolment group of each student</li>
+     *   <li>{@code builtFrom} - Assignments snapshot the state reflects</li>
+     * </ul>
+     */
+    private static TimetableSolver solver;
+    private static Map<Integer, TimetableSolver.Group> groupsByStudent = new HashMap<>();
+    private static Map<Integer, StudentModuleAssignment> builtFrom;
+
+    private Timetable()
+    {
+    }
+
+    /**
+     * Gets the slot index of a term, day and period.
+     *
+     * @param term   Term index, from 0 to {@link #TERMS} - 1
+     * @param day    Day index, from 0 (Monday) to {@link #DAYS} - 1
+     * @param period Period index within the day, from 0 to {@link #PERIODS} - 1
+     * @return The slot index
+     */
+    public static int slotIndex(int term, int day, int period)
+    {
+        return (term * DAYS + day) * PERIODS + period;
+    }
+
+    /**
+     * Gets the timetable of a student.
+     *
+     * @param studentId The unique identifier of the student
+     * @return The student's timetable, empty if they have no assignments
+     * @throws IOException If the assignments or the saved timetable cannot be read,
+     *                     or the updated timetable cannot be saved
+     */
+    public static StudentTimetable getStudentTimetable(int studentId) throws IOException
+    {
+        synchronized (LOCK)
+        {
+            ensureCurrent();
+            TimetableSolver.Group group = groupsByStudent.get(studentId);
+            return group != null ? group.getView(solver) : StudentTimetable.EMPTY;
+        }
+    }
+
+    /**
+     * Re-places only the modules of one student after their assignments change.
+     * Does nothing if the timetable has not been built yet. If the result cannot be
+     * saved, the timetable is rebuilt on next use rather than failing the update.
+     *
+     * @param updated The student's new assignment
+     */
+    static void studentAssignmentsChanged(StudentModuleAssignment updated)
+    {
+        synchronized (LOCK)
+        {
+            if (solver == null)
+            {
+                return;
+            }
+
+            TimetableSolver.Group previous = groupsByStudent.remove(updated.getStudentId());
+            if (previous != null)
+            {
+                solver.removeStudent(previous);
+            }
+            groupsByStudent.put(updated.getStudentId(), solver.addStudent(updated.getModuleIds()));
+
+            try
+            {
+                builtFrom = StudentModuleAssignment.loadSnapshot();
+                saveIfChanged();
+            }
+            catch (IOException e)
+            {
+                System.err.println("Error updating timetable for student " + updated.getStudentId() + ": " + e.getMessage());
+                solver = null;
+            }
+        }
+    }
+
+    /**
+     * Brings the timetable up to date with the current assignments snapshot.
+     * Must be called while holding {@link #LOCK}.
+     */
+    private static void ensureCurrent() throws IOException
+    {
+        Map<Integer, StudentModuleAssignment> assignments = StudentModuleAssignment.loadSnapshot();
+        if (solver != null && builtFrom == assignments)
+        {
+            return;
+        }
+
+        Map<String, Integer> seed = solver != null ? new HashMap<>(solver.getSlots()) : loadSavedSlots();
+        TimetableSolver next = new TimetableSolver(SLOT_COUNT);
+        next.seed(seed);
+
+        Map<Integer, TimetableSolver.Group> groups = new HashMap<>();
+        if (seed.isEmpty())
+        {
+            assignments.forEach((studentId, assignment) ->
+                    groups.put(studentId, next.enrol(assignment.getModuleIds())));
+            next.solveAll();
+        }
+        else
+        {
+            // Keep saved slots and only move modules that are new or now clash
+            assignments.forEach((studentId, assignment) ->
+                    groups.put(studentId, next.addStudent(assignment.getModuleIds())));
+        }
+
+        solver = next;
+        groupsByStudent = groups;
+        builtFrom = assignments;
+        saveIfChanged();
+    }
+
+    /**
+     * Reads the saved slot of every module.
+     *
+     * @return Slot of each module, empty if no timetable has been saved
+     */
+    private static Map<String, Integer> loadSavedSlots() throws IOException
+    {
+        Map<String, Integer> slots = new HashMap<>();
+        String path = FilePathHandler.TIMETABLE_FILE.getNormalisedPath();
+        if (!new File(path).exists())
+        {
+            return slots;
+        }
+
+        JsonProcessor processor = new JsonProcessor(path);
+        processor.processFile();
+        Object content = processor.getJsonContent();
+        if (content instanceof JsonObject && ((JsonObject) content).has("slots"))
+        {
+            for (Map.Entry<String, JsonElement> entry : ((JsonObject) content).getAsJsonObject("slots").entrySet())
+            {
+                slots.put(entry.getKey(), entry.getValue().getAsInt());
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Saves the slot of every module if any has moved since the last save.
+     */
+    private static void saveIfChanged() throws IOException
+    {
+        if (!solver.takeChanged())
+        {
+            return;
+        }
+
+        JsonObject slots = new JsonObject();
+        solver.getSlots().forEach(slots::addProperty);
+        JsonObject root = new JsonObject();
+        root.add("slots", slots);
+
+        AtomicFileWriter.write(FilePathHandler.TIMETABLE_FILE, writer -> new Gson().toJson(root, writer));
+    }
+}
@@ -0,0 +1,366 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Places modules into timetable slots so that no student has two modules in the
+ * same slot, by colouring the module co-enrolment graph with one colour per slot.
+ * <p>
+ * Students with exactly the same modules are folded into one enrolment group, and
+ * each group is a clique of the co-enrolment graph. The solver keeps, for every
+ * group, how many of its modules sit in each slot, so the cost of putting a module
+ * in a slot is the number of students who would then have a clash, summed over the
+ * groups the module belongs to. Modules are placed greedily, most-enrolled first,
+ * each into its cheapest slot, with ties going to the emptiest slot so modules are
+ * spread over the week.
+ * <p>
+ * When there are more modules on one student's list than slots, a clash cannot be
+ * avoided and the solver keeps the number of clashing students as low as it can.
+ * <p>
+ * Adding or removing a student only re-places the modules of that student's group,
+ * so a change to one student's assignments does not re-solve the whole timetable.
+ * Instances are not thread-safe.
+ */
+final class TimetableSolver
+{
+    /**
+     * Maximum number of improvement passes over all modules after a full solve
+     */
+    private static final int IMPROVEMENT_SWEEPS = 5;
+
+    /**
+     * Solver instance variables:
+     * <ul>
+     *   <li>{@code slotCount} - Number of slots available</li>
+     *   <li>{@code slotByModule} - Slot of each placed module</li>
+     *   <li>{@code modulesPerSlot} - Number of placed modules in each slot</li>
+     *   <li>{@code groups} - Enrolment groups keyed by their sorted module codes</li>
+     *   <li>{@code groupsByModule} - Groups each module belongs to</li>
+     *   <li>{@code changed} - Whether any slot has changed since the flag was last cleared</li>
+     * </ul>
+     */
+    private final int slotCount;
+    private final Map<String, Integer> slotByModule = new HashMap<>();
+    private final int[] modulesPerSlot;
+    private final Map<List<String>, Group> groups = new HashMap<>();
+    private final Map<String, List<Group>> groupsByModule = new HashMap<>();
+    private boolean changed;
+
+    /**
+     * Constructs an empty solver.
+     *
+     * @param slotCount Number of slots modules can be placed in
+     */
+    TimetableSolver(int slotCount)
+    {
+        this.slotCount = slotCount;
+        this.modulesPerSlot = new int[slotCount];
+    }
+
+    /**
+     * Seeds module slots, for example from a saved timetable. Slots out of range are ignored.
+     * Should be called before any student is added.
+     *
+     * @param slots Slot of each module
+     */
+    void seed(Map<String, Integer> slots)
+    {
+        slots.forEach((module, slot) ->
+        {
+            if (slot != null && slot >= 0 && slot < slotCount)
+            {
+                slotByModule.put(module, slot);
+                modulesPerSlot[slot]++;
+            }
+        });
+    }
+
+    /**
+     * Adds a student without placing any modules; follow with {@link #solveAll()}.
+     *
+     * @param moduleIds The student's modules
+     * @return The student's enrolment group
+     */
+    Group enrol(Collection<String> moduleIds)
+    {
+        List<String> key = keyOf(moduleIds);
+        Group group = groups.get(key);
+        if (group == null)
+        {
+            group = new Group(key, slotCount);
+            groups.put(key, group);
+            for (String module : key)
+            {
+                groupsByModule.computeIfAbsent(module, m -> new ArrayList<>()).add(group);
+                Integer slot = slotByModule.get(module);
+                if (slot != null)
+                {
+                    group.usage[slot]++;
+                }
+            }
+        }
+        group.students++;
+        return group;
+    }
+
+    /**
+     * Adds a student and places or moves only the modules of their group that are
+     * unplaced or clash within the group.
+     *
+     * @param moduleIds The student's modules
+     * @return The student's enrolment group
+     */
+    Group addStudent(Collection<String> moduleIds)
+    {
+        Group group = enrol(moduleIds);
+        repair(group);
+        return group;
+    }
+
+    /**
+     * Removes a student from their enrolment group, dropping the group once empty.
+     * Modules keep their slots.
+     *
+     * @param group The group the student was in
+     */
+    void removeStudent(Group group)
+    {
+        if (--group.students > 0)
+        {
+            return;
+        }
+        groups.remove(group.modules);
+        for (String module : group.modules)
+        {
+            List<Group> moduleGroups = groupsByModule.get(module);
+            moduleGroups.remove(group);
+            if (moduleGroups.isEmpty())
+            {
+                groupsByModule.remove(module);
+            }
+        }
+    }
+
+    /**
+     * Places every module from scratch, most-enrolled first.
+     */
+    void solveAll()
+    {
+        for (Group group : groups.values())
+        {
+            Arrays.fill(group.usage, 0);
+            group.view = null;
+        }
+        slotByModule.clear();
+        Arrays.fill(modulesPerSlot, 0);
+
+        List<String> order = new ArrayList<>(groupsByModule.keySet());
+        Map<String, Integer> enrolment = new HashMap<>();
+        for (String module : order)
+        {
+            int students = 0;
+            for (Group group : groupsByModule.get(module))
+            {
+                students += group.students;
+            }
+            enrolment.put(module, students);
+        }
+        order.sort((a, b) -> enrolment.get(b) - enrolment.get(a) != 0
+                ? enrolment.get(b) - enrolment.get(a) : a.compareTo(b));
+
+        for (String module : order)
+        {
+            place(module, cheapestSlot(module));
+        }
+
+        // Greedy placement is order-dependent; a few sweeps of single-module moves
+        // remove most of the clashes it leaves behind
+        for (int sweep = 0; sweep < IMPROVEMENT_SWEEPS; sweep++)
+        {
+            boolean moved = false;
+            for (String module : order)
+            {
+                int slot = slotByModule.get(module);
+                unplace(module);
+                int best = cheapestSlot(module);
+                place(module, best);
+                moved |= best != slot;
+            }
+            if (!moved)
+            {
+                break;
+            }
+        }
+        changed = true;
+    }
+
+    /**
+     * Re-places the modules of a group that are unplaced or share a slot with another
+     * module of the same group.
+     *
+     * @param group The group to repair
+     */
+    void repair(Group group)
+    {
+        for (String module : group.modules)
+        {
+            Integer slot = slotByModule.get(module);
+            if (slot == null || group.usage[slot] > 1)
+            {
+                boolean changedBefore = changed;
+                unplace(module);
+                int newSlot = cheapestSlot(module);
+                place(module, newSlot);
+
+                // Staying put after an unavoidable clash is not a change
+                changed = changedBefore || slot == null || newSlot != slot;
+            }
+        }
+    }
+
+    /**
+     * @param module A module code
+     * @return The module's slot, or -1 if it has not been placed
+     */
+    int slotOf(String module)
+    {
+        return slotByModule.getOrDefault(module, -1);
+    }
+
+    /**
+     * @return Unmodifiable view of every placed module's slot
+     */
+    Map<String, Integer> getSlots()
+    {
+        return Collections.unmodifiableMap(slotByModule);
+    }
+
+    /**
+     * Counts students who have at least two modules in the same slot.
+     *
+     * @return Number of students with a clash
+     */
+    int countClashingStudents()
+    {
+        int clashing = 0;
+        for (Group group : groups.values())
+        {
+            for (int count : group.usage)
+            {
+                if (count > 1)
+                {
+                    clashing += group.students;
+                    break;
+                }
+            }
+        }
+        return clashing;
+    }
+
+    /**
+     * Reports whether any slot has changed, and clears the flag.
+     *
+     * @return true if a slot changed since the last call
+     */
+    boolean takeChanged()
+    {
+        boolean result = changed;
+        changed = false;
+        return result;
+    }
+
+    private int cheapestSlot(String module)
+    {
+        List<Group> moduleGroups = groupsByModule.getOrDefault(module, Collections.emptyList());
+        int best = 0;
+        long bestCost = Long.MAX_VALUE;
+        for (int slot = 0; slot < slotCount; slot++)
+        {
+            long cost = 0;
+            for (Group group : moduleGroups)
+            {
+                cost += (long) group.students * group.usage[slot];
+            }
+            if (cost < bestCost || (cost == bestCost && modulesPerSlot[slot] < modulesPerSlot[best]))
+            {
+                best = slot;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    private void place(String module, int slot)
+    {
+        slotByModule.put(module, slot);
+        modulesPerSlot[slot]++;
+        for (Group group : groupsByModule.getOrDefault(module, Collections.emptyList()))
+        {
+            group.usage[slot]++;
+            group.view = null;
+        }
+        changed = true;
+    }
+
+    private void unplace(String module)
+    {
+        Integer slot = slotByModule.remove(module);
+        if (slot == null)
+        {
+            return;
+        }
+        modulesPerSlot[slot]--;
+        for (Group group : groupsByModule.getOrDefault(module, Collections.emptyList()))
+        {
+            group.usage[slot]--;
+            group.view = null;
+        }
+    }
+
+    private static List<String> keyOf(Collection<String> moduleIds)
+    {
+        List<String> key = new ArrayList<>(new LinkedHashSet<>(moduleIds));
+        Collections.sort(key);
+        return Collections.unmodifiableList(key);
+    }
+
+    /**
+     * Students who take exactly the same modules.
+     */
+    static final class Group
+    {
+        private final List<String> modules;
+        private final int[] usage;
+        private int students;
+        private StudentTimetable view;
+
+        private Group(List<String> modules, int slotCount)
+        {
+            this.modules = modules;
+            this.usage = new int[slotCount];
+        }
+
+        /**
+         * Gets the timetable of the group's students, building it on first use after
+         * any of the group's modules has moved.
+         *
+         * @param solver The solver that owns the group
+         * @return The group's timetable
+         */
+        StudentTimetable getView(TimetableSolver solver)
+        {
+            if (view == null)
+            {
+                view = StudentTimetable.of(modules, solver::slotOf, solver.slotCount);
+            }
+            return view;
+        }
+    }
+}
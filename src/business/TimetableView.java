@@ -0,0 +1,110 @@
+package business;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view model of one student's timetable, ready for display.
+ * <p>
+ * Everything the timetable dialog shows, the module codes in each slot and the names
+ * of those modules, is resolved by one call to {@link #forStudent(int)}. The dialog
+ * makes that call off the event dispatch thread when it opens, and every cell and
+ * term switch then reads from the view without touching the data files.
+ */
+public final class TimetableView
+{
+    /**
+     * View instance variables:
+     * <ul>
+     *   <li>{@code timetable} - The student's modules in each slot</li>
+     *   <li>{@code moduleNames} - Name of every module in the timetable, keyed by code</li>
+     * </ul>
+     */
+    private final StudentTimetable timetable;
+    private final Map<String, String> moduleNames;
+
+    private TimetableView(StudentTimetable timetable, Map<String, String> moduleNames)
+    {
+        this.timetable = timetable;
+        this.moduleNames = moduleNames;
+    }
+
+    /**
+     * Resolves the timetable of a student and the names of their modules.
+     * Reads the assignments and the module catalogue once; should not be called on
+     * the event dispatch thread.
+     *
+     * @param studentId The unique identifier of the student
+     * @return The student's timetable view, empty if they have no assignments
+     * @throws IOException If the assignments, the timetable or the module file cannot be read
+     */
+    public static TimetableView forStudent(int studentId) throws IOException
+    {
+        return of(Timetable.getStudentTimetable(studentId), Module.getCatalogue());
+    }
+
+    /**
+     * Builds a view from a timetable and the catalogue its modules are named from.
+     *
+     * @param timetable The student's timetable
+     * @param catalogue The module catalogue
+     * @return The view
+     */
+    static TimetableView of(StudentTimetable timetable, ModuleCatalogue catalogue)
+    {
+        Map<String, String> names = new HashMap<>();
+        for (int term = 0; term < Timetable.TERMS; term++)
+        {
+            for (int day = 0; day < Timetable.DAYS; day++)
+            {
+                for (int period = 0; period < Timetable.PERIODS; period++)
+                {
+                    for (String code : timetable.getModules(term, day, period))
+                    {
+                        Module module = catalogue.getModuleByCode(code);
+                        if (module != null)
+                        {
+                            names.put(code, module.getName());
+                        }
+                    }
+                }
+            }
+        }
+        return new TimetableView(timetable, Collections.unmodifiableMap(names));
+    }
+
+    /**
+     * Gets the modules taught in one slot.
+     *
+     * @param term   Term index, from 0 to {@link Timetable#TERMS} - 1
+     * @param day    Day index, from 0 (Monday) to {@link Timetable#DAYS} - 1
+     * @param period Period index within the day, from 0 to {@link Timetable#PERIODS} - 1
+     * @return Unmodifiable list of module codes, empty if the slot is free
+     */
+    public List<String> getModules(int term, int day, int period)
+    {
+        return timetable.getModules(term, day, period);
+    }
+
+    /**
+     * Gets the name of a module in the timetable.
+     *
+     * @param code The module code
+     * @return The module name, or null if the module is not in the catalogue
+     */
+    public String getModuleName(String code)
+    {
+        return moduleNames.get(code);
+    }
+
+    /**
+     * @return true if the student has two modules in the same slot anywhere in the year
+     */
+    public boolean hasClash()
+    {
+        return timetable.hasClash();
+    }
+}
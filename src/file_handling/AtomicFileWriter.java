@@ -0,0 +1,266 @@
+package file_handling;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Crash-safe replacement of whole data files.
+ * <p>
+ * Content is written to a temporary file in the same directory, flushed to disk and
+ * then renamed over the target, so a reader or a crash only ever sees the old file or
+ * the complete new one. Readers need no locks.
+ * <p>
+ * Saves to the same file are group-committed: each save is rendered in the caller's
+ * thread, and while one save is being flushed to disk, later saves queue up behind it.
+ * The next thread to get the file writes only the newest queued content, and every
+ * save it supersedes returns without another flush. This is safe because each save
+ * replaces the whole file.
+ */
+public final class AtomicFileWriter
+{
+    /**
+     * Group commit state for each target file, keyed by absolute path
+     */
+    private static final Map<Path, CommitGroup> GROUPS = new ConcurrentHashMap<>();
+
+    /**
+     * Number of files flushed to disk, for benchmarks
+     */
+    private static final AtomicLong SYNC_COUNT = new AtomicLong();
+
+    private AtomicFileWriter()
+    {
+    }
+
+    /**
+     * Atomically replaces the file behind a dataset.
+     *
+     * @param dataset The dataset to write
+     * @param content Writes the complete new file content
+     * @throws IOException if the content cannot be rendered or the file cannot be replaced
+     */
+    public static void write(FilePathHandler dataset, ContentWriter content) throws IOException
+    {
+        write(dataset.getNormalisedPath(), content);
+    }
+
+    /**
+     * Atomically replaces a file. Returns once the new content, or newer content from
+     * a concurrent save, is durably on disk.
+     *
+     * @param filePath Path of the file to replace
+     * @param content  Writes the complete new file content
+     * @throws IOException if the content cannot be rendered or the file cannot be replaced
+     */
+    public static void write(String filePath, ContentWriter content) throws IOException
+    {
+        byte[] bytes = render(content);
+        Path target = Paths.get(filePath).toAbsolutePath();
+        GROUPS.computeIfAbsent(target, CommitGroup::new).commit(bytes);
+    }
+
+    /**
+     * @return Number of files flushed to disk since the application started
+     */
+    static long getSyncCount()
+    {
+        return SYNC_COUNT.get();
+    }
+
+    /**
+     * Renders content to bytes in the platform charset, matching the readers.
+     *
+     * @param content Writes the file content
+     * @return The encoded content
+     * @throws IOException if the content cannot be written
+     */
+    private static byte[] render(ContentWriter content) throws IOException
+    {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(buffer, Charset.defaultCharset()))
+        {
+            content.writeTo(writer);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes bytes to a temporary sibling file, flushes it and renames it over the target.
+     *
+     * @param target The file to replace
+     * @param bytes  The complete new content
+     * @throws IOException if the file cannot be replaced
+     */
+    private static void replace(Path target, byte[] bytes) throws IOException
+    {
+        Path directory = target.getParent();
+        Path temp = Files.createTempFile(directory, "." + target.getFileName(), ".tmp");
+        try
+        {
+            copyPermissions(target, temp);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+            {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining())
+                {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            SYNC_COUNT.incrementAndGet();
+            MetricsRegistry.getInstance().recordWrite(target.toString(), bytes.length);
+
+            try
+            {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+        syncDirectory(directory);
+    }
+
+    /**
+     * Gives the temporary file the permissions of the file it replaces, or the usual
+     * permissions of a new file if there is none, since temporary files are created
+     * readable by their owner only.
+     *
+     * @param target The file being replaced
+     * @param temp   The temporary file
+     */
+    private static void copyPermissions(Path target, Path temp) throws IOException
+    {
+        try
+        {
+            Files.setPosixFilePermissions(temp, Files.exists(target)
+                    ? Files.getPosixFilePermissions(target)
+                    : PosixFilePermissions.fromString("rw-r--r--"));
+        }
+        catch (UnsupportedOperationException e)
+        {
+            // Not a POSIX file system
+        }
+    }
+
+    /**
+     * Flushes a directory so that a rename inside it survives a crash.
+     * Some platforms cannot open directories; the rename is still atomic there.
+     *
+     * @param directory The directory to flush
+     */
+    private static void syncDirectory(Path directory)
+    {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ))
+        {
+            channel.force(true);
+        }
+        catch (IOException e)
+        {
+            // Not supported on this platform
+        }
+    }
+
+    /**
+     * Writes the complete content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter
+    {
+        /**
+         * Writes the file content.
+         *
+         * @param writer Destination of the content; closed by the caller
+         * @throws IOException if the content cannot be written
+         */
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Saves queued for one file.
+     * Every save takes a sequence number; a save is finished once a write with an
+     * equal or later sequence number has been committed.
+     */
+    private static final class CommitGroup
+    {
+        private final Path target;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private long lastQueued;
+        private long lastCommitted;
+        private byte[] latest;
+
+        private CommitGroup(Path target)
+        {
+            this.target = target;
+        }
+
+        /**
+         * Queues content and waits until it, or newer content, has been committed.
+         *
+         * @param bytes The complete new content
+         * @throws IOException if this thread performs the write and it fails
+         */
+        private void commit(byte[] bytes) throws IOException
+        {
+            long sequence;
+            synchronized (this)
+            {
+                sequence = ++lastQueued;
+                latest = bytes;
+            }
+
+            writeLock.lock();
+            try
+            {
+                byte[] toWrite;
+                long writing;
+                synchronized (this)
+                {
+                    if (lastCommitted >= sequence)
+                    {
+                        // A later save was written while we waited
+                        return;
+                    }
+                    toWrite = latest;
+                    writing = lastQueued;
+                }
+
+                replace(target, toWrite);
+
+                synchronized (this)
+                {
+                    lastCommitted = writing;
+                    if (lastQueued == writing)
+                    {
+                        latest = null;
+                    }
+                }
+            }
+            finally
+            {
+                writeLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package file_handling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Process-wide cache of the decoded JSON datasets listed in {@link FilePathHandler}.
+ * Each dataset is parsed once and the decoded snapshot is shared by every caller
+ * until the backing file changes on disk.
+ * <p>
+ * A snapshot is considered stale when the file's size or last-modified time differs
+ * from the values recorded when it was loaded. Writers inside the application should
+ * also call {@link #invalidate(FilePathHandler)} after saving, since two writes within
+ * the file system's timestamp granularity can leave both values unchanged.
+ * <p>
+ * Loaders are expected to return immutable values, as the same instance is handed
+ * to every caller; a value that is safe to read concurrently may instead be changed in
+ * place by {@link #update(FilePathHandler, DatasetLoader, UnaryOperator)}. The dataset's journal file, if any, is part of the file state, so
+ * appending to a {@link JsonJournal} also marks the snapshot as stale unless the
+ * writer refreshes it with {@link #update(FilePathHandler, DatasetLoader, UnaryOperator)}.
+ * <p>
+ * Loads run on the repository's own threads, and concurrent reads of the same dataset
+ * share a single load: a caller that finds a load of an unchanged file already in
+ * progress waits for that load instead of starting another. Each caller waits on its
+ * own future, so cancelling or interrupting one caller never cancels the shared load.
+ */
+public final class DataRepository
+{
+    /**
+     * The single shared repository instance
+     */
+    private static final DataRepository INSTANCE = new DataRepository();
+
+    /**
+     * Repository variables:
+     * <ul>
+     *   <li>{@code snapshots} - Cached snapshots, grouped by dataset and keyed by the loader that produced them</li>
+     *   <li>{@code loads} - Loads in progress, grouped and keyed the same way; each dataset's
+     *       snapshot map is the lock for changes to both maps of that dataset</li>
+     *   <li>{@code loadPool} - Threads that run the loads</li>
+     *   <li>{@code loadTimers} - Time each dataset takes to load</li>
+     *   <li>{@code loadCount} - Number of loads started</li>
+     *   <li>{@code coalescedCount} - Number of reads that joined a load already in progress</li>
+     * </ul>
+     */
+    private final Map<FilePathHandler, Map<DatasetLoader<?>, Snapshot<?>>> snapshots;
+    private final Map<FilePathHandler, Map<DatasetLoader<?>, Load<?>>> loads;
+    private final ExecutorService loadPool;
+    private final Map<FilePathHandler, LatencyTimer> loadTimers;
+    private final EventCounter loadCount;
+    private final EventCounter coalescedCount;
+
+    /**
+     * Constructs the repository with an empty cache for every dataset.
+     */
+    private DataRepository()
+    {
+        this.snapshots = new EnumMap<>(FilePathHandler.class);
+        this.loads = new EnumMap<>(FilePathHandler.class);
+        for (FilePathHandler dataset : FilePathHandler.values())
+        {
+            snapshots.put(dataset, new ConcurrentHashMap<>());
+            loads.put(dataset, new ConcurrentHashMap<>());
+        }
+
+        // Timers are added on a dataset's first load, so only datasets in use are published
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.loadTimers = new ConcurrentHashMap<>();
+        this.loadCount = metrics.counter("dataset.loads");
+        this.coalescedCount = metrics.counter("dataset.sharedLoads");
+
+        // At most one load per dataset and loader runs at a time, so the pool stays small
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.loadPool = Executors.newCachedThreadPool(runnable ->
+        {
+            Thread thread = new Thread(runnable, "dataset-load-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared repository instance.
+     *
+     * @return The process-wide repository
+     */
+    public static DataRepository getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the decoded snapshot of a dataset, loading it from disk only if it has not
+     * been loaded yet or if the file has changed since it was last loaded. If another
+     * caller is already loading the unchanged file, this waits for that load.
+     *
+     * @param <T>     The type of the decoded snapshot
+     * @param dataset The dataset to read
+     * @param loader  Decodes the file into a snapshot; should be a shared constant so
+     *                that repeated calls hit the same cache entry
+     * @return The current snapshot of the dataset
+     * @throws IOException if the file cannot be read or decoded, or if the calling thread
+     *                     is interrupted while waiting (an {@link InterruptedIOException})
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(FilePathHandler dataset, DatasetLoader<T> loader) throws IOException
+    {
+        Snapshot<T> snapshot = (Snapshot<T>) snapshots.get(dataset).get(loader);
+        if (snapshot != null && snapshot.stamp.equals(FileStamp.of(dataset)))
+        {
+            return snapshot.value;
+        }
+
+        CompletableFuture<T> future = getAsync(dataset, loader);
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            // Only this caller stops waiting; the shared load carries on
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading " + dataset.getNormalisedPath());
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IOException("Error loading " + dataset.getNormalisedPath(), cause);
+        }
+    }
+
+    /**
+     * Gets the decoded snapshot of a dataset without blocking. A current snapshot is
+     * returned as a completed future; otherwise the caller shares the load of the
+     * unchanged file already in progress, or starts one on the repository's threads.
+     *
+     * @param <T>     The type of the decoded snapshot
+     * @param dataset The dataset to read
+     * @param loader  Decodes the file into a snapshot; should be a shared constant
+     * @return A future for this caller alone, completed with the snapshot or with the
+     * exception the load failed with; cancelling it does not cancel the shared load
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> getAsync(FilePathHandler dataset, DatasetLoader<T> loader)
+    {
+        Map<DatasetLoader<?>, Snapshot<?>> entries = snapshots.get(dataset);
+        Map<DatasetLoader<?>, Load<?>> inFlight = loads.get(dataset);
+
+        while (true)
+        {
+            FileStamp stamp = FileStamp.of(dataset);
+            Snapshot<T> snapshot = (Snapshot<T>) entries.get(loader);
+            if (snapshot != null && snapshot.stamp.equals(stamp))
+            {
+                return CompletableFuture.completedFuture(snapshot.value);
+            }
+
+            Load<T> existing = (Load<T>) inFlight.get(loader);
+            if (existing != null && existing.stamp.equals(stamp))
+            {
+                coalescedCount.increment();
+                return existing.future.copy();
+            }
+
+            // A load of an older version of the file is replaced rather than joined
+            Load<T> load = new Load<>(stamp);
+            boolean started;
+            synchronized (entries)
+            {
+                started = existing == null
+                        ? inFlight.putIfAbsent(loader, load) == null
+                        : inFlight.replace(loader, existing, load);
+            }
+            if (started)
+            {
+                loadCount.increment();
+                loadPool.execute(() -> runLoad(dataset, loader, load));
+                return load.future.copy();
+            }
+            // Another caller started a load first; go round again to join it
+        }
+    }
+
+    /**
+     * Runs a load on the load pool, caches the result if the load is still current,
+     * and then completes the shared future.
+     */
+    private <T> void runLoad(FilePathHandler dataset, DatasetLoader<T> loader, Load<T> load)
+    {
+        LatencyTimer timer = loadTimers.computeIfAbsent(dataset,
+                key -> MetricsRegistry.getInstance().timer("dataset.load." + key.name()));
+        long start = System.nanoTime();
+        T value;
+        try
+        {
+            value = loader.load(dataset.getNormalisedPath());
+        }
+        catch (Throwable e)
+        {
+            timer.record(System.nanoTime() - start);
+            synchronized (snapshots.get(dataset))
+            {
+                loads.get(dataset).remove(loader, load);
+            }
+            load.future.completeExceptionally(e);
+            return;
+        }
+
+        timer.record(System.nanoTime() - start);
+
+        Map<DatasetLoader<?>, Snapshot<?>> entries = snapshots.get(dataset);
+        synchronized (entries)
+        {
+            // An invalidation while loading means the value may already be out of date
+            if (loads.get(dataset).remove(loader, load))
+            {
+                entries.put(loader, new Snapshot<>(load.stamp, value));
+            }
+        }
+        load.future.complete(value);
+    }
+
+    /**
+     * Applies an in-process change to the cached snapshot of a dataset and records the
+     * current file state against the result, so a change the caller has just written
+     * does not force a full reload. If no snapshot is cached for the loader, nothing
+     * is done and the next read loads the dataset from disk as usual.
+     * <p>
+     * Other loaders of the same dataset are discarded, since they have not seen the change,
+     * and so are loads in progress.
+     *
+     * @param <T>          The type of the decoded snapshot
+     * @param dataset      The dataset that has been modified
+     * @param loader       The loader whose snapshot should be updated
+     * @param modification Returns the snapshot with the change applied, either as a new immutable
+     *                     value or by changing a concurrently readable value in place
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void update(FilePathHandler dataset, DatasetLoader<T> loader, UnaryOperator<T> modification)
+    {
+        Map<DatasetLoader<?>, Snapshot<?>> entries = snapshots.get(dataset);
+        synchronized (entries)
+        {
+            Snapshot<T> snapshot = (Snapshot<T>) entries.get(loader);
+            entries.clear();
+            loads.get(dataset).clear();
+            if (snapshot == null)
+            {
+                return;
+            }
+            entries.put(loader, new Snapshot<>(FileStamp.of(dataset), modification.apply(snapshot.value)));
+        }
+    }
+
+    /**
+     * Discards every cached snapshot of a dataset so the next read reloads it. Loads
+     * already in progress are no longer shared or cached, since they may have read the
+     * file before it was modified; callers already waiting on them still get their result.
+     *
+     * @param dataset The dataset that has been modified
+     */
+    public void invalidate(FilePathHandler dataset)
+    {
+        Map<DatasetLoader<?>, Snapshot<?>> entries = snapshots.get(dataset);
+        synchronized (entries)
+        {
+            entries.clear();
+            loads.get(dataset).clear();
+        }
+    }
+
+    /**
+     * Discards every cached snapshot of a dataset so the next read goes back to the file,
+     * but keeps loads already in progress shared. Used when the user asks for a refresh:
+     * a load of the file as it is now is as good as a new one, so repeated refreshes wait
+     * for one load instead of stacking more. Writers must use {@link #invalidate} instead.
+     *
+     * @param dataset The dataset to re-read
+     */
+    public void refresh(FilePathHandler dataset)
+    {
+        Map<DatasetLoader<?>, Snapshot<?>> entries = snapshots.get(dataset);
+        synchronized (entries)
+        {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Discards every cached snapshot of every dataset.
+     */
+    public void invalidateAll()
+    {
+        for (FilePathHandler dataset : FilePathHandler.values())
+        {
+            invalidate(dataset);
+        }
+    }
+
+    /**
+     * @return Number of loads started since the application started
+     */
+    public long getLoadCount()
+    {
+        return loadCount.getCount();
+    }
+
+    /**
+     * @return Number of reads that shared a load already in progress instead of starting one
+     */
+    public long getCoalescedCount()
+    {
+        return coalescedCount.getCount();
+    }
+
+    /**
+     * Decodes the file behind a dataset into an in-memory snapshot.
+     *
+     * @param <T> The type of the decoded snapshot
+     */
+    @FunctionalInterface
+    public interface DatasetLoader<T>
+    {
+        /**
+         * Reads and decodes the file at the given path.
+         *
+         * @param filePath Normalised path of the dataset file
+         * @return The decoded snapshot
+         * @throws IOException if the file cannot be read or decoded
+         */
+        T load(String filePath) throws IOException;
+    }
+
+    /**
+     * A decoded value together with the file state it was decoded from.
+     *
+     * @param <T> The type of the decoded value
+     */
+    private static final class Snapshot<T>
+    {
+        private final FileStamp stamp;
+        private final T value;
+
+        private Snapshot(FileStamp stamp, T value)
+        {
+            this.stamp = stamp;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A load in progress, shared by every caller that reads the same file state.
+     *
+     * @param <T> The type of the decoded value
+     */
+    private static final class Load<T>
+    {
+        private final FileStamp stamp;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Load(FileStamp stamp)
+        {
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * Size and last-modified time of a dataset file and its journal, used to detect
+     * external changes.
+     */
+    private static final class FileStamp
+    {
+        private final long size;
+        private final long lastModified;
+        private final long journalSize;
+        private final long journalModified;
+
+        private FileStamp(long size, long lastModified, long journalSize, long journalModified)
+        {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.journalSize = journalSize;
+            this.journalModified = journalModified;
+        }
+
+        /**
+         * Reads the current stamp of a dataset file and its journal.
+         * A missing file yields zeros for that file.
+         *
+         * @param dataset The dataset to inspect
+         * @return The current stamp
+         */
+        private static FileStamp of(FilePathHandler dataset)
+        {
+            File file = new File(dataset.getNormalisedPath());
+            File journal = new File(dataset.getJournalPath());
+            return new FileStamp(file.length(), file.lastModified(), journal.length(), journal.lastModified());
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            FileStamp that = (FileStamp) o;
+            return size == that.size && lastModified == that.lastModified
+                    && journalSize == that.journalSize && journalModified == that.journalModified;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = Long.hashCode(size);
+            result = 31 * result + Long.hashCode(lastModified);
+            result = 31 * result + Long.hashCode(journalSize);
+            return 31 * result + Long.hashCode(journalModified);
+        }
+    }
+}
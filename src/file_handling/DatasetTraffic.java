@@ -0,0 +1,69 @@
+package file_handling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bytes read from and written to the files of one dataset, counting its journal.
+ */
+public final class DatasetTraffic implements DatasetTrafficMXBean
+{
+    /**
+     * Traffic variables:
+     * <ul>
+     *   <li>{@code reads} - Number of times a file was read</li>
+     *   <li>{@code bytesRead} - Bytes read in total</li>
+     *   <li>{@code writes} - Number of times a file was written</li>
+     *   <li>{@code bytesWritten} - Bytes written in total</li>
+     * </ul>
+     */
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    /**
+     * Records one read of a file.
+     *
+     * @param bytes Number of bytes read
+     */
+    public void recordRead(long bytes)
+    {
+        reads.increment();
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Records one write of a file.
+     *
+     * @param bytes Number of bytes written
+     */
+    public void recordWrite(long bytes)
+    {
+        writes.increment();
+        bytesWritten.add(bytes);
+    }
+
+    @Override
+    public long getReadCount()
+    {
+        return reads.sum();
+    }
+
+    @Override
+    public long getBytesRead()
+    {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getWriteCount()
+    {
+        return writes.sum();
+    }
+
+    @Override
+    public long getBytesWritten()
+    {
+        return bytesWritten.sum();
+    }
+}
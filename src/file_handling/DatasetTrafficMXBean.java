@@ -0,0 +1,27 @@
+package file_handling;
+
+/**
+ * The attributes of a dataset's traffic published over JMX by the {@link MetricsRegistry}.
+ */
+public interface DatasetTrafficMXBean
+{
+    /**
+     * @return Number of times a file of the dataset was read
+     */
+    long getReadCount();
+
+    /**
+     * @return Bytes read from the dataset's files in total
+     */
+    long getBytesRead();
+
+    /**
+     * @return Number of times a file of the dataset was written
+     */
+    long getWriteCount();
+
+    /**
+     * @return Bytes written to the dataset's files in total
+     */
+    long getBytesWritten();
+}
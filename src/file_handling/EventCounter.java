@@ -0,0 +1,26 @@
+package file_handling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many times something has happened.
+ * Increments from many threads do not contend with each other.
+ */
+public final class EventCounter implements EventCounterMXBean
+{
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Counts one event.
+     */
+    public void increment()
+    {
+        count.increment();
+    }
+
+    @Override
+    public long getCount()
+    {
+        return count.sum();
+    }
+}
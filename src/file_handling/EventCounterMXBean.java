@@ -0,0 +1,12 @@
+package file_handling;
+
+/**
+ * The attributes of a counter published over JMX by the {@link MetricsRegistry}.
+ */
+public interface EventCounterMXBean
+{
+    /**
+     * @return Number of events counted
+     */
+    long getCount();
+}
@@ -14,6 +14,9 @@ import java.io.File;
  *   <li>Course and department data</li>
  *   <li>Module information</li>
  *   <li>Assignment mappings</li>
+ *   <li>The module timetable</li>
+ *   <li>Cached staff avatars</li>
+ *   <li>The next free student and staff IDs</li>
  * </ul>
  */
 public enum FilePathHandler
@@ -51,7 +54,27 @@ public enum FilePathHandler
     /**
      * Path to the JSON file containing staff-module assignments
      */
-    ASSIGNED_STAFF_FILE("data/staff_module_assignments.json");
+    ASSIGNED_STAFF_FILE("data/staff_module_assignments.json"),
+
+    /**
+     * Path to the JSON file containing the timetable slot of each module
+     */
+    TIMETABLE_FILE("data/timetable.json"),
+
+    /**
+     * Path to the directory of downloaded staff avatar thumbnails
+     */
+    AVATAR_CACHE_DIR("data/avatar_cache"),
+
+    /**
+     * Path to the file holding the next unused student ID
+     */
+    STUDENT_ID_SEQUENCE("data/student_ids.seq"),
+
+    /**
+     * Path to the file holding the next unused staff ID
+     */
+    STAFF_ID_SEQUENCE("data/staff_ids.seq");
 
     /**
      * The file path stored for each enum constant
@@ -100,6 +123,17 @@ public enum FilePathHandler
         return path.replace("/", File.separator);
     }
 
+    /**
+     * Retrieves the path of the append-only journal kept alongside this file.
+     * The journal shares the file's name with a {@code .journal} extension in place of {@code .json}.
+     *
+     * @return The normalised journal path using system-specific separators
+     */
+    public String getJournalPath()
+    {
+        return getNormalisedPath().replaceFirst("\\.json$", "") + ".journal";
+    }
+
     /**
      * Creates a new file path by appending additional path components.
      * Joins the base path with additional components using the system's directory separator.
@@ -0,0 +1,179 @@
+package file_handling;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent sequence of record IDs, kept in a small file next to the data files.
+ * <p>
+ * The file holds the next unused ID. Reserving IDs locks the file, reads the value,
+ * writes it back advanced past the reservation and flushes it to disk, so the cost does
+ * not depend on the number of records and no ID is handed out twice, whether the callers
+ * are in the same process or in different ones. A reservation may cover a block of IDs
+ * for a bulk import. IDs only ever increase; IDs reserved but never used are skipped.
+ * <p>
+ * When the file does not exist yet, the sequence is started just after the highest ID
+ * in the dataset, which is the only time the dataset is read.
+ */
+public final class IdSequence
+{
+    /**
+     * Guards each sequence file within this process, keyed by absolute path.
+     * File locks are held by the whole process, so they cannot separate threads.
+     */
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Sequence variables:
+     * <ul>
+     *   <li>{@code path} - Absolute path of the sequence file</li>
+     *   <li>{@code seed} - Finds the first ID when the file does not exist yet</li>
+     * </ul>
+     */
+    private final Path path;
+    private final Seed seed;
+
+    /**
+     * Constructs a sequence stored in a file.
+     *
+     * @param dataset The file holding the sequence
+     * @param seed    Finds the first ID to hand out if the file does not exist yet
+     */
+    public IdSequence(FilePathHandler dataset, Seed seed)
+    {
+        this(Paths.get(dataset.getNormalisedPath()), seed);
+    }
+
+    /**
+     * Constructs a sequence stored in a file.
+     *
+     * @param path Path of the file holding the sequence
+     * @param seed Finds the first ID to hand out if the file does not exist yet
+     */
+    IdSequence(Path path, Seed seed)
+    {
+        this.path = path.toAbsolutePath();
+        this.seed = seed;
+    }
+
+    /**
+     * Reserves the next ID.
+     *
+     * @return An ID no other caller has been given
+     * @throws IOException if the sequence file cannot be read or written
+     */
+    public int next() throws IOException
+    {
+        return reserve(1);
+    }
+
+    /**
+     * Reserves a block of consecutive IDs.
+     *
+     * @param count Number of IDs to reserve
+     * @return The first ID of the block; the block runs to {@code first + count - 1}
+     * @throws IOException              if the sequence file cannot be read or written
+     * @throws IllegalArgumentException if the count is not positive
+     */
+    public int reserve(int count) throws IOException
+    {
+        if (count < 1)
+        {
+            throw new IllegalArgumentException("Cannot reserve " + count + " IDs");
+        }
+
+        synchronized (LOCKS.computeIfAbsent(path, key -> new Object()))
+        {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+            {
+                FileLock lock = channel.lock();
+                try
+                {
+                    int first = read(channel);
+                    if (first < 0)
+                    {
+                        first = seed.firstId();
+                    }
+                    if ((long) first + count > Integer.MAX_VALUE)
+                    {
+                        throw new IOException("ID sequence " + path + " is exhausted");
+                    }
+
+                    write(channel, first + count);
+                    return first;
+                }
+                finally
+                {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the next unused ID.
+     *
+     * @return The stored ID, or -1 if the file is new and empty
+     * @throws IOException if the file does not hold a number
+     */
+    private int read(FileChannel channel) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), 64));
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0)
+        {
+            // Keep reading until the whole value is in the buffer
+        }
+
+        String value = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).trim();
+        if (value.isEmpty())
+        {
+            return -1;
+        }
+        try
+        {
+            return Integer.parseInt(value);
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IOException("Corrupt ID sequence " + path + ": " + value, e);
+        }
+    }
+
+    /**
+     * Replaces the stored ID and flushes it to disk before any reserved ID is used.
+     * If a crash leaves the file empty, the sequence restarts after the highest ID in
+     * the dataset, so an ID already saved is still never handed out again.
+     */
+    private static void write(FileChannel channel, int nextId) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap((nextId + System.lineSeparator()).getBytes(StandardCharsets.US_ASCII));
+        channel.truncate(0);
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer, buffer.position());
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Finds the first ID of a new sequence.
+     */
+    @FunctionalInterface
+    public interface Seed
+    {
+        /**
+         * @return The first ID to hand out, normally one more than the highest ID in use
+         * @throws IOException if the dataset cannot be read
+         */
+        int firstId() throws IOException;
+    }
+}
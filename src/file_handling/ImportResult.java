@@ -0,0 +1,101 @@
+package file_handling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: the records that were saved and, for every record that
+ * was not, the reason it was rejected.
+ *
+ * @param <T> The type of record imported
+ */
+public final class ImportResult<T>
+{
+    private final List<T> imported = new ArrayList<>();
+    private final List<Rejection<T>> rejected = new ArrayList<>();
+
+    /**
+     * Records a record that was accepted for saving.
+     *
+     * @param record The accepted record
+     */
+    void addImported(T record)
+    {
+        imported.add(record);
+    }
+
+    /**
+     * Records a record that was rejected.
+     *
+     * @param record The rejected record
+     * @param reason Why the record was rejected
+     */
+    void addRejected(T record, String reason)
+    {
+        rejected.add(new Rejection<>(record, reason));
+    }
+
+    /**
+     * @return Unmodifiable list of saved records, in input order
+     */
+    public List<T> getImported()
+    {
+        return Collections.unmodifiableList(imported);
+    }
+
+    /**
+     * @return Unmodifiable list of rejected records with their reasons, in input order
+     */
+    public List<Rejection<T>> getRejected()
+    {
+        return Collections.unmodifiableList(rejected);
+    }
+
+    /**
+     * @return true if every record was saved
+     */
+    public boolean isComplete()
+    {
+        return rejected.isEmpty();
+    }
+
+    /**
+     * A record that was not imported, together with the reason.
+     *
+     * @param <T> The type of record imported
+     */
+    public static final class Rejection<T>
+    {
+        private final T record;
+        private final String reason;
+
+        private Rejection(T record, String reason)
+        {
+            this.record = record;
+            this.reason = reason;
+        }
+
+        /**
+         * @return The rejected record
+         */
+        public T getRecord()
+        {
+            return record;
+        }
+
+        /**
+         * @return Why the record was rejected
+         */
+        public String getReason()
+        {
+            return reason;
+        }
+
+        @Override
+        public String toString()
+        {
+            return record + ": " + reason;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package file_handling;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of record updates kept next to a JSON dataset file.
+ * Each update is written as one compact JSON line, so the cost of an edit depends
+ * only on the size of the edited record rather than on the size of the dataset.
+ * <p>
+ * Loaders read the base file and then replay the journal over it, with later
+ * lines replacing earlier records. Once the journal grows past
+ * {@link #COMPACTION_THRESHOLD} entries, a background task folds it back into
+ * the base file and deletes it.
+ *
+ * @param <T> The type of record stored in the journal
+ */
+public final class JsonJournal<T>
+{
+    /**
+     * Number of journal entries after which a compaction is scheduled
+     */
+    public static final int COMPACTION_THRESHOLD = 100;
+
+    /**
+     * Single background thread shared by all journals for compaction
+     */
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Journal instance variables:
+     * <ul>
+     *   <li>{@code journalPath} - Path of the journal file</li>
+     *   <li>{@code recordType} - Class of the records stored in the journal</li>
+     *   <li>{@code gson} - Converts records to and from JSON lines</li>
+     *   <li>{@code lock} - Serialises appends against base file rewrites; never held while replaying</li>
+     *   <li>{@code entryCount} - Entries written since the base file was last rewritten</li>
+     *   <li>{@code compactionPending} - Whether a compaction has been scheduled but not yet run</li>
+     * </ul>
+     */
+    private final String journalPath;
+    private final Class<T> recordType;
+    private final Gson gson;
+    private final Object lock = new Object();
+    private final AtomicInteger entryCount = new AtomicInteger();
+    private final AtomicBoolean compactionPending = new AtomicBoolean(false);
+
+    /**
+     * Constructs a journal for a dataset.
+     *
+     * @param dataset    The dataset whose updates are journalled
+     * @param recordType Class of the records stored in the journal
+     * @param gson       Converts records to and from JSON; should not pretty print
+     */
+    public JsonJournal(FilePathHandler dataset, Class<T> recordType, Gson gson)
+    {
+        this.journalPath = dataset.getJournalPath();
+        this.recordType = recordType;
+        this.gson = gson;
+    }
+
+    /**
+     * Checks whether the journal currently holds any entries on disk.
+     *
+     * @return true if the journal file exists
+     */
+    public boolean exists()
+    {
+        return new File(journalPath).exists();
+    }
+
+    /**
+     * Appends one record update to the journal.
+     *
+     * @param record The updated record
+     * @throws IOException if the journal cannot be written
+     */
+    public void append(T record) throws IOException
+    {
+        String line = gson.toJson(record, recordType) + System.lineSeparator();
+        synchronized (lock)
+        {
+            try (FileWriter writer = new FileWriter(journalPath, true))
+            {
+                writer.write(line);
+            }
+            entryCount.incrementAndGet();
+            MetricsRegistry.getInstance().recordWrite(journalPath, line.getBytes(Charset.defaultCharset()).length);
+        }
+    }
+
+    /**
+     * Replays every journalled record, oldest first.
+     * A final line that cannot be parsed is treated as a write interrupted by a crash
+     * and ignored; an unparseable line anywhere else is reported as an error.
+     *
+     * @param handler Receives each record in the order it was written
+     * @throws IOException if the journal cannot be read or is corrupt
+     */
+    public void replay(Consumer<? super T> handler) throws IOException
+    {
+        File file = new File(journalPath);
+        if (!file.exists())
+        {
+            return;
+        }
+
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file)))
+        {
+            MetricsRegistry.getInstance().recordRead(journalPath, file.length());
+            String line = reader.readLine();
+            while (line != null)
+            {
+                String next = reader.readLine();
+                if (!line.isBlank())
+                {
+                    try
+                    {
+                        handler.accept(gson.fromJson(line, recordType));
+                        count++;
+                    }
+                    catch (JsonParseException e)
+                    {
+                        if (next != null)
+                        {
+                            throw new IOException("Corrupt journal entry in " + journalPath + ": " + e.getMessage(), e);
+                        }
+                    }
+                }
+                line = next;
+            }
+        }
+
+        // Not under the lock: loaders replay while holding the repository lock
+        entryCount.accumulateAndGet(count, Math::max);
+    }
+
+    /**
+     * Rewrites the base file and empties the journal as one step, so that no
+     * append can land between the two.
+     *
+     * @param writeBase Writes the complete dataset to the base file
+     * @throws IOException if the base file cannot be written
+     */
+    public void rewriteBase(IOAction writeBase) throws IOException
+    {
+        synchronized (lock)
+        {
+            writeBase.run();
+            new File(journalPath).delete();
+            entryCount.set(0);
+        }
+    }
+
+    /**
+     * Schedules a background compaction if the journal has grown past the threshold.
+     * Compaction runs {@link #rewriteBase(IOAction)} with the given action, which
+     * should load the merged dataset and write it to the base file.
+     *
+     * @param compaction Loads the current dataset and writes it to the base file
+     */
+    public void compactIfNeeded(IOAction compaction)
+    {
+        if (entryCount.get() < COMPACTION_THRESHOLD)
+        {
+            return;
+        }
+
+        if (compactionPending.compareAndSet(false, true))
+        {
+            COMPACTOR.execute(() ->
+            {
+                try
+                {
+                    rewriteBase(compaction);
+                }
+                catch (IOException e)
+                {
+                    System.err.println("Error compacting journal " + journalPath + ": " + e.getMessage());
+                }
+                finally
+                {
+                    compactionPending.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * A file operation that may fail with an IOException.
+     */
+    @FunctionalInterface
+    public interface IOAction
+    {
+        void run() throws IOException;
+    }
+}
@@ -1,22 +1,34 @@
 package file_handling;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import file_handling.interfaces.IJsonProcessor;
 
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Processes JSON files using GSON library.
  * Handles both JSON arrays and objects at the root level.
+ * Files can either be read whole into a JSON tree with {@link #processFile()}, or
+ * streamed record by record with {@link #streamRecords(String, Class, Consumer)}.
  * This class is final to prevent further inheritance.
  */
 public final class JsonProcessor extends FileProcessor implements IJsonProcessor
 {
+    private static final LatencyTimer PROCESS_TIMER = MetricsRegistry.getInstance().timer("json.processFile");
+    private static final LatencyTimer STREAM_TIMER = MetricsRegistry.getInstance().timer("json.streamRecords");
+
     private JsonArray jsonArray;
     private JsonObject jsonObject;
     private final Gson gson;
@@ -28,9 +40,21 @@ public final class JsonProcessor extends FileProcessor implements IJsonProcessor
      * @param filePath Path to the JSON file to be processed
      */
     public JsonProcessor(String filePath)
+    {
+        this(filePath, new Gson());
+    }
+
+    /**
+     * Constructs a JsonProcessor that converts records with a custom Gson instance,
+     * for example one with a field naming strategy or registered type adapters.
+     *
+     * @param filePath Path to the JSON file to be processed
+     * @param gson     The Gson instance used to convert JSON elements to objects
+     */
+    public JsonProcessor(String filePath, Gson gson)
     {
         super(filePath);
-        this.gson = new Gson();
+        this.gson = gson;
     }
 
     /**
@@ -52,9 +76,17 @@ public final class JsonProcessor extends FileProcessor implements IJsonProcessor
     @Override
     public void processFile() throws IOException
     {
-        validateFile();
-        readFile();
-        parseContent();
+        long start = System.nanoTime();
+        try
+        {
+            validateFile();
+            readFile();
+            parseContent();
+        }
+        finally
+        {
+            PROCESS_TIMER.record(System.nanoTime() - start);
+        }
     }
 
     /**
@@ -72,31 +104,38 @@ public final class JsonProcessor extends FileProcessor implements IJsonProcessor
     }
 
     /**
-     * Reads the JSON file content and attempts to parse it as either
-     * a JSON array or object.
+     * Reads the JSON file content as either a JSON array or object.
+     * The file is parsed exactly once; the type of the root element decides which
+     * of the two it is stored as.
      *
-     * @throws IOException if file reading operations fail
+     * @throws IOException if file reading operations fail or the content is not an array or object
      */
     @Override
     public void readFile() throws IOException
     {
-        try (FileReader reader = new FileReader(filePath))
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath)))
         {
-            try
+            MetricsRegistry.getInstance().recordRead(filePath, new File(filePath).length());
+            JsonElement root = JsonParser.parseReader(reader);
+            if (root.isJsonArray())
             {
-                jsonArray = gson.fromJson(reader, JsonArray.class);
+                jsonArray = root.getAsJsonArray();
                 isArray = true;
             }
-            catch (JsonSyntaxException e)
+            else if (root.isJsonObject())
             {
-                reader.close();
-                try (FileReader newReader = new FileReader(filePath))
-                {
-                    jsonObject = gson.fromJson(newReader, JsonObject.class);
-                    isArray = false;
-                }
+                jsonObject = root.getAsJsonObject();
+                isArray = false;
+            }
+            else
+            {
+                throw new IOException("Root element must be a JSON array or object: " + filePath);
             }
         }
+        catch (JsonParseException e)
+        {
+            throw new IOException("Malformed JSON in " + filePath + ": " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -150,4 +189,91 @@ public final class JsonProcessor extends FileProcessor implements IJsonProcessor
     {
         return isArray;
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams the records of a JSON array straight from the file, one at a time.
+     * Only the current record is held in memory, so files of any size are decoded
+     * in a single pass.
+     *
+     * @param <T>       The type to convert each record to
+     * @param arrayName Name of the array member to stream when the root is an object
+     * @param classOfT  The class of type T
+     * @param handler   Receives each decoded record in file order
+     * @return true if an array was found and streamed, false if the root object has no such member
+     * @throws IOException if the file cannot be read or is malformed; exceptions thrown by the
+     *                     handler are passed on unchanged
+     */
+    @Override
+    public <T> boolean streamRecords(String arrayName, Class<T> classOfT, Consumer<? super T> handler)
+            throws IOException
+    {
+        validateFile();
+
+        long start = System.nanoTime();
+        boolean inHandler = false;
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(filePath))))
+        {
+            MetricsRegistry.getInstance().recordRead(filePath, new File(filePath).length());
+            JsonToken root = reader.peek();
+            if (root == JsonToken.BEGIN_OBJECT)
+            {
+                if (!moveToArrayMember(reader, arrayName))
+                {
+                    return false;
+                }
+            }
+            else if (root != JsonToken.BEGIN_ARRAY)
+            {
+                throw new IOException("Root element must be a JSON array or object: " + filePath);
+            }
+
+            reader.beginArray();
+            while (reader.hasNext())
+            {
+                T record = gson.fromJson(reader, classOfT);
+                inHandler = true;
+                handler.accept(record);
+                inHandler = false;
+            }
+            reader.endArray();
+            return true;
+        }
+        catch (JsonParseException | IllegalStateException e)
+        {
+            if (inHandler)
+            {
+                // A bug in the caller, not a problem with the file
+                throw e;
+            }
+            throw new IOException("Malformed JSON in " + filePath + ": " + e.getMessage(), e);
+        }
+        finally
+        {
+            STREAM_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Advances a reader positioned at the start of an object to the value of the
+     * named array member, skipping every member before it.
+     *
+     * @param reader    Reader positioned at the start of an object
+     * @param arrayName Name of the array member to find
+     * @return true if the reader is now positioned at the array, false if no such array exists
+     * @throws IOException if the file cannot be read
+     */
+    private boolean moveToArrayMember(JsonReader reader, String arrayName) throws IOException
+    {
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            if (name.equals(arrayName) && reader.peek() == JsonToken.BEGIN_ARRAY)
+            {
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,187 @@
+package file_handling;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long an operation takes and reports the count, mean, maximum and
+ * percentiles of the recorded times.
+ * <p>
+ * Times are counted in a fixed histogram of 488 buckets: exact below 8 ns, then eight
+ * buckets for every power of two, so a reported percentile is within 12.5% of the true
+ * value at any scale. Recording a time allocates nothing and takes no lock, so timers
+ * can stay on hot paths; the cost of reading the histogram falls on the reader.
+ * <p>
+ * Callers time an operation with {@link System#nanoTime()} and pass the difference to
+ * {@link #record(long)}, normally from a {@code finally} block.
+ */
+public final class LatencyTimer implements LatencyTimerMXBean
+{
+    /**
+     * Number of buckets for each power of two, and the values below which buckets are exact
+     */
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Number of buckets needed to cover every non-negative long
+     */
+    static final int BUCKET_COUNT = (62 - 2) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Timer variables:
+     * <ul>
+     *   <li>{@code buckets} - Number of times recorded in each bucket</li>
+     *   <li>{@code count} - Number of times recorded</li>
+     *   <li>{@code totalNanos} - Sum of the recorded times</li>
+     *   <li>{@code maxNanos} - Longest recorded time</li>
+     * </ul>
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records the time one operation took.
+     *
+     * @param nanos Time taken, in nanoseconds; negative times are counted as zero
+     */
+    public void record(long nanos)
+    {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        if (value > maxNanos.get())
+        {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Gets the time that a fraction of the recorded times did not exceed.
+     *
+     * @param fraction Fraction of the recorded times, from 0 to 1
+     * @return The percentile in nanoseconds, or 0 if nothing has been recorded
+     * @throws IllegalArgumentException if the fraction is outside 0 to 1
+     */
+    public long getPercentileNanos(double fraction)
+    {
+        if (!(fraction >= 0 && fraction <= 1))
+        {
+            throw new IllegalArgumentException("Percentile fraction must be between 0 and 1: " + fraction);
+        }
+
+        // Counted from the buckets themselves, so a concurrent record cannot push the rank past the end
+        long[] counts = new long[BUCKET_COUNT];
+        long recorded = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0)
+        {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            seen += counts[i];
+            if (seen >= rank)
+            {
+                return Math.min(upperBoundOf(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    @Override
+    public double getTotalMillis()
+    {
+        return totalNanos.sum() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMeanMillis()
+    {
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / recorded;
+    }
+
+    @Override
+    public double getMaxMillis()
+    {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis()
+    {
+        return getPercentileNanos(0.50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP95Millis()
+    {
+        return getPercentileNanos(0.95) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis()
+    {
+        return getPercentileNanos(0.99) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Finds the bucket a time falls in.
+     *
+     * @param nanos A non-negative time in nanoseconds
+     * @return Index of the bucket
+     */
+    static int bucketOf(long nanos)
+    {
+        if (nanos < SUB_BUCKETS)
+        {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - 2) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * @param bucket Index of a bucket
+     * @return The smallest time in the bucket, in nanoseconds
+     */
+    static long lowerBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+        {
+            return bucket;
+        }
+        int exponent = (bucket >>> SUB_BUCKET_BITS) + 2;
+        return (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @param bucket Index of a bucket
+     * @return The largest time in the bucket, in nanoseconds
+     */
+    static long upperBoundOf(int bucket)
+    {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : lowerBoundOf(bucket + 1) - 1;
+    }
+}
@@ -0,0 +1,42 @@
+package file_handling;
+
+/**
+ * The attributes of a timer published over JMX by the {@link MetricsRegistry}.
+ */
+public interface LatencyTimerMXBean
+{
+    /**
+     * @return Number of times recorded
+     */
+    long getCount();
+
+    /**
+     * @return Sum of the recorded times, in milliseconds
+     */
+    double getTotalMillis();
+
+    /**
+     * @return Mean of the recorded times, in milliseconds
+     */
+    double getMeanMillis();
+
+    /**
+     * @return Longest recorded time, in milliseconds
+     */
+    double getMaxMillis();
+
+    /**
+     * @return Median of the recorded times, in milliseconds
+     */
+    double getP50Millis();
+
+    /**
+     * @return 95th percentile of the recorded times, in milliseconds
+     */
+    double getP95Millis();
+
+    /**
+     * @return 99th percentile of the recorded times, in milliseconds
+     */
+    double getP99Millis();
+}
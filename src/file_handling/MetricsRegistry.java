@@ -0,0 +1,172 @@
+package file_handling;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the application's timers, counters and per-dataset file traffic.
+ * <p>
+ * Metrics are created on first use and looked up by name, so call sites on hot paths
+ * should keep the returned metric in a constant. Each metric is published as an MXBean
+ * named {@code chiuni:type=<Timer|Counter|Dataset>,name=<name>} on the platform MBean
+ * server, where JConsole, VisualVM or {@code jcmd} can watch it in a running application.
+ * If a metric cannot be published it is still recorded.
+ */
+public final class MetricsRegistry
+{
+    /**
+     * JMX domain the metrics are published under
+     */
+    static final String DOMAIN = "chiuni";
+
+    /**
+     * The single shared registry, published on the platform MBean server
+     */
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+
+    /**
+     * Registry variables:
+     * <ul>
+     *   <li>{@code server} - Where metrics are published</li>
+     *   <li>{@code timers} - Timers by name</li>
+     *   <li>{@code counters} - Counters by name</li>
+     *   <li>{@code traffic} - File traffic of each dataset that has been read or written</li>
+     *   <li>{@code datasetsByPath} - Each dataset by the absolute path of its file and of its journal</li>
+     * </ul>
+     */
+    private final MBeanServer server;
+    private final Map<String, LatencyTimer> timers = new ConcurrentHashMap<>();
+    private final Map<String, EventCounter> counters = new ConcurrentHashMap<>();
+    private final Map<FilePathHandler, DatasetTraffic> traffic = new ConcurrentHashMap<>();
+    private final Map<Path, FilePathHandler> datasetsByPath = new HashMap<>();
+
+    /**
+     * Constructs an empty registry.
+     *
+     * @param server Where metrics are published
+     */
+    MetricsRegistry(MBeanServer server)
+    {
+        this.server = server;
+        for (FilePathHandler dataset : FilePathHandler.values())
+        {
+            datasetsByPath.put(absolute(dataset.getNormalisedPath()), dataset);
+            datasetsByPath.put(absolute(dataset.getJournalPath()), dataset);
+        }
+    }
+
+    /**
+     * Gets the shared registry.
+     *
+     * @return The process-wide registry
+     */
+    public static MetricsRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets a timer, creating and publishing it the first time its name is used.
+     *
+     * @param name Name of the timed operation, such as {@code course.getAll}; must be valid
+     *             as an object name value, so letters, digits and dots are safest
+     * @return The timer shared by every caller using the name
+     */
+    public LatencyTimer timer(String name)
+    {
+        LatencyTimer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, key -> publish("Timer", key, new LatencyTimer()));
+    }
+
+    /**
+     * Gets a counter, creating and publishing it the first time its name is used.
+     *
+     * @param name Name of the counted event, such as {@code dataset.loads}
+     * @return The counter shared by every caller using the name
+     */
+    public EventCounter counter(String name)
+    {
+        EventCounter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> publish("Counter", key, new EventCounter()));
+    }
+
+    /**
+     * Gets the file traffic of a dataset, creating and publishing it on first use.
+     *
+     * @param dataset The dataset
+     * @return The dataset's traffic
+     */
+    public DatasetTraffic traffic(FilePathHandler dataset)
+    {
+        DatasetTraffic datasetTraffic = traffic.get(dataset);
+        return datasetTraffic != null ? datasetTraffic
+                : traffic.computeIfAbsent(dataset, key -> publish("Dataset", key.name(), new DatasetTraffic()));
+    }
+
+    /**
+     * Records a read of a file. Files that belong to no dataset are not recorded.
+     *
+     * @param filePath Path of the file or journal that was read
+     * @param bytes    Number of bytes read
+     */
+    public void recordRead(String filePath, long bytes)
+    {
+        FilePathHandler dataset = datasetsByPath.get(absolute(filePath));
+        if (dataset != null)
+        {
+            traffic(dataset).recordRead(bytes);
+        }
+    }
+
+    /**
+     * Records a write of a file. Files that belong to no dataset are not recorded.
+     *
+     * @param filePath Path of the file or journal that was written
+     * @param bytes    Number of bytes written
+     */
+    public void recordWrite(String filePath, long bytes)
+    {
+        FilePathHandler dataset = datasetsByPath.get(absolute(filePath));
+        if (dataset != null)
+        {
+            traffic(dataset).recordWrite(bytes);
+        }
+    }
+
+    /**
+     * Publishes a metric on the MBean server.
+     *
+     * @param type   The kind of metric, used in the object name
+     * @param name   Name of the metric
+     * @param metric The metric to publish
+     * @return The metric
+     */
+    private <M> M publish(String type, String name, M metric)
+    {
+        try
+        {
+            server.registerMBean(metric, new ObjectName(DOMAIN + ":type=" + type + ",name=" + name));
+        }
+        catch (JMException e)
+        {
+            // Not visible over JMX, but still recorded and readable in-process
+            System.err.println("Could not publish metric " + name + ": " + e.getMessage());
+        }
+        return metric;
+    }
+
+    /**
+     * @return The absolute form of a path, as used to look up datasets
+     */
+    private static Path absolute(String filePath)
+    {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+}
@@ -6,12 +6,17 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.JsonElement;
 import users.Staff;
 import users.Student;
+import users.User;
 
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class UserDataManager
 {
@@ -20,53 +25,226 @@ public class UserDataManager
             .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
             .create();
 
+    /**
+     * Hand out new student and staff IDs, starting after the highest ID in each file
+     */
+    private static final IdSequence STUDENT_IDS = new IdSequence(FilePathHandler.STUDENT_ID_SEQUENCE,
+            () -> nextAfterHighestId(FilePathHandler.STUDENTS_FILE, Student[].class));
+    private static final IdSequence STAFF_IDS = new IdSequence(FilePathHandler.STAFF_ID_SEQUENCE,
+            () -> nextAfterHighestId(FilePathHandler.STAFF_FILE, Staff[].class));
+
+    /**
+     * Reserves the ID for a new student without reading the students file.
+     *
+     * @return An ID no other student has or will be given
+     * @throws IOException if the ID sequence cannot be read or written
+     */
+    public static int nextStudentId() throws IOException
+    {
+        return STUDENT_IDS.next();
+    }
+
+    /**
+     * Reserves the ID for a new member of staff without reading the staff file.
+     *
+     * @return An ID no other member of staff has or will be given
+     * @throws IOException if the ID sequence cannot be read or written
+     */
+    public static int nextStaffId() throws IOException
+    {
+        return STAFF_IDS.next();
+    }
+
+    /**
+     * Reserves a block of consecutive student IDs for a bulk import.
+     *
+     * @param count Number of IDs to reserve
+     * @return The first ID of the block
+     * @throws IOException if the ID sequence cannot be read or written
+     */
+    public static int reserveStudentIds(int count) throws IOException
+    {
+        return STUDENT_IDS.reserve(count);
+    }
+
+    /**
+     * Reserves a block of consecutive staff IDs for a bulk import.
+     *
+     * @param count Number of IDs to reserve
+     * @return The first ID of the block
+     * @throws IOException if the ID sequence cannot be read or written
+     */
+    public static int reserveStaffIds(int count) throws IOException
+    {
+        return STAFF_IDS.reserve(count);
+    }
+
     public static void addStudent(Student newStudent) throws IOException
     {
         // Read existing students
-        JsonProcessor processor = new JsonProcessor(FilePathHandler.STUDENTS_FILE.getNormalisedPath());
-        processor.processFile();
-        JsonElement content = (JsonElement) processor.getJsonContent();
-
-        // Convert existing JSON to List of Students
-        List<Student> students = new ArrayList<>();
-        if (content.isJsonArray())
-        {
-            Student[] existingStudents = gson.fromJson(content, Student[].class);
-            students.addAll(Arrays.asList(existingStudents));
-        }
+        List<Student> students = readUsers(FilePathHandler.STUDENTS_FILE, Student[].class);
 
         // Add new student
         students.add(newStudent);
 
         // Write back to file
-        try (FileWriter writer = new FileWriter(FilePathHandler.STUDENTS_FILE.getNormalisedPath()))
-        {
-            gson.toJson(students, writer);
-        }
+        AtomicFileWriter.write(FilePathHandler.STUDENTS_FILE, writer -> gson.toJson(students, writer));
+        DataRepository.getInstance().invalidate(FilePathHandler.STUDENTS_FILE);
     }
 
     public static void addStaff(Staff newStaff) throws IOException
     {
         // Read existing staff
-        JsonProcessor processor = new JsonProcessor(FilePathHandler.STAFF_FILE.getNormalisedPath());
+        List<Staff> staffList = readUsers(FilePathHandler.STAFF_FILE, Staff[].class);
+
+        // Add new staff member
+        staffList.add(newStaff);
+
+        // Write back to file
+        AtomicFileWriter.write(FilePathHandler.STAFF_FILE, writer -> gson.toJson(staffList, writer));
+        DataRepository.getInstance().invalidate(FilePathHandler.STAFF_FILE);
+    }
+
+    /**
+     * Adds a batch of students with a single read and a single write of the students file.
+     * Each student is validated with the rules in {@link #validateUser(Object)} and must
+     * have an email address not already used by an existing or earlier student in the
+     * batch. Invalid students are reported in the result and do not stop the rest of
+     * the batch from being saved.
+     *
+     * @param newStudents The students to add
+     * @return The students that were saved and the reasons the others were rejected
+     * @throws IOException if the students file cannot be read or written
+     */
+    public static ImportResult<Student> addStudents(Collection<Student> newStudents) throws IOException
+    {
+        return addUsers(FilePathHandler.STUDENTS_FILE, Student[].class, newStudents, UserDataManager::studentKeys);
+    }
+
+    /**
+     * Adds a batch of staff with a single read and a single write of the staff file.
+     * Each staff member is validated with the rules in {@link #validateUser(Object)} and
+     * must have an email address and GUID not already used by an existing or earlier
+     * staff member in the batch. Invalid staff are reported in the result and do not
+     * stop the rest of the batch from being saved.
+     *
+     * @param newStaff The staff to add
+     * @return The staff that were saved and the reasons the others were rejected
+     * @throws IOException if the staff file cannot be read or written
+     */
+    public static ImportResult<Staff> addStaff(Collection<Staff> newStaff) throws IOException
+    {
+        return addUsers(FilePathHandler.STAFF_FILE, Staff[].class, newStaff, UserDataManager::staffKeys);
+    }
+
+    private static <T extends User> ImportResult<T> addUsers(FilePathHandler dataset, Class<T[]> arrayType,
+                                                             Collection<T> newUsers,
+                                                             Function<T, List<String>> uniqueKeys) throws IOException
+    {
+        List<T> users = readUsers(dataset, arrayType);
+        List<T> batch = new ArrayList<>(newUsers);
+
+        // Validation only looks at the record itself, so the batch is checked in parallel
+        List<String> errors = batch.parallelStream()
+                .map(UserDataManager::validationError)
+                .collect(Collectors.toList());
+
+        Set<String> usedKeys = new HashSet<>();
+        users.forEach(user -> usedKeys.addAll(uniqueKeys.apply(user)));
+
+        // Uniqueness is checked in input order so the first of two clashing records wins
+        ImportResult<T> result = new ImportResult<>();
+        for (int i = 0; i < batch.size(); i++)
+        {
+            T user = batch.get(i);
+            String error = errors.get(i);
+            List<String> keys = error == null ? uniqueKeys.apply(user) : List.of();
+            for (String key : keys)
+            {
+                if (error == null && usedKeys.contains(key))
+                {
+                    error = "Duplicate " + key;
+                }
+            }
+
+            if (error != null)
+            {
+                result.addRejected(user, error);
+                continue;
+            }
+            usedKeys.addAll(keys);
+            users.add(user);
+            result.addImported(user);
+        }
+
+        if (!result.getImported().isEmpty())
+        {
+            AtomicFileWriter.write(dataset, writer -> gson.toJson(users, writer));
+            DataRepository.getInstance().invalidate(dataset);
+        }
+        return result;
+    }
+
+    private static <T extends User> int nextAfterHighestId(FilePathHandler dataset, Class<T[]> arrayType)
+            throws IOException
+    {
+        return readUsers(dataset, arrayType).stream()
+                .mapToInt(User::getId)
+                .max()
+                .orElse(0) + 1;
+    }
+
+    private static <T extends User> List<T> readUsers(FilePathHandler dataset, Class<T[]> arrayType) throws IOException
+    {
+        JsonProcessor processor = new JsonProcessor(dataset.getNormalisedPath());
         processor.processFile();
         JsonElement content = (JsonElement) processor.getJsonContent();
 
-        // Convert existing JSON to List of Staff
-        List<Staff> staffList = new ArrayList<>();
+        List<T> users = new ArrayList<>();
         if (content.isJsonArray())
         {
-            Staff[] existingStaff = gson.fromJson(content, Staff[].class);
-            staffList.addAll(Arrays.asList(existingStaff));
+            users.addAll(Arrays.asList(gson.fromJson(content, arrayType)));
+        }
+        return users;
+    }
+
+    private static String validationError(User user)
+    {
+        if (user == null)
+        {
+            return "Record is missing";
         }
+        try
+        {
+            validateUser(user);
+            return null;
+        }
+        catch (IllegalArgumentException e)
+        {
+            return e.getMessage();
+        }
+    }
 
-        // Add new staff member
-        staffList.add(newStaff);
+    private static List<String> studentKeys(Student student)
+    {
+        List<String> keys = new ArrayList<>();
+        addKey(keys, "email", student.getEmail());
+        return keys;
+    }
 
-        // Write back to file
-        try (FileWriter writer = new FileWriter(FilePathHandler.STAFF_FILE.getNormalisedPath()))
+    private static List<String> staffKeys(Staff staff)
+    {
+        List<String> keys = new ArrayList<>();
+        addKey(keys, "email", staff.getEmail());
+        addKey(keys, "GUID", staff.getGuid());
+        return keys;
+    }
+
+    private static void addKey(List<String> keys, String label, String value)
+    {
+        if (!isNullOrEmpty(value))
         {
-            gson.toJson(staffList, writer);
+            keys.add(label + " " + value.trim().toLowerCase());
         }
     }
 
@@ -1,6 +1,8 @@
 package file_handling.interfaces;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface defining JSON-specific processing operations.
@@ -32,4 +34,21 @@ public interface IJsonProcessor extends IFileProcessor
      * @return true if the content is a JSON array, false if it's a JSON object
      */
     boolean isArrayContent();
-}
\ No newline at end of file
+
+    /**
+     * Streams the records of a JSON array straight from the file, one at a time,
+     * without building a tree of the whole document.
+     * If the root is an array its elements are streamed; if the root is an object
+     * the elements of its array member {@code arrayName} are streamed and all other
+     * members are skipped.
+     *
+     * @param <T>       The type to convert each record to
+     * @param arrayName Name of the array member to stream when the root is an object
+     * @param classOfT  The class of type T
+     * @param handler   Receives each decoded record in file order
+     * @return true if an array was found and streamed, false if the root object has no such member
+     * @throws IOException              if the file cannot be read or is malformed
+     * @throws IllegalArgumentException if the file is not a JSON file
+     */
+    <T> boolean streamRecords(String arrayName, Class<T> classOfT, Consumer<? super T> handler) throws IOException;
+}
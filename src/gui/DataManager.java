@@ -4,17 +4,24 @@ import business.Course;
 import business.Module;
 import business.StaffModuleAssignment;
 import business.StudentModuleAssignment;
+import file_handling.DataRepository;
+import file_handling.EventCounter;
 import file_handling.FilePathHandler;
+import file_handling.LatencyTimer;
+import file_handling.MetricsRegistry;
 import gui.panels.DepartmentPanel;
 import gui.panels.StaffListPanel;
 import gui.panels.StudentListPanel;
 import gui.templates.*;
+import users.Staff;
+import users.Student;
 
 import javax.swing.*;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -39,8 +46,22 @@ public class DataManager
     private final StaffListPanel staffListPanel;
     private final DepartmentPanel departmentPanel;
     private final ChiUniProgressBar progressBar;
-    private final AtomicInteger completedTasks;
-    private static final int TOTAL_OPERATIONS = 5; // Updated to include modules
+
+    /**
+     * Threads that run the stages of a full refresh, one for each stage that can run at once
+     */
+    private static final AtomicInteger REFRESH_THREADS = new AtomicInteger();
+    private static final ExecutorService REFRESH_POOL = Executors.newFixedThreadPool(4, runnable ->
+    {
+        Thread thread = new Thread(runnable, "data-refresh-" + REFRESH_THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Counts background refreshes that failed
+     */
+    private static final EventCounter REFRESH_FAILURES = MetricsRegistry.getInstance().counter("refresh.failures");
 
     public DataManager(StudentListPanel studentListPanel,
                        StaffListPanel staffListPanel,
@@ -51,7 +72,6 @@ public class DataManager
         this.staffListPanel = staffListPanel;
         this.departmentPanel = departmentPanel;
         this.progressBar = progressBar;
-        this.completedTasks = new AtomicInteger(0);
     }
 
     public void refreshSpecificData(DataType dataType)
@@ -59,6 +79,7 @@ public class DataManager
         progressBar.showProgress();
         String message = "Refreshing " + dataType.toString().toLowerCase() + " data...";
         progressBar.updateMessage(message);
+        LatencyTimer timer = MetricsRegistry.getInstance().timer("refresh." + dataType.toString().toLowerCase());
 
         SwingWorker<Void, String> worker = new SwingWorker<>()
         {
@@ -68,12 +89,15 @@ public class DataManager
                 try
                 {
                     publish(message);
+                    long start = System.nanoTime();
                     executeSpecificRefresh(dataType);
+                    timer.record(System.nanoTime() - start);
                     publish(dataType.toString().toLowerCase() + " refresh complete!");
                     Thread.sleep(500);
                 }
                 catch (Exception e)
                 {
+                    REFRESH_FAILURES.increment();
                     publish("Error refreshing " + dataType.toString().toLowerCase() + ": " + e.getMessage());
                 }
                 return null;
@@ -97,6 +121,28 @@ public class DataManager
         worker.execute();
     }
 
+    /**
+     * Redraws the panels showing data that was changed in the shared cache, such as by
+     * a save, without reloading it from disk. Data whose panels cannot be redrawn from
+     * the cache is refreshed as by {@link #refreshSpecificData(DataType)}.
+     * Must be called on the event dispatch thread.
+     *
+     * @param dataType The type of data that changed
+     */
+    public void showUpdatedData(DataType dataType)
+    {
+        switch (dataType)
+        {
+            case COURSES:
+            case MODULES:
+                departmentPanel.refreshData();
+                break;
+            default:
+                refreshSpecificData(dataType);
+                break;
+        }
+    }
+
     private void executeSpecificRefresh(DataType dataType) throws Exception
     {
         switch (dataType)
@@ -122,47 +168,78 @@ public class DataManager
         }
     }
 
-    private void refreshAll() throws Exception
+    /**
+     * Reloads every dataset and regenerates the module assignments.
+     * Files are read concurrently where nothing depends on them, assignments are
+     * generated only after the students, staff, courses and modules they are built from
+     * have been reloaded, and each panel is updated once at the end.
+     */
+    private void refreshAll()
     {
-        CountDownLatch latch = new CountDownLatch(TOTAL_OPERATIONS);
-        completedTasks.set(0);
-
-        executeWorker("Refreshing student data...",
-                studentListPanel::refreshData,
-                latch,
-                "student");
-
-        executeWorker("Refreshing staff data...",
-                staffListPanel::refreshData,
-                latch,
-                "staff");
-
-        executeWorker("Refreshing course data...",
-                this::refreshCourseData,
-                latch,
-                "course");
-
-        executeWorker("Refreshing module data...",
-                this::refreshModuleData,
-                latch,
-                "module");
-
-        executeWorker("Checking assignments...",
-                this::refreshAssignments,
-                latch,
-                "assignments");
+        DataRepository repository = DataRepository.getInstance();
+        RefreshScheduler scheduler = new RefreshScheduler(REFRESH_POOL)
+                .addStage("students", () ->
+                {
+                    repository.refresh(FilePathHandler.STUDENTS_FILE);
+                    Student.getByCourse("");
+                })
+                .addStage("staff", () ->
+                {
+                    repository.refresh(FilePathHandler.STAFF_FILE);
+                    Staff.getByDepartment("");
+                })
+                .addStage("courses", () ->
+                {
+                    repository.refresh(FilePathHandler.COURSES_FILE);
+                    Course.getAll();
+                })
+                .addStage("modules", () ->
+                {
+                    repository.refresh(FilePathHandler.MODULES_FILE);
+                    Module.getAll();
+                })
+                .addStage("student assignments", StudentModuleAssignment::generateInitialAssignments,
+                        "students", "courses", "modules")
+                .addStage("staff assignments", StaffModuleAssignment::generateInitialAssignments,
+                        "staff", "courses", "modules");
+
+        int totalStages = scheduler.getStageCount();
+        AtomicInteger completedStages = new AtomicInteger();
+        RefreshScheduler.Result result = scheduler.run(outcome ->
+        {
+            if (outcome.getError() != null)
+            {
+                progressBar.updateMessage("Error refreshing " + outcome.getName() + " data: "
+                        + outcome.getError().getMessage());
+            }
+            else
+            {
+                progressBar.updateMessage(String.format("Completed %d of %d operations...",
+                        completedStages.incrementAndGet(), totalStages));
+            }
+        });
 
-        latch.await();
+        System.out.println("Refreshed all data in " + result.describeTimings());
+        System.out.printf("Dataset loads: %d started, %d shared with a load in progress%n",
+                repository.getLoadCount(), repository.getCoalescedCount());
+        SwingUtilities.invokeLater(() ->
+        {
+            studentListPanel.reloadData();
+            staffListPanel.reloadData();
+            departmentPanel.refreshData();
+        });
     }
 
     private void refreshCourseData() throws IOException
     {
+        DataRepository.getInstance().refresh(FilePathHandler.COURSES_FILE);
         Course.getAll(); // Force reload course data
         SwingUtilities.invokeLater(departmentPanel::refreshData);
     }
 
     private void refreshModuleData() throws IOException
     {
+        DataRepository.getInstance().refresh(FilePathHandler.MODULES_FILE);
         Module.getAll(); // Force reload module data
         SwingUtilities.invokeLater(departmentPanel::refreshData);
     }
@@ -179,56 +256,6 @@ public class DataManager
         }
     }
 
-    private void executeWorker(String startMessage, WorkerOperation operation, CountDownLatch latch, String workerName)
-    {
-        SwingWorker<Void, String> worker = new SwingWorker<>()
-        {
-            @Override
-            protected Void doInBackground()
-            {
-                try
-                {
-                    publish(startMessage);
-                    operation.execute();
-                    publish(workerName + " data refresh complete!");
-                }
-                catch (Exception e)
-                {
-                    publish("Error refreshing " + workerName + " data: " + e.getMessage());
-                }
-                finally
-                {
-                    latch.countDown();
-                    updateProgress();
-                }
-                return null;
-            }
-
-            @Override
-            protected void process(List<String> chunks)
-            {
-                if (!chunks.isEmpty())
-                {
-                    progressBar.updateMessage(chunks.get(chunks.size() - 1));
-                }
-            }
-        };
-        worker.execute();
-    }
-
-    private void updateProgress()
-    {
-        int completed = completedTasks.incrementAndGet();
-        progressBar.updateMessage(String.format("Completed %d of %d operations...",
-                completed, TOTAL_OPERATIONS));
-    }
-
-    @FunctionalInterface
-    private interface WorkerOperation
-    {
-        void execute() throws Exception;
-    }
-
     // Add this method to DataManager class:
 
     /**
@@ -242,6 +269,7 @@ public class DataManager
             @Override
             protected Void doInBackground() throws Exception
             {
+                long start = System.nanoTime();
                 try
                 {
                     publish("Checking file system...");
@@ -262,10 +290,12 @@ public class DataManager
                     Module.getAll();
 
                     publish("Loading complete!");
+                    MetricsRegistry.getInstance().timer("refresh.initialise").record(System.nanoTime() - start);
                     Thread.sleep(500); // Brief pause to show completion message
                 }
                 catch (IOException e)
                 {
+                    REFRESH_FAILURES.increment();
                     publish("Error: " + e.getMessage());
                     System.err.println("Error checking/generating assignments: " + e.getMessage());
                 }
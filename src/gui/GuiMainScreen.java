@@ -230,6 +230,17 @@ public class GuiMainScreen implements UniversityManagementGui
         dataManager.refreshSpecificData(dataType);
     }
 
+    /**
+     * Redraws the panels showing data that was changed in the shared cache, such as by
+     * a save, without reloading it from disk.
+     *
+     * @param dataType The type of data that changed
+     */
+    public void showUpdatedData(DataManager.DataType dataType)
+    {
+        dataManager.showUpdatedData(dataType);
+    }
+
     /**
      * Makes the main application window visible.
      */
@@ -0,0 +1,322 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the stages of a data refresh in dependency order.
+ * <p>
+ * Stages form a directed acyclic graph: a stage starts as soon as every stage it
+ * depends on has finished, so independent stages run at the same time on the
+ * scheduler's executor. Every stage runs exactly once per {@link #run}. If a stage
+ * fails, the stages that depend on it are skipped and the rest carry on. A stage can
+ * only depend on stages added before it, so the graph can never contain a cycle.
+ */
+final class RefreshScheduler
+{
+    /**
+     * Scheduler variables:
+     * <ul>
+     *   <li>{@code executor} - Runs the stages</li>
+     *   <li>{@code stages} - Every stage by name, in the order they were added</li>
+     * </ul>
+     */
+    private final Executor executor;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    /**
+     * Constructs a scheduler with no stages.
+     *
+     * @param executor Runs the stages; needs a thread for each stage that can run at once
+     */
+    RefreshScheduler(Executor executor)
+    {
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a stage.
+     *
+     * @param name         Unique name of the stage, used in messages and timings
+     * @param action       The work the stage does
+     * @param dependencies Names of stages that must finish first; each must already have been added
+     * @return This scheduler, for chaining
+     * @throws IllegalArgumentException if the name is taken or a dependency has not been added
+     */
+    RefreshScheduler addStage(String name, StageAction action, String... dependencies)
+    {
+        if (stages.containsKey(name))
+        {
+            throw new IllegalArgumentException("Duplicate refresh stage: " + name);
+        }
+        for (String dependency : dependencies)
+        {
+            if (!stages.containsKey(dependency))
+            {
+                throw new IllegalArgumentException("Stage " + name + " depends on unknown stage " + dependency);
+            }
+        }
+        stages.put(name, new Stage(name, action, Arrays.asList(dependencies)));
+        return this;
+    }
+
+    /**
+     * @return Number of stages
+     */
+    int getStageCount()
+    {
+        return stages.size();
+    }
+
+    /**
+     * Runs every stage and waits for them all to finish.
+     *
+     * @param listener Told about each stage as it finishes, from the thread that ran it; may be null
+     * @return The outcome and timing of each stage
+     */
+    Result run(StageListener listener)
+    {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+
+        for (Stage stage : stages.values())
+        {
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[stage.dependencies.size()];
+            for (int i = 0; i < dependencies.length; i++)
+            {
+                dependencies[i] = futures.get(stage.dependencies.get(i));
+            }
+
+            CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                    .handleAsync((ignored, dependencyFailure) ->
+                    {
+                        Outcome outcome = dependencyFailure != null ? Outcome.skipped(stage.name) : stage.execute();
+                        outcomes.put(stage.name, outcome);
+                        if (listener != null)
+                        {
+                            listener.stageFinished(outcome);
+                        }
+                        if (!outcome.isSuccessful())
+                        {
+                            // Fails the future so that dependent stages are skipped
+                            throw new CompletionException(outcome.getError());
+                        }
+                        return null;
+                    }, executor);
+            futures.put(stage.name, future);
+        }
+
+        List<Outcome> ordered = new ArrayList<>();
+        for (Stage stage : stages.values())
+        {
+            futures.get(stage.name).handle((ignored, failure) -> null).join();
+            ordered.add(outcomes.get(stage.name));
+        }
+        return new Result(ordered, System.nanoTime() - start);
+    }
+
+    /**
+     * The work done by one stage.
+     */
+    @FunctionalInterface
+    interface StageAction
+    {
+        /**
+         * Runs the stage.
+         *
+         * @throws Exception if the stage fails
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * Receives stage outcomes as a refresh progresses.
+     */
+    @FunctionalInterface
+    interface StageListener
+    {
+        /**
+         * Called once for every stage, including failed and skipped ones.
+         *
+         * @param outcome The stage's outcome
+         */
+        void stageFinished(Outcome outcome);
+    }
+
+    /**
+     * A named stage and the stages it waits for.
+     */
+    private static final class Stage
+    {
+        private final String name;
+        private final StageAction action;
+        private final List<String> dependencies;
+
+        private Stage(String name, StageAction action, List<String> dependencies)
+        {
+            this.name = name;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+
+        private Outcome execute()
+        {
+            long start = System.nanoTime();
+            try
+            {
+                action.run();
+                return new Outcome(name, System.nanoTime() - start, null, false);
+            }
+            catch (Exception e)
+            {
+                return new Outcome(name, System.nanoTime() - start, e, false);
+            }
+        }
+    }
+
+    /**
+     * How one stage of a refresh went.
+     */
+    static final class Outcome
+    {
+        private final String name;
+        private final long elapsedNanos;
+        private final Exception error;
+        private final boolean skipped;
+
+        private Outcome(String name, long elapsedNanos, Exception error, boolean skipped)
+        {
+            this.name = name;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+            this.skipped = skipped;
+        }
+
+        private static Outcome skipped(String name)
+        {
+            return new Outcome(name, 0, null, true);
+        }
+
+        /**
+         * @return The stage name
+         */
+        String getName()
+        {
+            return name;
+        }
+
+        /**
+         * @return Time the stage took to run, in nanoseconds; 0 if it was skipped
+         */
+        long getElapsedNanos()
+        {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return The exception the stage failed with, or null
+         */
+        Exception getError()
+        {
+            return error;
+        }
+
+        /**
+         * @return true if the stage did not run because a stage it depends on failed
+         */
+        boolean isSkipped()
+        {
+            return skipped;
+        }
+
+        /**
+         * @return true if the stage ran without failing
+         */
+        boolean isSuccessful()
+        {
+            return error == null && !skipped;
+        }
+    }
+
+    /**
+     * Outcome of a whole refresh.
+     */
+    static final class Result
+    {
+        private final List<Outcome> outcomes;
+        private final long elapsedNanos;
+
+        private Result(List<Outcome> outcomes, long elapsedNanos)
+        {
+            this.outcomes = Collections.unmodifiableList(outcomes);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return The outcome of every stage, in the order the stages were added
+         */
+        List<Outcome> getOutcomes()
+        {
+            return outcomes;
+        }
+
+        /**
+         * @return Time from the start of the refresh until every stage had finished, in nanoseconds
+         */
+        long getElapsedNanos()
+        {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return true if every stage ran without failing
+         */
+        boolean isSuccessful()
+        {
+            for (Outcome outcome : outcomes)
+            {
+                if (!outcome.isSuccessful())
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return One-line summary of the total time and the time of each stage
+         */
+        String describeTimings()
+        {
+            StringBuilder summary = new StringBuilder(String.format("%d ms (", elapsedNanos / 1_000_000));
+            for (int i = 0; i < outcomes.size(); i++)
+            {
+                Outcome outcome = outcomes.get(i);
+                summary.append(i > 0 ? ", " : "").append(outcome.getName()).append(' ');
+                if (outcome.isSkipped())
+                {
+                    summary.append("skipped");
+                }
+                else
+                {
+                    summary.append(outcome.getElapsedNanos() / 1_000_000).append(" ms");
+                    if (outcome.getError() != null)
+                    {
+                        summary.append(" failed");
+                    }
+                }
+            }
+            return summary.append(')').toString();
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package gui.components;
+
+import file_handling.FilePathHandler;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Loads staff avatars in the background so that the staff directory never waits on the network.
+ * <p>
+ * A caller is given the default avatar straight away and the image is fetched on a small
+ * fixed pool of threads. Thumbnails are scaled once to {@link #THUMBNAIL_SIZE} pixels and
+ * kept in two caches: an in-memory LRU for the session and a directory on disk, keyed by
+ * a hash of the URL, that survives restarts. Requests for a URL that is already being
+ * fetched share that fetch. A URL that cannot be loaded shows the default avatar and is
+ * not cached; it is tried again after a delay that doubles with each failure, so a
+ * server that was briefly unreachable is recovered from without fetching a broken URL
+ * on every refresh.
+ */
+public final class AvatarService
+{
+    /**
+     * Width and height of avatar thumbnails, in pixels
+     */
+    public static final int THUMBNAIL_SIZE = 50;
+
+    /**
+     * Number of avatars fetched at the same time
+     */
+    private static final int FETCH_THREADS = 4;
+
+    /**
+     * Number of thumbnails kept in memory
+     */
+    private static final int MEMORY_CAPACITY = 500;
+
+    /**
+     * Connect and read timeout for avatar downloads, in milliseconds
+     */
+    private static final int TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Delay before retrying an avatar that failed to load, and the most it doubles to,
+     * in milliseconds
+     */
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 10 * 60_000;
+
+    /**
+     * Shown while an avatar loads and in place of avatars that cannot be loaded
+     */
+    private static final ImageIcon DEFAULT_AVATAR = createDefaultAvatar();
+
+    private static final AvatarService INSTANCE = new AvatarService(
+            Paths.get(FilePathHandler.AVATAR_CACHE_DIR.getNormalisedPath()), MEMORY_CAPACITY, FETCH_THREADS,
+            RETRY_DELAY_MILLIS);
+
+    /**
+     * Service instance variables:
+     * <ul>
+     *   <li>{@code cacheDirectory} - Directory of thumbnails saved as PNG files</li>
+     *   <li>{@code memoryCache} - Most recently used thumbnails by URL, guarded by itself</li>
+     *   <li>{@code inFlight} - Fetches in progress by URL</li>
+     *   <li>{@code failures} - Avatars that failed to load by URL, until they load</li>
+     *   <li>{@code retryDelayMillis} - Delay before the first retry of a failed avatar</li>
+     *   <li>{@code fetchPool} - Threads that read and download avatars</li>
+     *   <li>{@code downloadCount} - Number of avatars downloaded, for tests</li>
+     * </ul>
+     */
+    private final Path cacheDirectory;
+    private final Map<String, ImageIcon> memoryCache;
+    private final Map<String, CompletableFuture<ImageIcon>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+    private final long retryDelayMillis;
+    private final ExecutorService fetchPool;
+    private final AtomicLong downloadCount = new AtomicLong();
+
+    /**
+     * Constructs a service with its own caches and threads.
+     *
+     * @param cacheDirectory   Directory to keep thumbnails in; created when first needed
+     * @param memoryCapacity   Number of thumbnails to keep in memory
+     * @param fetchThreads     Number of avatars to fetch at the same time
+     * @param retryDelayMillis Delay before retrying an avatar that failed to load
+     */
+    AvatarService(Path cacheDirectory, int memoryCapacity, int fetchThreads, long retryDelayMillis)
+    {
+        this.cacheDirectory = cacheDirectory;
+        this.retryDelayMillis = retryDelayMillis;
+        this.memoryCache = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImageIcon> eldest)
+            {
+                return size() > memoryCapacity;
+            }
+        };
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.fetchPool = Executors.newFixedThreadPool(fetchThreads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "avatar-fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return The service shared by every panel
+     */
+    public static AvatarService getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The avatar shown while loading and for staff without an avatar
+     */
+    public static ImageIcon getDefaultAvatar()
+    {
+        return DEFAULT_AVATAR;
+    }
+
+    /**
+     * Gets an avatar without blocking: a cached thumbnail, or the default avatar while
+     * the image is fetched in the background. Only call this for avatars about to be
+     * shown, so that images off screen are never downloaded or decoded.
+     *
+     * @param url      URL of the avatar image; null or empty gives the default avatar
+     * @param onLoaded Called on the event dispatch thread with the thumbnail once it
+     *                 arrives; not called if a cached thumbnail is returned
+     * @return The icon to show now
+     */
+    public ImageIcon getIcon(String url, Consumer<ImageIcon> onLoaded)
+    {
+        if (url == null || url.isEmpty())
+        {
+            return DEFAULT_AVATAR;
+        }
+
+        ImageIcon cached = getCached(url);
+        if (cached != null)
+        {
+            return cached;
+        }
+        if (isWaitingToRetry(url))
+        {
+            return DEFAULT_AVATAR;
+        }
+        fetch(url).thenAccept(icon -> SwingUtilities.invokeLater(() -> onLoaded.accept(icon)));
+        return DEFAULT_AVATAR;
+    }
+
+    /**
+     * Gets the thumbnail for a URL from memory, the disk cache or the network, in that order.
+     *
+     * @param url URL of the avatar image
+     * @return Completes with the thumbnail, or the default avatar if it cannot be loaded
+     *         or failed too recently to be tried again
+     */
+    CompletableFuture<ImageIcon> fetch(String url)
+    {
+        ImageIcon cached = getCached(url);
+        if (cached != null)
+        {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (isWaitingToRetry(url))
+        {
+            return CompletableFuture.completedFuture(DEFAULT_AVATAR);
+        }
+
+        CompletableFuture<ImageIcon> future = new CompletableFuture<>();
+        CompletableFuture<ImageIcon> existing = inFlight.putIfAbsent(url, future);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        fetchPool.execute(() ->
+        {
+            // The thumbnail is in memory before the fetch is forgotten, so no request can miss both
+            ImageIcon icon = load(url);
+            inFlight.remove(url, future);
+            future.complete(icon);
+        });
+        return future;
+    }
+
+    /**
+     * @return Number of avatars downloaded by this service
+     */
+    long getDownloadCount()
+    {
+        return downloadCount.get();
+    }
+
+    private ImageIcon getCached(String url)
+    {
+        synchronized (memoryCache)
+        {
+            return memoryCache.get(url);
+        }
+    }
+
+    /**
+     * @return true if the avatar failed to load and its retry delay has not yet passed
+     */
+    private boolean isWaitingToRetry(String url)
+    {
+        Failure failure = failures.get(url);
+        return failure != null && System.nanoTime() - failure.retryAtNanos < 0;
+    }
+
+    /**
+     * Loads a thumbnail from the disk cache or downloads it, and keeps it in memory.
+     * A failure is not kept in memory, only noted so the URL is retried later.
+     * Runs on the fetch pool.
+     */
+    private ImageIcon load(String url)
+    {
+        Path cacheFile = cacheDirectory.resolve(cacheKey(url) + ".png");
+        ImageIcon icon;
+        try
+        {
+            BufferedImage thumbnail = readCacheFile(cacheFile);
+            if (thumbnail == null)
+            {
+                thumbnail = scale(download(url));
+                writeCacheFile(cacheFile, thumbnail);
+            }
+            icon = new ImageIcon(thumbnail);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            // Only one fetch of a URL runs at a time, so the previous failure cannot change under us
+            Failure previous = failures.get(url);
+            failures.put(url, new Failure(previous != null ? previous.attempts + 1 : 1));
+            return DEFAULT_AVATAR;
+        }
+
+        failures.remove(url);
+        synchronized (memoryCache)
+        {
+            memoryCache.put(url, icon);
+        }
+        return icon;
+    }
+
+    private BufferedImage download(String url) throws IOException
+    {
+        downloadCount.incrementAndGet();
+        URLConnection connection = new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        try (InputStream in = connection.getInputStream())
+        {
+            BufferedImage image = ImageIO.read(in);
+            if (image == null)
+            {
+                throw new IOException("Not an image: " + url);
+            }
+            return image;
+        }
+        finally
+        {
+            if (connection instanceof HttpURLConnection)
+            {
+                ((HttpURLConnection) connection).disconnect();
+            }
+        }
+    }
+
+    /**
+     * Reads a cached thumbnail, treating a missing or unreadable file as a miss.
+     */
+    private static BufferedImage readCacheFile(Path cacheFile)
+    {
+        if (!Files.exists(cacheFile))
+        {
+            return null;
+        }
+        try
+        {
+            return ImageIO.read(cacheFile.toFile());
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Saves a thumbnail through a temporary file, so a partly written file is never read.
+     * Failing to save only costs a download next session.
+     */
+    private void writeCacheFile(Path cacheFile, BufferedImage thumbnail)
+    {
+        try
+        {
+            Files.createDirectories(cacheDirectory);
+            Path temp = Files.createTempFile(cacheDirectory, ".avatar", ".tmp");
+            try
+            {
+                ImageIO.write(thumbnail, "png", temp.toFile());
+                try
+                {
+                    Files.move(temp, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch (AtomicMoveNotSupportedException e)
+                {
+                    Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            finally
+            {
+                Files.deleteIfExists(temp);
+            }
+        }
+        catch (IOException e)
+        {
+            System.err.println("Error caching avatar: " + e.getMessage());
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image)
+    {
+        BufferedImage thumbnail = new BufferedImage(THUMBNAIL_SIZE, THUMBNAIL_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = thumbnail.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, THUMBNAIL_SIZE, THUMBNAIL_SIZE, null);
+        g2d.dispose();
+        return thumbnail;
+    }
+
+    /**
+     * @return Hex SHA-256 of the URL, safe to use as a file name
+     */
+    private static String cacheKey(String url)
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (byte b : hash)
+            {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * An avatar that failed to load, and when it may be tried again.
+     */
+    private final class Failure
+    {
+        /**
+         * Failure variables:
+         * <ul>
+         *   <li>{@code attempts} - Number of failed attempts in a row</li>
+         *   <li>{@code retryAtNanos} - {@link System#nanoTime()} after which to retry</li>
+         * </ul>
+         */
+        private final int attempts;
+        private final long retryAtNanos;
+
+        private Failure(int attempts)
+        {
+            this.attempts = attempts;
+            long delayMillis = retryDelayMillis << Math.min(attempts - 1, 20);
+            this.retryAtNanos = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(Math.min(delayMillis, MAX_RETRY_DELAY_MILLIS));
+        }
+    }
+
+    private static ImageIcon createDefaultAvatar()
+    {
+        BufferedImage defaultImage = new BufferedImage(THUMBNAIL_SIZE, THUMBNAIL_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = defaultImage.createGraphics();
+
+        g2d.setColor(new Color(70, 130, 180)); // Match ChiUniButton color
+        g2d.fillRect(0, 0, THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(new Font("Arial", Font.BOLD, 20));
+        FontMetrics metrics = g2d.getFontMetrics();
+        g2d.drawString("?", (THUMBNAIL_SIZE - metrics.stringWidth("?")) / 2,
+                (THUMBNAIL_SIZE - metrics.getHeight()) / 2 + metrics.getAscent());
+
+        g2d.dispose();
+        return new ImageIcon(defaultImage);
+    }
+}
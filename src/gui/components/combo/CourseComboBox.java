@@ -1,30 +1,22 @@
 package gui.components.combo;
 
-import business.Course;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import file_handling.FilePathHandler;
-import file_handling.JsonProcessor;
 import gui.templates.ChiUniComboBox;
 
+import javax.swing.*;
 import java.awt.*;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Specialized combo box for selecting courses.
- * Handles loading course data from JSON and provides convenient access methods.
+ * Shows the titles of the shared course snapshot and provides convenient access methods.
  */
 public class CourseComboBox extends ChiUniComboBox<String>
 {
     private static final int PREFERRED_WIDTH = 300; // Increased width for better visibility
-    private List<Course> availableCourses;
 
     public CourseComboBox()
     {
         super();
-        this.availableCourses = new ArrayList<>();
         setToolTipText("Select a course");
 
         // Set preferred size while maintaining the height from ChiUniComboBox
@@ -39,43 +31,27 @@ public class CourseComboBox extends ChiUniComboBox<String>
     }
 
     /**
-     * Loads courses from the JSON file and populates the combo box.
+     * Shows the titles of the current course snapshot.
+     * The titles are shared with every other course combo box and are only rebuilt
+     * when the courses file has been reloaded.
      */
     public void loadCourses()
     {
         try
         {
-            JsonProcessor processor = new JsonProcessor(FilePathHandler.COURSES_FILE.getNormalisedPath());
-            processor.processFile();
-            JsonObject jsonObject = (JsonObject) processor.getJsonContent();
-
-            JsonArray coursesArray = jsonObject.getAsJsonArray("courses");
-            if (coursesArray != null && coursesArray.size() > 0)
-            {
-                removeAllItems();
-                for (int i = 0; i < coursesArray.size(); i++)
-                {
-                    JsonObject courseObj = coursesArray.get(i).getAsJsonObject();
-                    String courseName = courseObj.get("name").getAsString();
-                    if (courseName != null && !courseName.trim().isEmpty())
-                    {
-                        addItem(courseName);
-                    }
-                }
-
-                if (getItemCount() > 0)
-                {
-                    setSelectedIndex(0);
-                }
-            }
-            else
+            CourseTitles titles = CourseTitles.getCurrent();
+            if (titles.size() == 0)
             {
                 throw new IOException("No courses found in the courses file");
             }
+
+            setModel(titles.newModel());
+            setPrototypeDisplayValue(titles.getPrototype(this)); // Widest title, measured once per snapshot
+            setEnabled(true);
         }
         catch (IOException e)
         {
-            addItem("No courses available");
+            setModel(new DefaultComboBoxModel<>(new String[]{"No courses available"}));
             setEnabled(false);
         }
     }
@@ -99,30 +75,4 @@ public class CourseComboBox extends ChiUniComboBox<String>
     {
         setSelectedItem(courseName);
     }
-
-    @Override
-    public void addItem(String item)
-    {
-        super.addItem(item);
-        // Ensure popup width is updated when new items are added
-        revalidatePopupWidth();
-    }
-
-    private void revalidatePopupWidth()
-    {
-        // Force the popup to be at least as wide as the combo box
-        if (getItemCount() > 0)
-        {
-            setPrototypeDisplayValue(getItemAt(0));
-            for (int i = 1; i < getItemCount(); i++)
-            {
-                String item = getItemAt(i);
-                if (getFontMetrics(getFont()).stringWidth(item) >
-                        getFontMetrics(getFont()).stringWidth(getPrototypeDisplayValue()))
-                {
-                    setPrototypeDisplayValue(item);
-                }
-            }
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package gui.components.combo;
+
+import business.Course;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable list of course titles shared by every {@link CourseComboBox}.
+ * <p>
+ * The titles are taken from the shared course snapshot and rebuilt only when the
+ * courses file has been reloaded, so opening a dialog neither parses the file nor
+ * adds items one at a time. The widest title, which sizes the popup, is measured once
+ * per snapshot. A combo box model also holds the selected item, so each combo box gets
+ * its own {@link #newModel() model} over the shared titles rather than sharing one.
+ */
+final class CourseTitles
+{
+    /**
+     * The titles built from the most recent course snapshot
+     */
+    private static volatile CourseTitles current;
+
+    /**
+     * Title list variables:
+     * <ul>
+     *   <li>{@code courses} - The course snapshot the titles were built from</li>
+     *   <li>{@code titles} - Non-blank course titles, in file order</li>
+     *   <li>{@code prototypeFont} - Font the prototype was measured in, guarded by this</li>
+     *   <li>{@code prototype} - The widest title in that font, guarded by this</li>
+     * </ul>
+     */
+    private final List<Course> courses;
+    private final String[] titles;
+    private Font prototypeFont;
+    private String prototype;
+
+    /**
+     * Builds the titles of a course snapshot.
+     *
+     * @param courses Every loaded course
+     */
+    CourseTitles(List<Course> courses)
+    {
+        this.courses = courses;
+
+        List<String> names = new ArrayList<>(courses.size());
+        for (Course course : courses)
+        {
+            String title = course.getCourseTitle();
+            if (title != null && !title.trim().isEmpty())
+            {
+                names.add(title);
+            }
+        }
+        this.titles = names.toArray(new String[0]);
+    }
+
+    /**
+     * Gets the titles of the current course snapshot, building them only if the
+     * courses have been reloaded since the titles were last built.
+     *
+     * @return The shared titles
+     * @throws IOException if the courses file cannot be read
+     */
+    static CourseTitles getCurrent() throws IOException
+    {
+        List<Course> courses = Course.getAll();
+        CourseTitles titles = current;
+        if (titles == null || titles.courses != courses)
+        {
+            titles = new CourseTitles(courses);
+            current = titles;
+        }
+        return titles;
+    }
+
+    /**
+     * @return Number of titles
+     */
+    int size()
+    {
+        return titles.length;
+    }
+
+    /**
+     * @param index Position of the title
+     * @return The title
+     */
+    String get(int index)
+    {
+        return titles[index];
+    }
+
+    /**
+     * Gets the widest title, measured in a component's font the first time it is asked for.
+     *
+     * @param component The component that will show the titles
+     * @return The widest title, or null if there are none
+     */
+    synchronized String getPrototype(Component component)
+    {
+        Font font = component.getFont();
+        if (titles.length > 0 && (prototype == null || !font.equals(prototypeFont)))
+        {
+            FontMetrics metrics = component.getFontMetrics(font);
+            String widest = titles[0];
+            int widestWidth = metrics.stringWidth(widest);
+            for (int i = 1; i < titles.length; i++)
+            {
+                int width = metrics.stringWidth(titles[i]);
+                if (width > widestWidth)
+                {
+                    widest = titles[i];
+                    widestWidth = width;
+                }
+            }
+            prototype = widest;
+            prototypeFont = font;
+        }
+        return prototype;
+    }
+
+    /**
+     * Creates a model over the shared titles with its own selection, starting on the first title.
+     *
+     * @return A new model; it cannot be modified
+     */
+    ComboBoxModel<String> newModel()
+    {
+        return new Model();
+    }
+
+    /**
+     * Read-only view of the titles that only keeps track of the selection.
+     */
+    private final class Model extends AbstractListModel<String> implements ComboBoxModel<String>
+    {
+        private Object selectedItem = titles.length > 0 ? titles[0] : null;
+
+        @Override
+        public int getSize()
+        {
+            return titles.length;
+        }
+
+        @Override
+        public String getElementAt(int index)
+        {
+            return titles[index];
+        }
+
+        @Override
+        public void setSelectedItem(Object item)
+        {
+            if (item == null ? selectedItem != null : !item.equals(selectedItem))
+            {
+                selectedItem = item;
+                fireContentsChanged(this, -1, -1);
+            }
+        }
+
+        @Override
+        public Object getSelectedItem()
+        {
+            return selectedItem;
+        }
+    }
+}
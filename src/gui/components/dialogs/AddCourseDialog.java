@@ -1,6 +1,8 @@
 package gui.components.dialogs;
 
 import com.google.gson.*;
+import file_handling.AtomicFileWriter;
+import file_handling.DataRepository;
 import file_handling.FilePathHandler;
 import file_handling.JsonProcessor;
 import business.DepartmentId;
@@ -12,7 +14,6 @@ import gui.components.combo.DepartmentComboBox;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Random;
@@ -221,10 +222,8 @@ public class AddCourseDialog extends ChiUniDialog
 
             // Write back to file
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            try (FileWriter writer = new FileWriter(FilePathHandler.COURSES_FILE.getNormalisedPath()))
-            {
-                gson.toJson(jsonObject, writer);
-            }
+            AtomicFileWriter.write(FilePathHandler.COURSES_FILE, writer -> gson.toJson(jsonObject, writer));
+            DataRepository.getInstance().invalidate(FilePathHandler.COURSES_FILE);
 
             showSuccess("Course saved successfully!");
             mainScreen.refreshSpecificData(DataManager.DataType.COURSES);
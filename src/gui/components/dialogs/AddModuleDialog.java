@@ -1,12 +1,9 @@
 package gui.components.dialogs;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import file_handling.FilePathHandler;
-import file_handling.JsonProcessor;
+import business.Department;
 import business.DepartmentId;
+import business.Module;
+import business.ModuleCodeAllocator;
 import business.Course;
 import file_handling.validation.AcademicYearFilter;
 import gui.DataManager;
@@ -18,7 +15,6 @@ import gui.components.combo.DepartmentComboBox;
 import javax.swing.*;
 import javax.swing.text.AbstractDocument;
 import java.awt.*;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
@@ -140,51 +136,15 @@ public class AddModuleDialog extends ChiUniDialog
     {
         try
         {
-            String newCode = generateUniqueCode();
+            String newCode = ModuleCodeAllocator.getInstance().allocate(acYearField.getText());
             codeField.setText(newCode);
         }
-        catch (IOException e)
+        catch (IOException | IllegalStateException e)
         {
             showError("Error generating module code: " + e.getMessage(), "Error");
         }
     }
 
-    private String generateUniqueCode() throws IOException
-    {
-        Set<String> existingCodes = getExistingCodes();
-        Random random = new Random();
-        String newCode;
-
-        do
-        {
-            StringBuilder code = new StringBuilder();
-            for (int i = 0; i < 3; i++)
-            {
-                code.append(Integer.toHexString(random.nextInt(16)));
-            }
-            newCode = code.toString() + "-" + acYearField.getText();
-        }
-        while (existingCodes.contains(newCode));
-
-        return newCode;
-    }
-
-    private Set<String> getExistingCodes() throws IOException
-    {
-        Set<String> codes = new HashSet<>();
-        JsonProcessor processor = new JsonProcessor(FilePathHandler.MODULES_FILE.getNormalisedPath());
-        processor.processFile();
-        JsonObject jsonObject = (JsonObject) processor.getJsonContent();
-        JsonArray modulesArray = jsonObject.getAsJsonArray("modules");
-
-        for (int i = 0; i < modulesArray.size(); i++)
-        {
-            JsonObject module = modulesArray.get(i).getAsJsonObject();
-            codes.add(module.get("module_code").getAsString());
-        }
-        return codes;
-    }
-
     private void updateSelectedCourses()
     {
         try
@@ -192,14 +152,9 @@ public class AddModuleDialog extends ChiUniDialog
             DepartmentId selectedDept = (DepartmentId) departmentCombo.getSelectedItem();
             if (selectedDept != null)
             {
-                List<Course> allCourses = Course.getAll();
-                List<Course> departmentCourses = allCourses.stream()
-                        .filter(course ->
-                        {
-                            DepartmentId deptId = course.getDepartmentId();
-                            return deptId != null && deptId.getDepartmentName().equals(selectedDept.getDepartmentName());
-                        })
-                        .collect(Collectors.toList());
+                // Copied from the catalogue's department index so it can be shuffled
+                List<Course> departmentCourses = new ArrayList<>(
+                        Course.getCoursesByDepartment(new Department(selectedDept)));
 
                 Collections.shuffle(departmentCourses);
                 selectedCourses = departmentCourses.stream()
@@ -232,33 +187,12 @@ public class AddModuleDialog extends ChiUniDialog
             String code = codeField.getText().trim();
             String acYear = acYearField.getText().trim();
 
-            // Load existing modules
-            JsonProcessor processor = new JsonProcessor(FilePathHandler.MODULES_FILE.getNormalisedPath());
-            processor.processFile();
-            JsonObject jsonObject = (JsonObject) processor.getJsonContent();
-            JsonArray modulesArray = jsonObject.getAsJsonArray("modules");
-
-            // Create new module object
-            JsonObject newModule = new JsonObject();
-            newModule.addProperty("module_name", name);
-            newModule.addProperty("module_code", code);
-            newModule.addProperty("ac_year", acYear);
-
-            // Add associated courses
-            JsonArray coursesArray = new JsonArray();
-            selectedCourses.forEach(coursesArray::add);
-            newModule.add("associated_courses", coursesArray);
-
-            // Add to modules array and save
-            modulesArray.add(newModule);
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            try (FileWriter writer = new FileWriter(FilePathHandler.MODULES_FILE.getNormalisedPath()))
-            {
-                gson.toJson(jsonObject, writer);
-            }
+            // Appended to the catalogue without rewriting the modules file
+            Module.add(new Module(name, code, acYear, new ArrayList<>(selectedCourses)));
 
             showSuccess("Module saved successfully!");
-            mainScreen.refreshSpecificData(DataManager.DataType.MODULES);
+            // The cached catalogue already holds the module, so the panels are redrawn without a reload
+            mainScreen.showUpdatedData(DataManager.DataType.MODULES);
             dispose();
         }
         catch (Exception e)
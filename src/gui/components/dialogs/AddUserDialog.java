@@ -18,7 +18,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.io.IOException;
 import java.util.*;
-import java.util.List;
 
 public class AddUserDialog extends ChiUniDialog
 {
@@ -173,7 +172,7 @@ public class AddUserDialog extends ChiUniDialog
         }
 
         Student student = new Student();
-        student.setId(getNextStudentId());
+        student.setId(UserDataManager.nextStudentId());
         student.setFirstName(firstNameField.getText().trim());
         student.setLastName(lastNameField.getText().trim());
         student.setEmail(emailField.getText().trim());
@@ -205,7 +204,7 @@ public class AddUserDialog extends ChiUniDialog
     private void saveStaff() throws IOException
     {
         Staff staff = new Staff();
-        staff.setId(getNextStaffId());
+        staff.setId(UserDataManager.nextStaffId());
         staff.setFirstName(firstNameField.getText().trim());
         staff.setLastName(lastNameField.getText().trim());
         staff.setEmail(emailField.getText().trim());
@@ -232,22 +231,4 @@ public class AddUserDialog extends ChiUniDialog
             throw new IOException("Validation failed: " + e.getMessage());
         }
     }
-
-    private int getNextStudentId() throws IOException
-    {
-        List<Student> students = Student.getByCourse("");
-        return students.stream()
-                .mapToInt(Student::getId)
-                .max()
-                .orElse(0) + 1;
-    }
-
-    private int getNextStaffId() throws IOException
-    {
-        List<Staff> staff = Staff.getByDepartment("");
-        return staff.stream()
-                .mapToInt(Staff::getId)
-                .max()
-                .orElse(0) + 1;
-    }
 }
\ No newline at end of file
@@ -22,6 +22,18 @@ public class DepartmentDetailPanel extends ChiUniPanel
     private final ChiUniPanel coursesPanel;
     private final ChiUniPanel modulePanel;
 
+    /**
+     * The course load whose result will be shown; an earlier load is cancelled when a new one starts
+     */
+    private SwingWorker<List<Course>, Void> loadWorker;
+
+    /**
+     * Constructs the panel without loading any courses; call {@link #showCourses()}
+     * when the panel is about to be shown.
+     *
+     * @param departmentId The department to show
+     * @param parentPanel  The panel that switches between departments
+     */
     public DepartmentDetailPanel(DepartmentId departmentId, DepartmentPanel parentPanel)
     {
         this.departmentId = departmentId;
@@ -32,6 +44,24 @@ public class DepartmentDetailPanel extends ChiUniPanel
         this.modulePanel = new ChiUniPanel();
 
         initialiseUI();
+    }
+
+    /**
+     * Switches to the course list, as when the department is selected, and reloads the
+     * courses in the background.
+     */
+    public void showCourses()
+    {
+        cardLayout.show(contentPanel, "COURSES");
+        loadDepartmentCourses();
+    }
+
+    /**
+     * Reloads the department's courses in the background, leaving whichever list the
+     * user is looking at on screen.
+     */
+    public void refreshData()
+    {
         loadDepartmentCourses();
     }
 
@@ -104,64 +134,96 @@ public class DepartmentDetailPanel extends ChiUniPanel
 
     private void loadDepartmentCourses()
     {
-        try
+        if (loadWorker != null)
         {
-            Department department = new Department(departmentId);
-            List<Course> courses = Course.getCoursesByDepartment(department);
+            loadWorker.cancel(true);
+        }
 
-            // Clear existing content
-            coursesPanel.removeAll();
+        // Keep the current courses on screen until the new ones arrive, unless there are none yet
+        if (coursesPanel.getComponentCount() == 0)
+        {
+            JLabel loadingLabel = new JLabel("Loading courses...");
+            loadingLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+            coursesPanel.add(loadingLabel);
+            coursesPanel.revalidate();
+        }
 
-            if (courses.isEmpty())
+        loadWorker = new SwingWorker<>()
+        {
+            @Override
+            protected List<Course> doInBackground() throws Exception
             {
-                JLabel noCoursesLabel = new JLabel("No courses found for " + departmentId.getDepartmentName() + " department.");
-                noCoursesLabel.setFont(new Font("Arial", Font.PLAIN, 14));
-                coursesPanel.add(noCoursesLabel);
+                // Looked up in the shared course catalogue's department index
+                return Course.getCoursesByDepartment(new Department(departmentId));
             }
-            else
+
+            @Override
+            protected void done()
             {
-                // Setup GridBagLayout constraints
-                GridBagConstraints gbc = new GridBagConstraints();
-                gbc.gridwidth = GridBagConstraints.REMAINDER;
-                gbc.fill = GridBagConstraints.HORIZONTAL;
-                gbc.insets = new Insets(5, 20, 5, 20);
-
-                // Add title
-                JLabel titleLabel = new JLabel("Available Courses", SwingConstants.CENTER);
-                titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
-                gbc.insets = new Insets(20, 20, 30, 20);
-                coursesPanel.add(titleLabel, gbc);
-
-                // Reset insets for buttons
-                gbc.insets = new Insets(5, 20, 5, 20);
-
-                // Add course buttons
-                for (Course course : courses)
+                if (isCancelled())
                 {
-                    ChiUniButton courseButton = createCourseButton(course);
-                    coursesPanel.add(courseButton, gbc);
+                    return;
+                }
+                try
+                {
+                    displayCourses(get());
+                }
+                catch (Exception ex)
+                {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(DepartmentDetailPanel.this,
+                            "Error loading courses: " + cause.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
                 }
-
-                // Add empty space at the bottom
-                gbc.weighty = 1.0;
-                coursesPanel.add(Box.createVerticalGlue(), gbc);
             }
+        };
+        loadWorker.execute();
+    }
 
-            // Show courses panel
-            cardLayout.show(contentPanel, "COURSES");
-
-            // Refresh the panel
-            coursesPanel.revalidate();
-            coursesPanel.repaint();
+    private void displayCourses(List<Course> courses)
+    {
+        // Clear existing content
+        coursesPanel.removeAll();
 
+        if (courses.isEmpty())
+        {
+            JLabel noCoursesLabel = new JLabel("No courses found for " + departmentId.getDepartmentName() + " department.");
+            noCoursesLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+            coursesPanel.add(noCoursesLabel);
         }
-        catch (IOException ex)
+        else
         {
-            JOptionPane.showMessageDialog(this,
-                    "Error loading courses: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
+            // Setup GridBagLayout constraints
+            GridBagConstraints gbc = new GridBagConstraints();
+            gbc.gridwidth = GridBagConstraints.REMAINDER;
+            gbc.fill = GridBagConstraints.HORIZONTAL;
+            gbc.insets = new Insets(5, 20, 5, 20);
+
+            // Add title
+            JLabel titleLabel = new JLabel("Available Courses", SwingConstants.CENTER);
+            titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
+            gbc.insets = new Insets(20, 20, 30, 20);
+            coursesPanel.add(titleLabel, gbc);
+
+            // Reset insets for buttons
+            gbc.insets = new Insets(5, 20, 5, 20);
+
+            // Add course buttons
+            for (Course course : courses)
+            {
+                ChiUniButton courseButton = createCourseButton(course);
+                coursesPanel.add(courseButton, gbc);
+            }
+
+            // Add empty space at the bottom
+            gbc.weighty = 1.0;
+            coursesPanel.add(Box.createVerticalGlue(), gbc);
         }
+
+        // Refresh the panel
+        coursesPanel.revalidate();
+        coursesPanel.repaint();
     }
 
     private ChiUniButton createCourseButton(Course course)
@@ -5,14 +5,33 @@ import business.DepartmentId;
 import javax.swing.*;
 import java.awt.*;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 
 import gui.templates.*;
 
+/**
+ * Lists the university's departments and shows the courses of the one selected.
+ * <p>
+ * A department's detail panel is only built the first time it is opened, and its
+ * courses are loaded in the background each time it is opened, so the cost of
+ * starting up and refreshing does not grow with the number of departments.
+ */
 public class DepartmentPanel extends ChiUniPanel
 {
     private final CardLayout cardLayout;
     private final ChiUniPanel cardsPanel;
 
+    /**
+     * Detail panels built so far, by department
+     */
+    private final Map<DepartmentId, DepartmentDetailPanel> detailPanels = new EnumMap<>(DepartmentId.class);
+
+    /**
+     * The department being shown, or null while the list of departments is shown
+     */
+    private DepartmentId shownDepartment;
+
     public DepartmentPanel()
     {
         setLayout(new BorderLayout());
@@ -28,21 +47,6 @@ public class DepartmentPanel extends ChiUniPanel
 
         // Add cards panel to main panel
         add(cardsPanel, BorderLayout.CENTER);
-
-        // Create department detail panels
-        createDepartmentDetailPanels();
-    }
-
-    private void createDepartmentDetailPanels()
-    {
-        Arrays.stream(DepartmentId.values())
-                .filter(dept -> dept != DepartmentId.UNKNOWN)
-                .forEach(deptId ->
-                {
-                    // Create and add department detail panel
-                    DepartmentDetailPanel detailPanel = new DepartmentDetailPanel(deptId, this);
-                    cardsPanel.add(detailPanel, deptId.toString());
-                });
     }
 
     private ChiUniPanel createDepartmentsListPanel()
@@ -116,32 +120,42 @@ public class DepartmentPanel extends ChiUniPanel
         return button;
     }
 
+    /**
+     * Shows a department's courses, building its detail panel the first time.
+     * The courses are reloaded in the background every time the department is opened.
+     *
+     * @param deptId The department to show
+     */
     public void showDepartmentDetail(DepartmentId deptId)
     {
+        DepartmentDetailPanel detailPanel = detailPanels.get(deptId);
+        if (detailPanel == null)
+        {
+            detailPanel = new DepartmentDetailPanel(deptId, this);
+            detailPanels.put(deptId, detailPanel);
+            cardsPanel.add(detailPanel, deptId.toString());
+        }
+        detailPanel.showCourses();
+
+        shownDepartment = deptId;
         cardLayout.show(cardsPanel, deptId.toString());
     }
 
     public void showDepartmentsList()
     {
+        shownDepartment = null;
         cardLayout.show(cardsPanel, "DEPARTMENTS_LIST");
     }
 
-    public void refreshData() {
-        // Recreate all department detail panels to refresh their data
-        cardsPanel.removeAll();
-
-        // Recreate and add the main departments list
-        ChiUniPanel departmentsListPanel = createDepartmentsListPanel();
-        cardsPanel.add(departmentsListPanel, "DEPARTMENTS_LIST");
-
-        // Recreate all department detail panels
-        createDepartmentDetailPanels();
-
-        // Show the current panel again
-        cardLayout.show(cardsPanel, "DEPARTMENTS_LIST");
-
-        // Refresh the UI
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
+    /**
+     * Reloads the department being shown. Other departments are reloaded when they
+     * are next opened, so nothing is loaded for panels that are not visible.
+     */
+    public void refreshData()
+    {
+        if (shownDepartment != null)
+        {
+            detailPanels.get(shownDepartment).refreshData();
+        }
     }
-}
\ No newline at end of file
+}
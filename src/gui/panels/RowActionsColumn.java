@@ -0,0 +1,132 @@
+package gui.panels;
+
+import gui.templates.ChiUniButton;
+
+import javax.swing.*;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Table column of action buttons for the record shown in each row.
+ * <p>
+ * The buttons are created once: one set is stamped onto every row by the renderer,
+ * and a second set belongs to the editor, which the table places over a row when it
+ * is clicked so the buttons receive the click. The column's model value must be the
+ * record the actions apply to.
+ *
+ * @param <T> Type of record shown in each row
+ */
+final class RowActionsColumn<T>
+{
+    /**
+     * Column variables:
+     * <ul>
+     *   <li>{@code hasActions} - Whether a record gets buttons at all</li>
+     *   <li>{@code labels} - Button labels, in display order</li>
+     *   <li>{@code actions} - Action run for each button</li>
+     * </ul>
+     */
+    private final Predicate<T> hasActions;
+    private final List<String> labels = new ArrayList<>();
+    private final List<Consumer<T>> actions = new ArrayList<>();
+
+    /**
+     * Constructs a column with no buttons.
+     *
+     * @param hasActions Whether a record gets buttons; other rows are left empty
+     */
+    RowActionsColumn(Predicate<T> hasActions)
+    {
+        this.hasActions = hasActions;
+    }
+
+    /**
+     * Adds a button.
+     *
+     * @param label  The button text
+     * @param action Run with the row's record when the button is clicked
+     * @return This column, for chaining
+     */
+    RowActionsColumn<T> addAction(String label, Consumer<T> action)
+    {
+        labels.add(label);
+        actions.add(action);
+        return this;
+    }
+
+    /**
+     * Renders and handles the buttons of a table column.
+     * The table model must report the column's cells as editable for records with actions.
+     *
+     * @param table  The table
+     * @param column Model index of the column
+     */
+    void install(JTable table, int column)
+    {
+        TableColumn tableColumn = table.getColumnModel().getColumn(table.convertColumnIndexToView(column));
+        tableColumn.setCellRenderer(new Cell());
+        tableColumn.setCellEditor(new Cell());
+    }
+
+    /**
+     * One set of buttons, used either as the renderer or as the editor.
+     */
+    private class Cell extends AbstractCellEditor implements TableCellRenderer, TableCellEditor
+    {
+        private final JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 3));
+        private final JPanel emptyPanel = new JPanel();
+        private T record;
+
+        private Cell()
+        {
+            for (int i = 0; i < labels.size(); i++)
+            {
+                Consumer<T> action = actions.get(i);
+                ChiUniButton button = new ChiUniButton(labels.get(i));
+                button.addActionListener(e ->
+                {
+                    // Finish editing first so the table is back to rendering the row
+                    T clicked = record;
+                    fireEditingStopped();
+                    action.accept(clicked);
+                });
+                buttonPanel.add(button);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Component panelFor(JTable table, Object value, boolean isSelected)
+        {
+            record = (T) value;
+            JPanel panel = hasActions.test(record) ? buttonPanel : emptyPanel;
+            panel.setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
+            return panel;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column)
+        {
+            return panelFor(table, value, isSelected);
+        }
+
+        @Override
+        public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected,
+                                                     int row, int column)
+        {
+            return panelFor(table, value, true);
+        }
+
+        @Override
+        public Object getCellEditorValue()
+        {
+            return record;
+        }
+    }
+}
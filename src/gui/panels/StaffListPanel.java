@@ -3,33 +3,42 @@ package gui.panels;
 import business.DepartmentId;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.net.URL;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import business.StaffModuleAssignment;
 import users.Staff;
 import business.Module;
-import business.Course;
 
+import file_handling.DataRepository;
+import file_handling.FilePathHandler;
+import gui.components.AvatarService;
 import gui.templates.*;
 
 /**
- * A panel that displays a filterable grid of staff cards.
- * Each card shows staff information and their avatar image.
+ * A panel that displays a sortable, filterable table of staff.
+ * Each row shows staff information and their avatar image; avatars are only fetched
+ * for rows that are drawn on screen.
  * Uses DepartmentId enum for department filtering and ChiUni components for consistent styling.
  */
 public class StaffListPanel extends ChiUniPanel
 {
-    private ChiUniPanel staffContainer;
+    private JTable staffTable;
+    private StaffTableModel tableModel;
+    private TableRowSorter<StaffTableModel> sorter;
     private List<Staff> allStaff;
     private JComboBox<DepartmentId> departmentFilter;
     private boolean dataLoaded = false;
 
+    /**
+     * The load whose result will be shown; an earlier load is cancelled when a new one starts
+     */
+    private SwingWorker<List<Staff>, Void> loadWorker;
+
     @Override
     public void addNotify()
     {
@@ -82,10 +91,31 @@ public class StaffListPanel extends ChiUniPanel
         headerPanel.add(filterPanel, BorderLayout.SOUTH);
         add(headerPanel, BorderLayout.NORTH);
 
-        // Create scrollable container for staff cards
-        staffContainer = new ChiUniPanel();
-        staffContainer.setLayout(new GridBagLayout());
-        JScrollPane scrollPane = new JScrollPane(staffContainer);
+        // Create scrollable staff table; sorting and filtering go through the row sorter,
+        // so changing department never rebuilds any components
+        tableModel = new StaffTableModel();
+        staffTable = new JTable(tableModel);
+        sorter = new TableRowSorter<>(tableModel);
+        sorter.setSortable(StaffTableModel.AVATAR_COLUMN, false);
+        sorter.setSortable(StaffTableModel.ACTIONS_COLUMN, false);
+        staffTable.setRowSorter(sorter);
+        staffTable.setRowHeight(AvatarService.THUMBNAIL_SIZE + 6);
+        staffTable.setFillsViewportHeight(true);
+        staffTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        staffTable.getTableHeader().setReorderingAllowed(false);
+
+        int[] columnWidths = {60, 60, 160, 200, 90, 90, 220, 270};
+        for (int column = 0; column < columnWidths.length; column++)
+        {
+            staffTable.getColumnModel().getColumn(column).setPreferredWidth(columnWidths[column]);
+        }
+        staffTable.getColumnModel().getColumn(StaffTableModel.AVATAR_COLUMN).setCellRenderer(new AvatarRenderer());
+        new RowActionsColumn<Staff>(staff -> true)
+                .addAction("View Details", this::showStaffDetails)
+                .addAction("Manage Modules", this::showModuleManagement)
+                .install(staffTable, StaffTableModel.ACTIONS_COLUMN);
+
+        JScrollPane scrollPane = new JScrollPane(staffTable);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         add(scrollPane, BorderLayout.CENTER);
@@ -93,22 +123,32 @@ public class StaffListPanel extends ChiUniPanel
 
     private void loadStaffData()
     {
-        SwingWorker<List<Staff>, Void> worker = new SwingWorker<>()
+        if (loadWorker != null)
+        {
+            // Stops this panel waiting; a file load shared with other callers carries on
+            loadWorker.cancel(true);
+        }
+
+        loadWorker = new SwingWorker<>()
         {
             @Override
             protected List<Staff> doInBackground() throws Exception
             {
-                // Force a fresh load from JSON
-                return Staff.getByDepartment("");  // This will read fresh from the file
+                return Staff.getByDepartment("");  // Served from the shared repository cache
             }
 
             @Override
             protected void done()
             {
+                if (isCancelled())
+                {
+                    return;
+                }
                 try
                 {
                     allStaff = get();
                     dataLoaded = true;
+                    displayStaff(allStaff);
                     filterStaff(); // Initial display
                 }
                 catch (Exception e)
@@ -117,7 +157,7 @@ public class StaffListPanel extends ChiUniPanel
                 }
             }
         };
-        worker.execute();
+        loadWorker.execute();
     }
 
     private void loadStaff()
@@ -125,6 +165,7 @@ public class StaffListPanel extends ChiUniPanel
         try
         {
             allStaff = Staff.getByDepartment("");
+            displayStaff(allStaff);
             filterStaff();
         }
         catch (IOException e)
@@ -136,128 +177,37 @@ public class StaffListPanel extends ChiUniPanel
     private void filterStaff()
     {
         DepartmentId selectedDepartment = (DepartmentId) departmentFilter.getSelectedItem();
-        List<Staff> filteredStaff;
-
-        if (selectedDepartment == DepartmentId.UNKNOWN)
-        {
-            filteredStaff = allStaff;
-        }
-        else
-        {
-            String departmentName = selectedDepartment.getDepartmentName();
-            filteredStaff = allStaff.stream()
-                    .filter(staff ->
-                    {
-                        String staffDept = staff.getDepartment();
-                        if (staffDept == null || staffDept.isEmpty())
-                        {
-                            return selectedDepartment == DepartmentId.UNKNOWN;
-                        }
-                        return departmentName.equals(staffDept);
-                    })
-                    .collect(Collectors.toList());
-        }
-
-        displayStaff(filteredStaff);
+        sorter.setRowFilter(tableModel.departmentFilter(selectedDepartment));
     }
 
     private void displayStaff(List<Staff> staffList)
     {
-        staffContainer.removeAll();
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridwidth = 1;
-        gbc.fill = GridBagConstraints.HORIZONTAL;
-        gbc.insets = new Insets(5, 5, 5, 5);
-
-        int row = 0;
-        int col = 0;
-        int maxCols = 3;  // Number of cards per row
-
-        for (Staff staff : staffList)
+        if (staffTable.isEditing())
         {
-            ChiUniPanel card = createStaffCard(staff);
-            gbc.gridx = col;
-            gbc.gridy = row;
-            staffContainer.add(card, gbc);
-
-            col++;
-            if (col >= maxCols)
-            {
-                col = 0;
-                row++;
-            }
+            staffTable.getCellEditor().cancelCellEditing();
         }
-
-        staffContainer.revalidate();
-        staffContainer.repaint();
+        tableModel.setStaff(staffList);
     }
 
-// In StaffListPanel.java, update the createStaffCard method:
-
-    private ChiUniPanel createStaffCard(Staff staff)
+    /**
+     * Draws the avatar column. Renderers only run for rows being painted, so avatars
+     * are fetched and decoded only once their row scrolls into view.
+     */
+    private class AvatarRenderer extends DefaultTableCellRenderer
     {
-        ChiUniPanel card = new ChiUniPanel();
-        card.setLayout(new BorderLayout(5, 5));
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(200, 200, 200)),
-                BorderFactory.createEmptyBorder(10, 10, 10, 10)
-        ));
-
-        // Add avatar panel at the top
-        ChiUniPanel avatarPanel = new ChiUniPanel();
-        avatarPanel.setLayout(new FlowLayout(FlowLayout.CENTER));
-        avatarPanel.add(createAvatarLabel(staff));
-        card.add(avatarPanel, BorderLayout.NORTH);
-
-        // Staff name and basic info using ChiUniPanel
-        ChiUniPanel infoPanel = new ChiUniPanel();
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setPadding(0);
-
-        JLabel nameLabel = new JLabel(staff.getFirstName() + " " + staff.getLastName());
-        nameLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        nameLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        infoPanel.add(nameLabel);
-        infoPanel.add(Box.createVerticalStrut(5));
-
-        // Additional staff details
-        addInfoLabel(infoPanel, "ID: " + staff.getId());
-
-        String departmentDisplay = staff.getDepartment();
-        if (departmentDisplay == null || departmentDisplay.isEmpty())
+        private AvatarRenderer()
         {
-            departmentDisplay = "No Department";
+            setHorizontalAlignment(SwingConstants.CENTER);
         }
-        addInfoLabel(infoPanel, "Department: " + departmentDisplay);
-
-        addInfoLabel(infoPanel, "Weekly Hours: " + staff.getWeeklyHours());
-        addInfoLabel(infoPanel, "Max Modules: " + staff.getMaxModules());
-        addInfoLabel(infoPanel, "Email: " + staff.getEmail());
-
-        // Button panel for multiple buttons
-        ChiUniPanel buttonPanel = new ChiUniPanel();
-        buttonPanel.setLayout(new FlowLayout(FlowLayout.LEFT, 5, 0));
-        buttonPanel.setPadding(0);
-
-        // Details button
-        ChiUniButton detailsButton = new ChiUniButton("View Details");
-        detailsButton.setFont(new Font("Arial", Font.PLAIN, 12));
-        detailsButton.addActionListener(e -> showStaffDetails(staff));
-        buttonPanel.add(detailsButton);
-
-        // Modules button
-        ChiUniButton modulesButton = new ChiUniButton("Manage Modules");
-        modulesButton.setFont(new Font("Arial", Font.PLAIN, 12));
-        modulesButton.addActionListener(e -> showModuleManagement(staff));
-        buttonPanel.add(modulesButton);
-
-        infoPanel.add(Box.createVerticalStrut(10));
-        infoPanel.add(buttonPanel);
-
-        card.add(infoPanel, BorderLayout.CENTER);
-        card.setPreferredSize(new Dimension(300, 350));
 
-        return card;
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column)
+        {
+            super.getTableCellRendererComponent(table, "", isSelected, hasFocus, row, column);
+            setIcon(AvatarService.getInstance().getIcon((String) value, icon -> table.repaint()));
+            return this;
+        }
     }
 
     private static class ModuleInfo
@@ -325,23 +275,10 @@ public class StaffListPanel extends ChiUniPanel
         try
         {
             // Get all department modules
-            List<Course> departmentCourses = Course.getAll().stream()
-                    .filter(course ->
-                    {
-                        DepartmentId deptId = course.getDepartmentId();
-                        String deptName = deptId != null ? deptId.getDepartmentName() : "";
-                        return deptName.equals(staff.getDepartment());
-                    })
-                    .collect(Collectors.toList());
-
-            Map<String, Module> allModules = new HashMap<>();
-            for (Course course : departmentCourses)
+            Map<String, Module> allModules = new LinkedHashMap<>();
+            for (Module module : Module.getModulesForDepartment(staff.getDepartment()))
             {
-                List<Module> courseModules = Module.getModulesForCourse(course.getCourseCode());
-                for (Module module : courseModules)
-                {
-                    allModules.put(module.getCode(), module);
-                }
+                allModules.put(module.getCode(), module);
             }
 
             // Load current assignments
@@ -505,58 +442,6 @@ public class StaffListPanel extends ChiUniPanel
     }
 
 
-    private JLabel createAvatarLabel(Staff staff)
-    {
-        ImageIcon avatarIcon;
-        if (staff.getAvatar() != null && !staff.getAvatar().isEmpty())
-        {
-            try
-            {
-                avatarIcon = new ImageIcon(new URL(staff.getAvatar()));
-                Image img = avatarIcon.getImage();
-                Image scaledImg = img.getScaledInstance(80, 80, Image.SCALE_SMOOTH);
-                avatarIcon = new ImageIcon(scaledImg);
-            }
-            catch (Exception e)
-            {
-                avatarIcon = createDefaultAvatar();
-            }
-        }
-        else
-        {
-            avatarIcon = createDefaultAvatar();
-        }
-
-        JLabel avatarLabel = new JLabel(avatarIcon);
-        avatarLabel.setPreferredSize(new Dimension(80, 80));
-        return avatarLabel;
-    }
-
-    private ImageIcon createDefaultAvatar()
-    {
-        BufferedImage defaultImage = new BufferedImage(80, 80, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = defaultImage.createGraphics();
-
-        g2d.setColor(new Color(70, 130, 180)); // Match ChiUniButton color
-        g2d.fillRect(0, 0, 80, 80);
-
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
-        g2d.drawString("?", 33, 50);
-
-        g2d.dispose();
-        return new ImageIcon(defaultImage);
-    }
-
-    private void addInfoLabel(JPanel panel, String text)
-    {
-        JLabel label = new JLabel(text);
-        label.setFont(new Font("Arial", Font.PLAIN, 12));
-        label.setAlignmentX(Component.LEFT_ALIGNMENT);
-        panel.add(label);
-        panel.add(Box.createVerticalStrut(3));
-    }
-
     private void showStaffDetails(Staff staff)
     {
         // Create a modal dialog using ChiUni components
@@ -622,6 +507,16 @@ public class StaffListPanel extends ChiUniPanel
         StaffModuleAssignment.generateInitialAssignments();
 
         // Force reload of staff data from JSON
+        DataRepository.getInstance().refresh(FilePathHandler.STAFF_FILE);
+        reloadData();
+    }
+
+    /**
+     * Shows the staff currently held by the shared repository cache, without
+     * regenerating assignments. Used once a full refresh has loaded every file.
+     */
+    public void reloadData()
+    {
         this.allStaff = null;    // Clear cached data
         dataLoaded = false;      // Reset the data loaded flag
 
@@ -0,0 +1,163 @@
+package gui.panels;
+
+import business.DepartmentId;
+import users.Staff;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table model of the staff directory.
+ * <p>
+ * The model wraps the list it is given without copying it. When the list is set, the
+ * department of every member of staff is resolved once into an index, so filtering by
+ * department through a {@link RowSorter} compares enum constants rather than names.
+ */
+final class StaffTableModel extends AbstractTableModel
+{
+    /**
+     * Column holding the avatar URL, drawn as the avatar image
+     */
+    static final int AVATAR_COLUMN = 0;
+
+    /**
+     * Column holding the View Details and Manage Modules actions
+     */
+    static final int ACTIONS_COLUMN = 7;
+
+    private static final String[] COLUMNS =
+            {"", "ID", "Name", "Department", "Weekly Hours", "Max Modules", "Email", "Actions"};
+
+    /**
+     * Model variables:
+     * <ul>
+     *   <li>{@code staff} - The staff shown, one per row</li>
+     *   <li>{@code departments} - Department of each row, or null if it is not a known department</li>
+     * </ul>
+     */
+    private List<Staff> staff = Collections.emptyList();
+    private DepartmentId[] departments = new DepartmentId[0];
+
+    /**
+     * Replaces the staff shown and rebuilds the department index.
+     *
+     * @param staff The staff to show; the list must not be modified afterwards
+     */
+    void setStaff(List<Staff> staff)
+    {
+        DepartmentId[] index = new DepartmentId[staff.size()];
+        for (int row = 0; row < index.length; row++)
+        {
+            String department = staff.get(row).getDepartment();
+            DepartmentId departmentId = DepartmentId.fromString(department);
+
+            // Only an exact name match counts, as in the rest of the directory
+            index[row] = departmentId != DepartmentId.UNKNOWN
+                    && departmentId.getDepartmentName().equals(department) ? departmentId : null;
+        }
+
+        this.staff = staff;
+        this.departments = index;
+        fireTableDataChanged();
+    }
+
+    /**
+     * @param row A model row index
+     * @return The member of staff shown in the row
+     */
+    Staff getStaffAt(int row)
+    {
+        return staff.get(row);
+    }
+
+    /**
+     * Creates a filter that keeps the rows of one department.
+     *
+     * @param departmentId The department to keep, or {@link DepartmentId#UNKNOWN} for every row
+     * @return The filter, or null to show every row
+     */
+    RowFilter<StaffTableModel, Integer> departmentFilter(DepartmentId departmentId)
+    {
+        if (departmentId == null || departmentId == DepartmentId.UNKNOWN)
+        {
+            return null;
+        }
+        return new RowFilter<>()
+        {
+            @Override
+            public boolean include(Entry<? extends StaffTableModel, ? extends Integer> entry)
+            {
+                return departments[entry.getIdentifier()] == departmentId;
+            }
+        };
+    }
+
+    @Override
+    public int getRowCount()
+    {
+        return staff.size();
+    }
+
+    @Override
+    public int getColumnCount()
+    {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column)
+    {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column)
+    {
+        switch (column)
+        {
+            case 1:
+            case 4:
+            case 5:
+                return Integer.class;
+            case ACTIONS_COLUMN:
+                return Staff.class;
+            default:
+                return String.class;
+        }
+    }
+
+    @Override
+    public Object getValueAt(int row, int column)
+    {
+        Staff member = staff.get(row);
+        switch (column)
+        {
+            case AVATAR_COLUMN:
+                return member.getAvatar();
+            case 1:
+                return member.getId();
+            case 2:
+                return member.getFirstName() + " " + member.getLastName();
+            case 3:
+                String department = member.getDepartment();
+                return department == null || department.isEmpty() ? "No Department" : department;
+            case 4:
+                return member.getWeeklyHours();
+            case 5:
+                return member.getMaxModules();
+            case 6:
+                return member.getEmail();
+            default:
+                return member;
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column)
+    {
+        // The actions column is "edited" so that its buttons receive clicks
+        return column == ACTIONS_COLUMN;
+    }
+}
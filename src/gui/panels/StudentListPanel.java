@@ -7,27 +7,31 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import business.StudentModuleAssignment;
+import business.TimetableView;
 import users.Student;
 import users.StudentType;
 import business.Module;
 import business.Course;
 
+import file_handling.DataRepository;
+import file_handling.FilePathHandler;
 import gui.templates.*;
 
 /**
- * A panel that displays a filterable grid of student cards.
- * Each card shows student information and provides access to their module details.
+ * A panel that displays a filterable table of students.
+ * Each row shows student information and provides access to their modules and timetable.
+ * The table only renders the rows on screen, so it stays responsive with any number of students.
  * Students can be filtered by their type (Full-time, Part-time, International, or DA).
  */
 public class StudentListPanel extends ChiUniPanel
 {
     /**
-     * Container panel for the student cards grid
+     * Table listing the filtered students, and its model
      */
-    private ChiUniPanel studentsContainer;
+    private JTable studentTable;
+    private StudentTableModel tableModel;
 
     /**
      * Dialog for displaying module information
@@ -35,9 +39,19 @@ public class StudentListPanel extends ChiUniPanel
     private JDialog moduleDialog;
 
     /**
-     * Cached list of all students for filtering
+     * Delay after the last filter change before the table is updated, in milliseconds
      */
-    private List<Student> allStudents;
+    private static final int FILTER_DELAY_MILLIS = 150;
+
+    /**
+     * Loaded students partitioned by type for filtering
+     */
+    private StudentTypeBuckets buckets = StudentTypeBuckets.EMPTY;
+
+    /**
+     * Applies the filter once the selection has settled, so rapid changes only display the last one
+     */
+    private final Timer filterTimer = new Timer(FILTER_DELAY_MILLIS, e -> filterStudents());
 
     /**
      * Dropdown component for filtering students by type
@@ -46,10 +60,15 @@ public class StudentListPanel extends ChiUniPanel
 
     private boolean dataLoaded = false;
 
+    /**
+     * The load whose result will be shown; an earlier load is cancelled when a new one starts
+     */
+    private SwingWorker<StudentTypeBuckets, Void> loadWorker;
+
     /**
      * Constructs a new StudentListPanel.
      * initialises the UI components including the header, filter dropdown,
-     * and scrollable container for student cards.
+     * and scrollable student table.
      */
 
     public StudentListPanel()
@@ -78,11 +97,27 @@ public class StudentListPanel extends ChiUniPanel
         typeFilter = new JComboBox<>(StudentType.values());
         typeFilter.insertItemAt(null, 0);
         typeFilter.setSelectedIndex(0);
+        typeFilter.setRenderer(new DefaultListCellRenderer()
+        {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus)
+            {
+                // Counts come from the loaded buckets, so showing them costs nothing
+                String text = value == null ? "All" : value.toString();
+                if (dataLoaded)
+                {
+                    text += " (" + buckets.count((StudentType) value) + ")";
+                }
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        filterTimer.setRepeats(false);
         typeFilter.addActionListener(e ->
         {
             if (dataLoaded)
             {
-                filterStudents();
+                filterTimer.restart();
             }
         });
         filterPanel.add(typeFilter);
@@ -90,10 +125,25 @@ public class StudentListPanel extends ChiUniPanel
         headerPanel.add(filterPanel, BorderLayout.SOUTH);
         add(headerPanel, BorderLayout.NORTH);
 
-        // Create scrollable container for student cards
-        studentsContainer = new ChiUniPanel();
-        studentsContainer.setLayout(new GridBagLayout());
-        JScrollPane scrollPane = new JScrollPane(studentsContainer);
+        // Create scrollable student table; rows have a fixed height so only visible rows are laid out
+        tableModel = new StudentTableModel();
+        studentTable = new JTable(tableModel);
+        studentTable.setRowHeight(36);
+        studentTable.setFillsViewportHeight(true);
+        studentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        studentTable.getTableHeader().setReorderingAllowed(false);
+
+        int[] columnWidths = {60, 160, 110, 220, 220, 270};
+        for (int column = 0; column < columnWidths.length; column++)
+        {
+            studentTable.getColumnModel().getColumn(column).setPreferredWidth(columnWidths[column]);
+        }
+        new RowActionsColumn<Student>(StudentTableModel::hasCourse)
+                .addAction("View Modules", this::showModulesDialog)
+                .addAction("View Timetable", this::showTimetableDialog)
+                .install(studentTable, StudentTableModel.ACTIONS_COLUMN);
+
+        JScrollPane scrollPane = new JScrollPane(studentTable);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         add(scrollPane, BorderLayout.CENTER);
     }
@@ -110,22 +160,33 @@ public class StudentListPanel extends ChiUniPanel
 
     private void loadStudentData()
     {
-        SwingWorker<List<Student>, Void> worker = new SwingWorker<>()
+        if (loadWorker != null)
+        {
+            // Stops this panel waiting; a file load shared with other callers carries on
+            loadWorker.cancel(true);
+        }
+
+        loadWorker = new SwingWorker<>()
         {
             @Override
-            protected List<Student> doInBackground() throws Exception
+            protected StudentTypeBuckets doInBackground() throws Exception
             {
-                // Force a fresh load from JSON
-                return Student.getByCourse("");  // This will read fresh from the file
+                // Served from the shared repository cache
+                return new StudentTypeBuckets(Student.getByCourse(""));
             }
 
             @Override
             protected void done()
             {
+                if (isCancelled())
+                {
+                    return;
+                }
                 try
                 {
-                    allStudents = get();
+                    buckets = get();
                     dataLoaded = true;
+                    typeFilter.repaint(); // Show the counts
                     filterStudents(); // Initial display
                 }
                 catch (Exception e)
@@ -134,7 +195,7 @@ public class StudentListPanel extends ChiUniPanel
                 }
             }
         };
-        worker.execute();
+        loadWorker.execute();
     }
 
     /**
@@ -145,7 +206,7 @@ public class StudentListPanel extends ChiUniPanel
     {
         try
         {
-            allStudents = Student.getByCourse("");  // Get all students
+            buckets = new StudentTypeBuckets(Student.getByCourse(""));  // Get all students
             filterStudents(); // Apply initial filter
         }
         catch (IOException e)
@@ -155,132 +216,27 @@ public class StudentListPanel extends ChiUniPanel
     }
 
     /**
-     * Filters the displayed students based on the selected student type in the dropdown.
+     * Displays the students of the type selected in the dropdown.
      * If no type is selected (All), shows all students.
-     * Otherwise, filters to show only students matching the selected type.
      */
     private void filterStudents()
     {
-        StudentType selectedType = (StudentType) typeFilter.getSelectedItem();
-        List<Student> filteredStudents;
-
-        if (selectedType == null)
-        {
-            filteredStudents = allStudents; // Show all students
-        }
-        else
-        {
-            // Filter students by selected type
-            filteredStudents = allStudents.stream()
-                    .filter(student ->
-                    {
-                        try
-                        {
-                            return StudentType.fromString(student.getType()) == selectedType;
-                        }
-                        catch (IllegalArgumentException e)
-                        {
-                            return false; // Skip students with invalid types
-                        }
-                    })
-                    .collect(Collectors.toList());
-        }
-
-        displayStudents(filteredStudents);
+        filterTimer.stop();
+        displayStudents(buckets.get((StudentType) typeFilter.getSelectedItem()));
     }
 
     /**
-     * Displays the given list of students in a grid layout.
-     * Creates a card for each student and arranges them in rows and columns.
+     * Displays the given list of students in the table.
      *
      * @param students The list of students to display
      */
     private void displayStudents(List<Student> students)
     {
-        studentsContainer.removeAll();
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridwidth = 1;
-        gbc.fill = GridBagConstraints.HORIZONTAL;
-        gbc.insets = new Insets(5, 5, 5, 5);
-
-        int row = 0;
-        int col = 0;
-        int maxCols = 3;  // Number of cards per row
-
-        for (Student student : students)
+        if (studentTable.isEditing())
         {
-            ChiUniPanel card = createStudentCard(student);
-            gbc.gridx = col;
-            gbc.gridy = row;
-            studentsContainer.add(card, gbc);
-
-            col++;
-            if (col >= maxCols)
-            {
-                col = 0;
-                row++;
-            }
+            studentTable.getCellEditor().cancelCellEditing();
         }
-
-        studentsContainer.revalidate();
-        studentsContainer.repaint();
-    }
-
-    /**
-     * Creates a card panel displaying information for a single student.
-     * The card includes the student's name, ID, type, email, and course information.
-     * If the student is enrolled in a course, also includes a button to view modules.
-     *
-     * @param student The student whose information should be displayed
-     * @return A panel containing the student's information
-     */
-    private ChiUniPanel createStudentCard(Student student)
-    {
-        ChiUniPanel card = new ChiUniPanel();
-        card.setLayout(new BorderLayout(5, 5));
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(200, 200, 200)),
-                BorderFactory.createEmptyBorder(10, 10, 10, 10)
-        ));
-
-        // Student name and basic info
-        JLabel nameLabel = new JLabel(student.getFirstName() + " " + student.getLastName());
-        nameLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        card.add(nameLabel, BorderLayout.NORTH);
-
-        // Additional student details
-        JPanel detailsPanel = new JPanel();
-        detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
-        detailsPanel.add(new JLabel("ID: " + student.getId()));
-        detailsPanel.add(new JLabel("Type: " + student.getType()));
-        detailsPanel.add(new JLabel("Email: " + student.getEmail()));
-
-        // Add course information if available
-        String course = student.getCourse();
-        if (course != null && !course.trim().isEmpty() && !course.equals("No course available"))
-        {
-            detailsPanel.add(Box.createVerticalStrut(5));
-            JLabel courseLabel = new JLabel("Course: " + course);
-            courseLabel.setFont(new Font("Arial", Font.ITALIC, 12));
-            detailsPanel.add(courseLabel);
-
-            ChiUniButton viewModulesBtn = new ChiUniButton("View Modules");
-            viewModulesBtn.addActionListener(e -> showModulesDialog(student));
-
-            ChiUniButton timetableBtn = new ChiUniButton("View Timetable");
-            timetableBtn.addActionListener(e -> showTimetableDialog(student));
-
-            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-            buttonPanel.add(viewModulesBtn);
-            buttonPanel.add(timetableBtn);
-            detailsPanel.add(buttonPanel);
-
-        }
-
-        card.add(detailsPanel, BorderLayout.CENTER);
-        card.setPreferredSize(new Dimension(300, 180));
-
-        return card;
+        tableModel.setStudents(students);
     }
 
     /**
@@ -569,7 +525,17 @@ public class StudentListPanel extends ChiUniPanel
         StudentModuleAssignment.generateInitialAssignments();
 
         // Force reload of student data from JSON
-        this.allStudents = null;  // Clear cached data
+        DataRepository.getInstance().refresh(FilePathHandler.STUDENTS_FILE);
+        reloadData();
+    }
+
+    /**
+     * Shows the students currently held by the shared repository cache, without
+     * regenerating assignments. Used once a full refresh has loaded every file.
+     */
+    public void reloadData()
+    {
+        this.buckets = StudentTypeBuckets.EMPTY;  // Clear cached data
         dataLoaded = false;       // Reset the data loaded flag
 
         // Load fresh data
@@ -606,14 +572,37 @@ public class StudentListPanel extends ChiUniPanel
         ChiUniPanel timetablePanel = new ChiUniPanel();
         timetablePanel.setLayout(new GridBagLayout());
 
-        // Create and update the timetable based on selected term
-        updateTimetablePanel(timetablePanel, student, 0); // Start with first term
-
-        // Add listener for term changes
-        termSelector.addActionListener(e ->
+        // Resolve the timetable once, off the EDT; every term switch reuses it
+        timetablePanel.add(new JLabel("Loading timetable..."));
+        termSelector.setEnabled(false);
+        SwingWorker<TimetableView, Void> worker = new SwingWorker<>()
         {
-            updateTimetablePanel(timetablePanel, student, termSelector.getSelectedIndex());
-        });
+            @Override
+            protected TimetableView doInBackground() throws Exception
+            {
+                return TimetableView.forStudent(student.getId());
+            }
+
+            @Override
+            protected void done()
+            {
+                try
+                {
+                    TimetableView view = get();
+                    updateTimetablePanel(timetablePanel, view, termSelector.getSelectedIndex());
+
+                    // Add listener for term changes
+                    termSelector.addActionListener(e ->
+                            updateTimetablePanel(timetablePanel, view, termSelector.getSelectedIndex()));
+                    termSelector.setEnabled(true);
+                }
+                catch (Exception e)
+                {
+                    handleError("Error loading timetable", e);
+                }
+            }
+        };
+        worker.execute();
 
         // Add timetable to scroll pane
         JScrollPane scrollPane = new JScrollPane(timetablePanel);
@@ -639,10 +628,10 @@ public class StudentListPanel extends ChiUniPanel
      * Updates the timetable panel with the schedule for the selected term.
      *
      * @param panel     The panel to update
-     * @param student   The student whose timetable is being displayed
+     * @param view      The student's resolved timetable
      * @param termIndex The selected term (0=Autumn, 1=Spring, 2=Summer)
      */
-    private void updateTimetablePanel(JPanel panel, Student student, int termIndex)
+    private void updateTimetablePanel(JPanel panel, TimetableView view, int termIndex)
     {
         panel.removeAll();
         GridBagConstraints gbc = new GridBagConstraints();
@@ -702,33 +691,28 @@ public class StudentListPanel extends ChiUniPanel
                 cellPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK));
                 cellPanel.setPreferredSize(new Dimension(120, 60));
 
-                // Here you would check if there's a module scheduled for this time slot
-                // For now, we'll add placeholder text
-                try
+                List<String> moduleIds = view.getModules(termIndex, dayCol, timeRow);
+                if (!moduleIds.isEmpty())
                 {
-                    List<String> moduleIds = StudentModuleAssignment.getStudentAssignments(student.getId());
-                    if (!moduleIds.isEmpty())
+                    StringBuilder text = new StringBuilder("<html>");
+                    for (String moduleId : moduleIds)
                     {
-                        // Get a module for this time slot based on some logic
-                        // This is a simplified example - you'd need to implement proper scheduling logic
-                        if (moduleIds.size() > (timeRow + dayCol) % moduleIds.size())
+                        String moduleName = view.getModuleName(moduleId);
+                        if (text.length() > "<html>".length())
                         {
-                            String moduleId = moduleIds.get((timeRow + dayCol) % moduleIds.size());
-                            Module module = Module.getModuleByCode(moduleId);
-                            if (module != null)
-                            {
-                                JLabel moduleLabel = new JLabel("<html>" + module.getName() + "<br>" + module.getCode() + "</html>");
-                                moduleLabel.setFont(new Font("Arial", Font.PLAIN, 10));
-                                moduleLabel.setBorder(BorderFactory.createEmptyBorder(2, 2, 2, 2));
-                                cellPanel.add(moduleLabel, BorderLayout.CENTER);
-                                cellPanel.setBackground(new Color(230, 240, 255));
-                            }
+                            text.append("<br>");
                         }
+                        text.append(moduleName != null ? moduleName + "<br>" : "").append(moduleId);
                     }
-                }
-                catch (IOException e)
-                {
-                    handleError("Error loading module assignments", e);
+
+                    JLabel moduleLabel = new JLabel(text.append("</html>").toString());
+                    moduleLabel.setFont(new Font("Arial", Font.PLAIN, 10));
+                    moduleLabel.setBorder(BorderFactory.createEmptyBorder(2, 2, 2, 2));
+                    cellPanel.add(moduleLabel, BorderLayout.CENTER);
+                    cellPanel.setOpaque(true);
+
+                    // More than one module in a slot only happens when a clash cannot be avoided
+                    cellPanel.setBackground(moduleIds.size() > 1 ? new Color(255, 225, 225) : new Color(230, 240, 255));
                 }
 
                 panel.add(cellPanel, gbc);
@@ -0,0 +1,113 @@
+package gui.panels;
+
+import users.Student;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table model of the student directory.
+ * <p>
+ * The model wraps the list it is given without copying it and works out each cell
+ * when the table asks for it, so a table only does work for the rows on screen,
+ * however many students there are.
+ */
+final class StudentTableModel extends AbstractTableModel
+{
+    /**
+     * Column holding the View Modules and View Timetable actions
+     */
+    static final int ACTIONS_COLUMN = 5;
+
+    private static final String[] COLUMNS = {"ID", "Name", "Type", "Email", "Course", "Actions"};
+
+    /**
+     * The students shown, one per row
+     */
+    private List<Student> students = Collections.emptyList();
+
+    /**
+     * Replaces the students shown.
+     *
+     * @param students The students to show; the list must not be modified afterwards
+     */
+    void setStudents(List<Student> students)
+    {
+        this.students = students;
+        fireTableDataChanged();
+    }
+
+    /**
+     * @param row A row index
+     * @return The student shown in the row
+     */
+    Student getStudentAt(int row)
+    {
+        return students.get(row);
+    }
+
+    /**
+     * Checks whether a student is enrolled on a course, and so has modules and a timetable.
+     *
+     * @param student The student to check
+     * @return true if the student has a course
+     */
+    static boolean hasCourse(Student student)
+    {
+        String course = student.getCourse();
+        return course != null && !course.trim().isEmpty() && !course.equals("No course available");
+    }
+
+    @Override
+    public int getRowCount()
+    {
+        return students.size();
+    }
+
+    @Override
+    public int getColumnCount()
+    {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column)
+    {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column)
+    {
+        return column == 0 ? Integer.class : column == ACTIONS_COLUMN ? Student.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column)
+    {
+        Student student = students.get(row);
+        switch (column)
+        {
+            case 0:
+                return student.getId();
+            case 1:
+                return student.getFirstName() + " " + student.getLastName();
+            case 2:
+                return student.getType();
+            case 3:
+                return student.getEmail();
+            case 4:
+                return hasCourse(student) ? student.getCourse() : "";
+            default:
+                return student;
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column)
+    {
+        // The actions column is "edited" so that its buttons receive clicks
+        return column == ACTIONS_COLUMN && hasCourse(students.get(row));
+    }
+}
@@ -0,0 +1,85 @@
+package gui.panels;
+
+import users.Student;
+import users.StudentType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A student snapshot partitioned by student type.
+ * <p>
+ * Each student's type is parsed once when the snapshot is loaded, so switching the
+ * directory between types is a map lookup and the number of students of each type is
+ * known without counting again. Students whose type is not recognised appear only
+ * under all students, as they did before partitioning.
+ */
+final class StudentTypeBuckets
+{
+    /**
+     * Buckets with no students, shown before the first load
+     */
+    static final StudentTypeBuckets EMPTY = new StudentTypeBuckets(Collections.emptyList());
+
+    /**
+     * Bucket variables:
+     * <ul>
+     *   <li>{@code allStudents} - Every student in the snapshot, in file order</li>
+     *   <li>{@code studentsByType} - Unmodifiable list of the students of each type, in file order</li>
+     * </ul>
+     */
+    private final List<Student> allStudents;
+    private final Map<StudentType, List<Student>> studentsByType = new EnumMap<>(StudentType.class);
+
+    /**
+     * Partitions a snapshot of students by type.
+     *
+     * @param students Every loaded student
+     */
+    StudentTypeBuckets(List<Student> students)
+    {
+        this.allStudents = Collections.unmodifiableList(students);
+
+        for (StudentType type : StudentType.values())
+        {
+            studentsByType.put(type, new ArrayList<>());
+        }
+        for (Student student : students)
+        {
+            try
+            {
+                studentsByType.get(StudentType.fromString(student.getType())).add(student);
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Students with invalid types are only listed under all students
+            }
+        }
+        studentsByType.replaceAll((type, bucket) -> Collections.unmodifiableList(bucket));
+    }
+
+    /**
+     * Gets the students of one type.
+     *
+     * @param type The type to show, or null for every student
+     * @return Unmodifiable list of students
+     */
+    List<Student> get(StudentType type)
+    {
+        return type == null ? allStudents : studentsByType.get(type);
+    }
+
+    /**
+     * Gets the number of students of one type.
+     *
+     * @param type The type to count, or null for every student
+     * @return The number of students
+     */
+    int count(StudentType type)
+    {
+        return get(type).size();
+    }
+}
@@ -2,11 +2,14 @@ package users;
 
 import business.DepartmentId;
 import com.google.gson.Gson;
+import file_handling.DataRepository;
 import file_handling.FilePathHandler;
 import file_handling.JsonProcessor;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,7 +19,7 @@ public class Staff extends User implements IStaffMember
     private int weeklyHours;
     private int maxModules;
     private String avatar;
-    private static List<Staff> cachedStaff = null;
+    private static final DataRepository.DatasetLoader<List<Staff>> LOADER = Staff::loadFromFile;
 
     // Add methods to work with DepartmentId
     public DepartmentId getDepartmentId()
@@ -89,10 +92,23 @@ public class Staff extends User implements IStaffMember
 
     public static List<Staff> getByDepartment(String departmentName) throws IOException
     {
-        // Always read fresh from file
-        JsonProcessor staffProcessor = new JsonProcessor(FilePathHandler.STAFF_FILE.getNormalisedPath());
-        staffProcessor.processFile();
+        // Served from the shared repository, re-read only when the file changes
+        List<Staff> allStaff = DataRepository.getInstance().get(FilePathHandler.STAFF_FILE, LOADER);
 
+        // If empty department name, return all staff
+        if (departmentName == null || departmentName.trim().isEmpty())
+        {
+            return allStaff;
+        }
+
+        // Otherwise filter by department name
+        return allStaff.stream()
+                .filter(staff -> departmentName.equals(staff.getDepartment()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Staff> loadFromFile(String filePath) throws IOException
+    {
         // Create a custom GSON instance with field name mapping
         Gson gson = new com.google.gson.GsonBuilder()
                 .setFieldNamingStrategy(field ->
@@ -117,23 +133,10 @@ public class Staff extends User implements IStaffMember
                 })
                 .create();
 
-        Staff[] allStaff = gson.fromJson(
-                staffProcessor.getJsonContent().toString(),
-                Staff[].class
-        );
-
-        cachedStaff = Arrays.asList(allStaff);
-
-        // If empty department name, return all staff
-        if (departmentName == null || departmentName.trim().isEmpty())
-        {
-            return cachedStaff;
-        }
+        List<Staff> allStaff = new ArrayList<>();
+        new JsonProcessor(filePath, gson).streamRecords(null, Staff.class, allStaff::add);
 
-        // Otherwise filter by department name
-        return cachedStaff.stream()
-                .filter(staff -> departmentName.equals(staff.getDepartment()))
-                .collect(Collectors.toList());
+        return Collections.unmodifiableList(allStaff);
     }
 
     // Add a new method to get staff by DepartmentId
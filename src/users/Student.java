@@ -1,11 +1,13 @@
 package users;
 
 import com.google.gson.Gson;
+import file_handling.DataRepository;
 import file_handling.FilePathHandler;
 import file_handling.JsonProcessor;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -77,6 +79,11 @@ public class Student extends User implements IStudent
         this.type = type;
     }
 
+    /**
+     * Decodes the students file into an immutable list of students
+     */
+    private static final DataRepository.DatasetLoader<List<Student>> LOADER = Student::loadFromFile;
+
     /**
      * Returns a string representation of the student.
      * Includes all base user information plus student-specific attributes.
@@ -84,9 +91,6 @@ public class Student extends User implements IStudent
      * @return A string containing all student information in the format:
      * "[base user info], Gender: [gender], Type: [type]"
      */
-
-    private static List<Student> cachedStudents = null;
-
     @Override
     public String toString()
     {
@@ -96,8 +100,8 @@ public class Student extends User implements IStudent
 
     /**
      * Retrieves a list of students filtered by course name.
-     * Loads student data from a JSON file and filters based on the provided course name.
-     * If no course name is provided, returns all students.
+     * Student data is served from the shared repository, which only re-reads the JSON
+     * file when it has changed. If no course name is provided, returns all students.
      *
      * @param courseName The name of the course to filter by, or empty/null for all students
      * @return A list of students enrolled in the specified course, or all students if no course specified
@@ -106,10 +110,29 @@ public class Student extends User implements IStudent
      */
     public static List<Student> getByCourse(String courseName) throws IOException
     {
-        // Always read fresh from file
-        var studentProcessor = new JsonProcessor(FilePathHandler.STUDENTS_FILE.getNormalisedPath());
-        studentProcessor.processFile();
+        List<Student> allStudents = DataRepository.getInstance().get(FilePathHandler.STUDENTS_FILE, LOADER);
+
+        // If courseName is empty, return all students
+        if (courseName == null || courseName.trim().isEmpty())
+        {
+            return allStudents;
+        }
+
+        // Otherwise filter by course name
+        return allStudents.stream()
+                .filter(student -> courseName.equals(student.getCourse()))
+                .collect(Collectors.toList());
+    }
 
+    /**
+     * Parses the students file into an unmodifiable list of students.
+     *
+     * @param filePath Path of the students file
+     * @return Unmodifiable list of all students in the file
+     * @throws IOException If there is an error reading the file
+     */
+    private static List<Student> loadFromFile(String filePath) throws IOException
+    {
         // Create a custom GSON instance with field name mapping
         Gson gson = new com.google.gson.GsonBuilder()
                 .setFieldNamingStrategy(field ->
@@ -126,23 +149,10 @@ public class Student extends User implements IStudent
                 })
                 .create();
 
-        Student[] allStudents = gson.fromJson(
-                studentProcessor.getJsonContent().toString(),
-                Student[].class
-        );
-
-        cachedStudents = Arrays.asList(allStudents);
-
-        // If courseName is empty, return all students
-        if (courseName == null || courseName.trim().isEmpty())
-        {
-            return cachedStudents;
-        }
+        List<Student> allStudents = new ArrayList<>();
+        new JsonProcessor(filePath, gson).streamRecords(null, Student.class, allStudents::add);
 
-        // Otherwise filter by course name
-        return cachedStudents.stream()
-                .filter(student -> courseName.equals(student.getCourse()))
-                .collect(Collectors.toList());
+        return Collections.unmodifiableList(allStudents);
     }
 
     /**
@@ -0,0 +1,61 @@
+package business;
+
+import testframework.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test class for the AppendOnlyList.
+ * Verifies that extending a list leaves it unchanged, including when a list that has
+ * already been extended is extended again.
+ */
+public class AppendOnlyListTest extends BaseTest
+{
+    /**
+     * Tests that a run of appends builds the full list and leaves each shorter list as it was.
+     */
+    public void testAppendsLeaveEarlierListsUnchanged()
+    {
+        AppendOnlyList<Integer> empty = AppendOnlyList.empty();
+        AppendOnlyList<Integer> list = empty;
+        AppendOnlyList<Integer> firstTwo = null;
+        for (int i = 0; i < 20; i++)
+        {
+            list = list.with(i);
+            if (i == 1)
+            {
+                firstTwo = list;
+            }
+        }
+
+        Assert.assertEquals(20, list.size(), "Every append should be kept");
+        Assert.assertEquals(19, list.get(19), "Last element should be the last appended");
+        Assert.assertEquals(Arrays.asList(0, 1), firstTwo, "Earlier list should be unchanged");
+        Assert.assertTrue(empty.isEmpty(), "Empty list should stay empty");
+    }
+
+    /**
+     * Tests that extending a list twice gives two separate lists.
+     */
+    public void testExtendingTwiceCopies()
+    {
+        AppendOnlyList<String> base = AppendOnlyList.<String>empty().with("a");
+        AppendOnlyList<String> first = base.with("b");
+        AppendOnlyList<String> second = base.with("c");
+
+        Assert.assertEquals(Arrays.asList("a", "b"), first, "First extension should keep its element");
+        Assert.assertEquals(Arrays.asList("a", "c"), second, "Second extension should have its own element");
+        Assert.assertEquals(Collections.singletonList("a"), base, "Extended list should be unchanged");
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new AppendOnlyListTest().runTests();
+    }
+}
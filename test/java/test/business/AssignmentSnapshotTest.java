@@ -0,0 +1,105 @@
+package business;
+
+import testframework.*;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for the AssignmentSnapshot.
+ * Verifies that edits are applied in place and that readers cannot modify the snapshot.
+ */
+public class AssignmentSnapshotTest extends BaseTest
+{
+    private AssignmentSnapshot<StudentModuleAssignment> snapshot;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a snapshot holding two assignments.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        snapshot = new AssignmentSnapshot<>();
+        snapshot.store(1, new StudentModuleAssignment(1, List.of("a01-24")));
+        snapshot.store(2, new StudentModuleAssignment(2, List.of("b02-24")));
+    }
+
+    /**
+     * Tests that an edit replaces one entry and is seen through an existing reference.
+     */
+    public void testStoreReplacesInPlace()
+    {
+        Map<Integer, StudentModuleAssignment> reader = snapshot;
+        StudentModuleAssignment updated = new StudentModuleAssignment(2, List.of("c03-24"));
+        snapshot.store(2, updated);
+
+        Assert.assertTrue(reader.get(2) == updated, "Existing readers should see the edit");
+        Assert.assertEquals(List.of("a01-24"), reader.get(1).getModuleIds(), "Other entries should be untouched");
+        Assert.assertEquals(2, reader.size(), "Replacing an entry should not change the size");
+    }
+
+    /**
+     * Tests that the map interface is read-only.
+     */
+    public void testReadOnly()
+    {
+        boolean putRejected = false;
+        try
+        {
+            snapshot.put(3, new StudentModuleAssignment(3, List.of()));
+        }
+        catch (UnsupportedOperationException e)
+        {
+            putRejected = true;
+        }
+
+        boolean removeRejected = false;
+        try
+        {
+            Iterator<Map.Entry<Integer, StudentModuleAssignment>> entries = snapshot.entrySet().iterator();
+            entries.next();
+            entries.remove();
+        }
+        catch (UnsupportedOperationException e)
+        {
+            removeRejected = true;
+        }
+
+        Assert.assertTrue(putRejected, "put should be rejected");
+        Assert.assertTrue(removeRejected, "Removing through the entry set should be rejected");
+        Assert.assertEquals(2, snapshot.size(), "Snapshot should be unchanged");
+    }
+
+    /**
+     * Tests that iterating while an edit is applied does not fail.
+     */
+    public void testIterationDuringEdit()
+    {
+        int seen = 0;
+        for (Integer id : snapshot.keySet())
+        {
+            // The iteration may or may not reach the entries added here
+            if (id < 100)
+            {
+                snapshot.store(id + 100, new StudentModuleAssignment(id + 100, List.of()));
+                seen++;
+            }
+        }
+
+        Assert.assertEquals(2, seen, "Every original entry should be visited");
+        Assert.assertEquals(4, snapshot.size(), "Edits made during iteration should be kept");
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new AssignmentSnapshotTest().runTests();
+    }
+}
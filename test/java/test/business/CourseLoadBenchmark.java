@@ -0,0 +1,110 @@
+package business;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Regression benchmark for loading the courses file.
+ * Generates course files of increasing size and times {@code Course.loadFromFile}
+ * on each, to confirm that loading scales linearly with the number of courses.
+ * <p>
+ * The benchmark fails if the cost per course at the largest size is more than
+ * {@link #MAX_PER_COURSE_RATIO} times the cost per course at the smallest size.
+ */
+public class CourseLoadBenchmark
+{
+    private static final int[] SIZES = {500, 5_000, 50_000};
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final double MAX_PER_COURSE_RATIO = 4.0;
+
+    private static final String[] DEPARTMENTS = {
+            "Engineering", "Childhood", "Dance", "Creative", "Fine Art", "Humanities",
+            "Law", "Nursing", "Physiotherapy", "School of Music", "Social Work", "Theatre"
+    };
+
+    /**
+     * Runs the benchmark and prints the load time for each size.
+     *
+     * @param args Command line arguments (not used)
+     * @throws IOException if a generated file cannot be written or read
+     */
+    public static void main(String[] args) throws IOException
+    {
+        double[] nanosPerCourse = new double[SIZES.length];
+
+        System.out.println("=== Course load benchmark ===");
+        for (int i = 0; i < SIZES.length; i++)
+        {
+            File file = writeCoursesFile(SIZES[i]);
+            try
+            {
+                for (int run = 0; run < WARMUP_RUNS; run++)
+                {
+                    Course.loadFromFile(file.getPath());
+                }
+
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < MEASURED_RUNS; run++)
+                {
+                    long start = System.nanoTime();
+                    List<Course> courses = Course.loadFromFile(file.getPath());
+                    best = Math.min(best, System.nanoTime() - start);
+
+                    if (courses.size() != SIZES[i])
+                    {
+                        throw new IllegalStateException("Expected " + SIZES[i] + " courses, got " + courses.size());
+                    }
+                }
+
+                nanosPerCourse[i] = (double) best / SIZES[i];
+                System.out.printf("%,7d courses: %8.2f ms (%.2f us/course)%n",
+                        SIZES[i], best / 1_000_000.0, nanosPerCourse[i] / 1_000.0);
+            }
+            finally
+            {
+                file.delete();
+            }
+        }
+
+        double ratio = nanosPerCourse[SIZES.length - 1] / nanosPerCourse[0];
+        System.out.printf("Per-course cost ratio (%,d vs %,d): %.2f%n",
+                SIZES[SIZES.length - 1], SIZES[0], ratio);
+
+        if (ratio > MAX_PER_COURSE_RATIO)
+        {
+            System.out.println("FAILED: course loading no longer scales linearly");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    /**
+     * Writes a temporary courses file in the same format as the real data file.
+     *
+     * @param count Number of courses to generate
+     * @return The generated file
+     * @throws IOException if the file cannot be written
+     */
+    private static File writeCoursesFile(int count) throws IOException
+    {
+        File file = File.createTempFile("courses_bench_", ".json");
+        try (FileWriter writer = new FileWriter(file))
+        {
+            writer.write("{\"courses\":[");
+            for (int i = 0; i < count; i++)
+            {
+                if (i > 0)
+                {
+                    writer.write(',');
+                }
+                writer.write(String.format("{\"name\":\"BSc (Hons) Course %d\",\"code\":\"C%05d\",\"department\":\"%s\"}",
+                        i, i, DEPARTMENTS[i % DEPARTMENTS.length]));
+            }
+            writer.write("]}");
+        }
+        return file;
+    }
+}
@@ -2,6 +2,7 @@ package business;
 
 import testframework.*;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -87,6 +88,49 @@ public class CourseTest extends BaseTest
         }
     }
 
+    /**
+     * Tests the title index of the course catalogue.
+     * Verifies that titles resolve to course codes and unknown titles to an empty string.
+     */
+    public void testCatalogueTitleIndex()
+    {
+        Course other = new Course();
+        other.setCourseTitle("BA (Hons) Theatre");
+        other.setCourseId("W-400");
+        CourseCatalogue catalogue = new CourseCatalogue(Arrays.asList(course, other));
+
+        Assert.assertEquals(TEST_COURSE_ID, catalogue.getCourseCode(TEST_COURSE_TITLE),
+                "Title should resolve to its course code");
+        Assert.assertEquals("W400", catalogue.getCourseCode("BA (Hons) Theatre"),
+                "Course code should be normalised");
+        Assert.assertEquals("", catalogue.getCourseCode("Unknown Course"),
+                "Unknown title should resolve to an empty string");
+    }
+
+    /**
+     * Tests the department index of the course catalogue.
+     * Verifies that each department lists its own courses in file order.
+     */
+    public void testCatalogueDepartmentIndex()
+    {
+        Course second = new Course();
+        second.setCourseTitle("Advanced Programming");
+        second.setCourseId("CS201");
+        second.setDepartmentId(TEST_DEPARTMENT);
+        Course other = new Course();
+        other.setCourseTitle("BA (Hons) Theatre");
+        other.setCourseId("W-400");
+        other.setDepartmentId(DepartmentId.DAN);
+        CourseCatalogue catalogue = new CourseCatalogue(Arrays.asList(course, other, second));
+
+        Assert.assertEquals(Arrays.asList(course, second), catalogue.getCoursesByDepartment(TEST_DEPARTMENT),
+                "Department should list its courses in file order");
+        Assert.assertEquals(Arrays.asList(other), catalogue.getCoursesByDepartment(DepartmentId.DAN),
+                "Other department should list only its course");
+        Assert.assertTrue(catalogue.getCoursesByDepartment(DepartmentId.UNKNOWN).isEmpty(),
+                "Department without courses should have an empty list");
+    }
+
     /**
      * Tests the toString method of the Course class.
      * Verifies that the string representation contains all essential course information.
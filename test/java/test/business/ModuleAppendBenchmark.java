@@ -0,0 +1,145 @@
+package business;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import file_handling.AtomicFileWriter;
+import file_handling.DataRepository;
+import file_handling.FilePathHandler;
+import file_handling.JsonProcessor;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Regression benchmark for saving a new module.
+ * Replaces the modules file with generated catalogues of increasing size and times
+ * {@link Module#add(Module)} on each, next to the old approach of parsing the whole
+ * file, appending to the modules array and writing it back out. The real modules file
+ * is restored afterwards.
+ * <p>
+ * The benchmark fails if the median save at the largest size takes more than
+ * {@link #MAX_SAVE_RATIO} times as long as at the smallest size.
+ */
+public class ModuleAppendBenchmark
+{
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    /**
+     * Saves per size; the total stays below the journal's compaction threshold, so the
+     * modules file is never rewritten in the background while it is being restored
+     */
+    private static final int SAVES = 30;
+    private static final int REWRITE_SAVES = 3;
+    private static final double MAX_SAVE_RATIO = 4.0;
+
+    /**
+     * Runs the benchmark and prints the median save time for each size.
+     *
+     * @param args Command line arguments (not used)
+     * @throws IOException if a generated file cannot be written or read
+     */
+    public static void main(String[] args) throws IOException
+    {
+        Path modulesFile = Paths.get(FilePathHandler.MODULES_FILE.getNormalisedPath());
+        Path journalFile = Paths.get(FilePathHandler.MODULES_FILE.getJournalPath());
+        byte[] original = Files.readAllBytes(modulesFile);
+        double[] medians = new double[SIZES.length];
+
+        System.out.println("=== Module append benchmark ===");
+        try
+        {
+            for (int i = 0; i < SIZES.length; i++)
+            {
+                writeModulesFile(modulesFile, SIZES[i]);
+                Files.deleteIfExists(journalFile);
+                DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+                Module.getAll(); // Readers already hold the catalogue when a module is saved
+
+                long[] times = new long[SAVES];
+                for (int save = 0; save < SAVES; save++)
+                {
+                    Module module = createModule(SIZES[i] + save);
+                    long start = System.nanoTime();
+                    Module.add(module);
+                    times[save] = System.nanoTime() - start;
+
+                    if (Module.getModuleByCode(module.getCode()) != module)
+                    {
+                        throw new IllegalStateException("Saved module is not visible: " + module.getCode());
+                    }
+                }
+                Arrays.sort(times);
+                medians[i] = times[SAVES / 2] / 1_000_000.0;
+
+                long rewriteBest = Long.MAX_VALUE;
+                for (int save = 0; save < REWRITE_SAVES; save++)
+                {
+                    long start = System.nanoTime();
+                    rewriteWithModule(createModule(SIZES[i] + SAVES + save));
+                    rewriteBest = Math.min(rewriteBest, System.nanoTime() - start);
+                }
+
+                System.out.printf("%,7d modules: append %7.3f ms/save, full rewrite %9.3f ms/save%n",
+                        SIZES[i], medians[i], rewriteBest / 1_000_000.0);
+            }
+        }
+        finally
+        {
+            Files.write(modulesFile, original);
+            Files.deleteIfExists(journalFile);
+            DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+        }
+
+        double ratio = medians[SIZES.length - 1] / medians[0];
+        System.out.printf("Save time ratio (%,d vs %,d): %.2f%n", SIZES[SIZES.length - 1], SIZES[0], ratio);
+
+        if (ratio > MAX_SAVE_RATIO)
+        {
+            System.out.println("FAILED: saving a module no longer stays flat as the catalogue grows");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    /**
+     * Saves a module the way modules used to be saved, by rewriting the whole file.
+     */
+    private static void rewriteWithModule(Module module) throws IOException
+    {
+        JsonProcessor processor = new JsonProcessor(FilePathHandler.MODULES_FILE.getNormalisedPath());
+        processor.processFile();
+        JsonObject jsonObject = (JsonObject) processor.getJsonContent();
+        jsonObject.getAsJsonArray("modules").add(module.toJsonObject());
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        AtomicFileWriter.write(FilePathHandler.MODULES_FILE, writer -> gson.toJson(jsonObject, writer));
+    }
+
+    private static Module createModule(int number)
+    {
+        return new Module("Generated Module " + number, String.format("g%05d-99", number), "99",
+                Collections.singletonList("C" + (number % 500)));
+    }
+
+    private static void writeModulesFile(Path file, int size) throws IOException
+    {
+        JsonArray modules = new JsonArray();
+        for (int i = 0; i < size; i++)
+        {
+            modules.add(createModule(i).toJsonObject());
+        }
+        JsonObject root = new JsonObject();
+        root.add("modules", modules);
+
+        try (Writer writer = new FileWriter(file.toFile()))
+        {
+            new GsonBuilder().setPrettyPrinting().create().toJson(root, writer);
+        }
+    }
+}
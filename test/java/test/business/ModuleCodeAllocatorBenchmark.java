@@ -0,0 +1,111 @@
+package business;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Benchmark for allocating module codes in a nearly full academic year.
+ * Fills a year to {@link #OCCUPANCY} of its codes, then times the bitmap allocator
+ * against drawing random codes until one is missing from a set of used codes, which is
+ * how codes used to be generated.
+ * <p>
+ * The benchmark fails if an allocation takes more than {@link #MAX_MICROS_PER_CODE}
+ * microseconds on average.
+ */
+public class ModuleCodeAllocatorBenchmark
+{
+    private static final double OCCUPANCY = 0.95;
+    private static final int ALLOCATIONS = 200_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final double MAX_MICROS_PER_CODE = 5.0;
+    private static final String YEAR = "24";
+
+    /**
+     * Runs the benchmark and prints the cost of one allocation with each approach.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        Random random = new Random(7);
+        ModuleCodeAllocator allocator = new ModuleCodeAllocator(new Random(11));
+        Set<String> usedCodes = new HashSet<>();
+        int target = (int) (ModuleCodeAllocator.CODES_PER_YEAR * OCCUPANCY);
+        while (usedCodes.size() < target)
+        {
+            String code = String.format("%03x-%s", random.nextInt(ModuleCodeAllocator.CODES_PER_YEAR), YEAR);
+            usedCodes.add(code);
+            allocator.occupy(code);
+        }
+
+        System.out.println("=== Module code allocation benchmark ===");
+        System.out.printf("Occupancy: %,d of %,d codes%n", allocator.countUsed(YEAR), ModuleCodeAllocator.CODES_PER_YEAR);
+
+        // Allocations are not marked as used, so every run sees the same occupancy
+        long bitmapBest = Long.MAX_VALUE;
+        long probeBest = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+        {
+            long start = System.nanoTime();
+            for (int i = 0; i < ALLOCATIONS; i++)
+            {
+                check(usedCodes, allocator.next(YEAR));
+            }
+            long bitmapTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ALLOCATIONS; i++)
+            {
+                check(usedCodes, probe(usedCodes, random));
+            }
+            long probeTime = System.nanoTime() - start;
+
+            if (run >= WARMUP_RUNS)
+            {
+                bitmapBest = Math.min(bitmapBest, bitmapTime);
+                probeBest = Math.min(probeBest, probeTime);
+            }
+        }
+
+        double bitmapMicros = bitmapBest / 1_000.0 / ALLOCATIONS;
+        double probeMicros = probeBest / 1_000.0 / ALLOCATIONS;
+        System.out.printf("Bitmap allocator: %.3f us/code%n", bitmapMicros);
+        System.out.printf("Random probing:   %.3f us/code%n", probeMicros);
+
+        if (bitmapMicros > MAX_MICROS_PER_CODE)
+        {
+            System.out.println("FAILED: module code allocation is too slow in a nearly full year");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    /**
+     * Draws random codes until one is not in use, as module codes used to be generated.
+     */
+    private static String probe(Set<String> usedCodes, Random random)
+    {
+        String code;
+        do
+        {
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 3; i++)
+            {
+                hex.append(Integer.toHexString(random.nextInt(16)));
+            }
+            code = hex + "-" + YEAR;
+        }
+        while (usedCodes.contains(code));
+        return code;
+    }
+
+    private static void check(Set<String> usedCodes, String code)
+    {
+        if (usedCodes.contains(code))
+        {
+            throw new IllegalStateException("Allocated a code already in use: " + code);
+        }
+    }
+}
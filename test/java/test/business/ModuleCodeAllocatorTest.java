@@ -0,0 +1,150 @@
+package business;
+
+import testframework.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Test class for the ModuleCodeAllocator.
+ * Verifies that allocated codes are well formed and unused, that codes of other years
+ * and malformed codes do not block allocation, that a full year is reported and that
+ * modules added to the catalogue are marked without a rebuild.
+ */
+public class ModuleCodeAllocatorTest extends BaseTest
+{
+    private ModuleCodeAllocator allocator;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates an allocator with a fixed seed and no codes in use.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        allocator = new ModuleCodeAllocator(new Random(42));
+    }
+
+    /**
+     * Tests that an allocated code has three hex digits followed by the year.
+     */
+    public void testCodeFormat()
+    {
+        String code = allocator.next("24");
+        Assert.assertTrue(code.matches("[0-9a-f]{3}-24"), "Code should be three hex digits and the year: " + code);
+    }
+
+    /**
+     * Tests that every code of a year can be allocated exactly once before the year is full.
+     */
+    public void testAllocatesEveryCodeOnce()
+    {
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < ModuleCodeAllocator.CODES_PER_YEAR; i++)
+        {
+            String code = allocator.next("24");
+            Assert.assertTrue(codes.add(code), "Code should not be allocated twice: " + code);
+            allocator.occupy(code);
+        }
+        Assert.assertEquals(ModuleCodeAllocator.CODES_PER_YEAR, allocator.countUsed("24"), "Year should be full");
+
+        IllegalStateException exhausted = null;
+        try
+        {
+            allocator.next("24");
+        }
+        catch (IllegalStateException e)
+        {
+            exhausted = e;
+        }
+        Assert.assertNotNull(exhausted, "Full year should be reported");
+    }
+
+    /**
+     * Tests that the last free code of a nearly full year is found.
+     */
+    public void testFindsLastFreeCode()
+    {
+        for (int i = 0; i < ModuleCodeAllocator.CODES_PER_YEAR; i++)
+        {
+            if (i != 0xabc)
+            {
+                allocator.occupy(String.format("%03x-24", i));
+            }
+        }
+
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals("abc-24", allocator.next("24"), "Only free code should be allocated");
+        }
+    }
+
+    /**
+     * Tests that codes of other years and codes not of the generated form are ignored.
+     */
+    public void testIgnoresOtherCodes()
+    {
+        allocator.occupy("001-23");
+        allocator.occupy("367-RP");
+        allocator.occupy("1234-24");
+        allocator.occupy("xyz-24");
+        allocator.occupy("ABC-24");
+
+        Assert.assertEquals(1, allocator.countUsed("23"), "Other year should be tracked separately");
+        Assert.assertEquals(1, allocator.countUsed("24"), "Only the hex code should count for the year");
+    }
+
+    /**
+     * Tests that modules added to the catalogue are marked without rebuilding the bitmaps,
+     * and that a reloaded catalogue rebuilds them.
+     */
+    public void testCatchesUpWithAddedModules()
+    {
+        ModuleCatalogue catalogue = new ModuleCatalogue(Arrays.asList(
+                new Module("Loaded", "001-24", "24", Collections.singletonList("CS"))));
+        allocator.catchUp(catalogue);
+        // Not in any catalogue, so only survives while the bitmaps are not rebuilt
+        allocator.occupy("fff-24");
+
+        allocator.catchUp(catalogue.withModule(new Module("Added", "002-24", "24", Collections.singletonList("CS"))));
+        Assert.assertEquals(3, allocator.countUsed("24"), "Added module should be marked without a rebuild");
+
+        allocator.catchUp(new ModuleCatalogue(Collections.singletonList(
+                new Module("Reloaded", "003-24", "24", Collections.singletonList("CS")))));
+        Assert.assertEquals(1, allocator.countUsed("24"), "Reloaded catalogue should rebuild the bitmaps");
+    }
+
+    /**
+     * Tests that codes already in the modules file are never allocated.
+     */
+    public void testSkipsCatalogueCodes()
+    {
+        try
+        {
+            ModuleCodeAllocator shared = ModuleCodeAllocator.getInstance();
+            for (int i = 0; i < 100; i++)
+            {
+                String code = shared.allocate("20");
+                Assert.assertNull(Module.getCatalogue().getModuleByCode(code), "Code should be unused: " + code);
+            }
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new ModuleCodeAllocatorTest().runTests();
+    }
+}
@@ -1,9 +1,17 @@
 package business;
 
+import file_handling.DataRepository;
+import file_handling.FilePathHandler;
+import file_handling.MetricsRegistry;
 import testframework.*;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Test class for the Module entity.
@@ -89,6 +97,163 @@ public class ModuleTest extends BaseTest
                 "Should return 1 module with 'programming' in the name");
     }
 
+    /**
+     * Tests the course index of the module catalogue.
+     * Verifies that lookups return each associated module once, in file order.
+     */
+    public void testCatalogueCourseIndex()
+    {
+        Module first = new Module("Module 1", "M1", "2023", Arrays.asList("BSCS", "BSIT", "BSCS"));
+        Module second = new Module("Module 2", "M2", "2023", Arrays.asList("BSIT"));
+        ModuleCatalogue catalogue = new ModuleCatalogue(Arrays.asList(first, second));
+
+        Assert.assertEquals(Arrays.asList(first), catalogue.getModulesForCourse("BSCS"),
+                "BSCS should map to Module 1 only once");
+        Assert.assertEquals(Arrays.asList(first, second), catalogue.getModulesForCourse("BSIT"),
+                "BSIT should map to both modules in order");
+        Assert.assertTrue(catalogue.getModulesForCourse("BSEE").isEmpty(),
+                "Unknown course should have no modules");
+    }
+
+    /**
+     * Tests that adding a module to a catalogue extends its indexes and leaves the
+     * original catalogue unchanged.
+     */
+    public void testCatalogueWithModule()
+    {
+        Module first = new Module("Module 1", "M1", "2023", Arrays.asList("BSCS"));
+        Module second = new Module("Module 2", "M2", "2023", Arrays.asList("BSIT"));
+        Module added = new Module("Module 3", "M3", "2023", Arrays.asList("BSCS", "BSEE"));
+        ModuleCatalogue catalogue = new ModuleCatalogue(Arrays.asList(first, second));
+        ModuleCatalogue extended = catalogue.withModule(added);
+
+        Assert.assertEquals(Arrays.asList(first, second, added), extended.getModules(),
+                "Added module should be last");
+        Assert.assertEquals(Arrays.asList(first, added), extended.getModulesForCourse("BSCS"),
+                "Existing course should list the added module after its own");
+        Assert.assertEquals(Arrays.asList(added), extended.getModulesForCourse("BSEE"),
+                "New course should list the added module");
+        Assert.assertEquals(Arrays.asList(second), extended.getModulesForCourse("BSIT"),
+                "Unrelated course should be unchanged");
+        Assert.assertTrue(extended.getModuleByCode("M3") == added, "Added module should be found by code");
+        Assert.assertTrue(extended.getModuleByCode("M1") == first, "Loaded module should still be found by code");
+        Assert.assertNull(catalogue.getModuleByCode("M3"), "Original catalogue should be unchanged");
+        Assert.assertEquals(2, catalogue.getModules().size(), "Original module list should be unchanged");
+    }
+
+    /**
+     * Tests that extending a catalogue that has already been extended gives a separate
+     * catalogue, leaving the first extension unchanged.
+     */
+    public void testCatalogueExtendedTwice()
+    {
+        Module first = new Module("Module 1", "M1", "2023", Arrays.asList("BSCS"));
+        Module second = new Module("Module 2", "M2", "2023", Arrays.asList("BSCS"));
+        Module third = new Module("Module 3", "M3", "2023", Arrays.asList("BSCS"));
+        ModuleCatalogue catalogue = new ModuleCatalogue(Arrays.asList(first));
+        ModuleCatalogue withSecond = catalogue.withModule(second);
+        ModuleCatalogue withThird = catalogue.withModule(third);
+
+        Assert.assertEquals(Arrays.asList(first, second), withSecond.getModulesForCourse("BSCS"),
+                "First extension should keep its own module");
+        Assert.assertEquals(Arrays.asList(first, third), withThird.getModulesForCourse("BSCS"),
+                "Second extension should not see the first one's module");
+        Assert.assertNull(withThird.getModuleByCode("M2"), "Second extension should not find the first one's module");
+        Assert.assertTrue(withSecond.getModuleByCode("M2") == second, "First extension should still find its module");
+    }
+
+    /**
+     * Tests that adding a module leaves the modules file untouched, is visible straight
+     * away and is still there when the file and its journal are loaded again.
+     */
+    public void testAddAppendsToJournal() throws Exception
+    {
+        Path modulesFile = Paths.get(FilePathHandler.MODULES_FILE.getNormalisedPath());
+        Path journalFile = Paths.get(FilePathHandler.MODULES_FILE.getJournalPath());
+        byte[] original = Files.readAllBytes(modulesFile);
+        Files.deleteIfExists(journalFile);
+        DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+        try
+        {
+            int before = Module.getAll().size();
+            Module added = new Module("Journalled Module", "zzz-99", "99", Arrays.asList("BSCS"));
+            Module.add(added);
+
+            Assert.assertTrue(Arrays.equals(original, Files.readAllBytes(modulesFile)),
+                    "Modules file should not be rewritten");
+            Assert.assertTrue(Files.exists(journalFile), "Module should be written to the journal");
+            Assert.assertEquals(before + 1, Module.getAll().size(), "Cached catalogue should include the module");
+            Assert.assertTrue(Module.getModuleByCode("zzz-99") == added, "Module should be visible straight away");
+
+            DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+            Assert.assertEquals(added, Module.getModuleByCode("zzz-99"), "Reloaded catalogue should replay the journal");
+            Assert.assertEquals(before + 1, Module.getAll().size(), "Module should only be added once");
+        }
+        finally
+        {
+            Files.write(modulesFile, original);
+            Files.deleteIfExists(journalFile);
+            DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+        }
+    }
+
+    /**
+     * Tests that saving a module and then listing every module is served from the
+     * cached catalogue without loading the modules file again.
+     */
+    public void testAddThenGetAllDoesNotReload() throws Exception
+    {
+        Path modulesFile = Paths.get(FilePathHandler.MODULES_FILE.getNormalisedPath());
+        Path journalFile = Paths.get(FilePathHandler.MODULES_FILE.getJournalPath());
+        byte[] original = Files.readAllBytes(modulesFile);
+        Files.deleteIfExists(journalFile);
+        DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+        try
+        {
+            int before = Module.getAll().size();
+            long loadsBefore = DataRepository.getInstance().getLoadCount();
+            long readsBefore = MetricsRegistry.getInstance().traffic(FilePathHandler.MODULES_FILE).getReadCount();
+
+            Module.add(new Module("Cached Module", "zzy-99", "99", Arrays.asList("BSCS")));
+            List<Module> after = Module.getAll();
+
+            Assert.assertEquals(before + 1, after.size(), "Listing should include the saved module");
+            Assert.assertEquals(0L, DataRepository.getInstance().getLoadCount() - loadsBefore,
+                    "Saving and listing should not load any dataset");
+            Assert.assertEquals(0L, MetricsRegistry.getInstance().traffic(FilePathHandler.MODULES_FILE).getReadCount()
+                    - readsBefore, "Saving and listing should not read the modules file");
+        }
+        finally
+        {
+            Files.write(modulesFile, original);
+            Files.deleteIfExists(journalFile);
+            DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+        }
+    }
+
+    /**
+     * Tests that the department view holds the modules of every course in the
+     * department and is shared between calls.
+     */
+    public void testModulesForDepartment() throws Exception
+    {
+        Set<Module> expected = new HashSet<>();
+        for (Course course : Course.getAll())
+        {
+            if (course.getDepartmentId() == DepartmentId.LAW)
+            {
+                expected.addAll(Module.getModulesForCourse(course.getCourseCode()));
+            }
+        }
+
+        Set<Module> lawModules = Module.getModulesForDepartment("Law");
+        Assert.assertEquals(expected, lawModules, "Law should hold the modules of every Law course");
+        Assert.assertTrue(lawModules == Module.getModulesForDepartment(DepartmentId.LAW),
+                "Repeated lookups should share the same view");
+        Assert.assertTrue(Module.getModulesForDepartment("Not a department").isEmpty(),
+                "Unknown department name should have no modules");
+    }
+
     /**
      * Tests the toString method of the Module class.
      * Verifies that the string representation contains all essential module information.
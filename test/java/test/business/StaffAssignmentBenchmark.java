@@ -0,0 +1,133 @@
+package business;
+
+import users.Staff;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Benchmark for the staff-to-module assignment solver on generated instances.
+ * Staff and modules are spread over the real departments, with one module in five
+ * shared between two departments. Each instance is checked for limits and
+ * double coverage, and the benchmark fails if the largest instance takes longer
+ * than {@link #MAX_SECONDS}.
+ */
+public class StaffAssignmentBenchmark
+{
+    private static final int[][] INSTANCES = {{2_000, 10_000}, {20_000, 100_000}};
+    private static final double MAX_SECONDS = 5.0;
+    private static final long SEED = 42;
+
+    /**
+     * Runs the benchmark and prints the solve time for each instance.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        DepartmentId[] departments = teachingDepartments();
+        double lastSeconds = 0;
+
+        System.out.println("=== Staff assignment benchmark ===");
+        for (int[] instance : INSTANCES)
+        {
+            Random random = new Random(SEED);
+            List<Staff> staff = createStaff(instance[0], departments, random);
+            Map<DepartmentId, Set<Module>> modules = createModules(instance[1], departments, random);
+
+            // One warm-up solve, then a timed one
+            new StaffAssignmentSolver(staff, modules).solve();
+            StaffAssignmentSolver.Result result = new StaffAssignmentSolver(staff, modules).solve();
+            lastSeconds = result.getElapsedNanos() / 1_000_000_000.0;
+
+            int covered = verify(staff, result);
+            System.out.printf("%,7d staff / %,8d modules: %7.1f ms, %,d covered, %,d uncovered%n",
+                    instance[0], instance[1], result.getElapsedNanos() / 1_000_000.0, covered,
+                    result.getUncovered().size());
+        }
+
+        if (lastSeconds > MAX_SECONDS)
+        {
+            System.out.println("FAILED: largest instance took longer than " + MAX_SECONDS + " s");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    /**
+     * Checks that no member of staff is over capacity and no module is covered twice.
+     *
+     * @return Number of modules covered
+     */
+    private static int verify(List<Staff> staff, StaffAssignmentSolver.Result result)
+    {
+        Set<String> assigned = new HashSet<>();
+        int covered = 0;
+        for (Staff member : staff)
+        {
+            List<String> moduleIds = result.getModuleIdsByStaff().get(member.getId());
+            if (moduleIds.size() > StaffAssignmentSolver.capacityOf(member))
+            {
+                throw new IllegalStateException("Staff " + member.getId() + " is over capacity");
+            }
+            for (String moduleId : moduleIds)
+            {
+                if (!assigned.add(moduleId))
+                {
+                    throw new IllegalStateException("Module " + moduleId + " is covered twice");
+                }
+                covered++;
+            }
+        }
+        return covered;
+    }
+
+    private static DepartmentId[] teachingDepartments()
+    {
+        List<DepartmentId> departments = new ArrayList<>();
+        for (DepartmentId departmentId : DepartmentId.values())
+        {
+            if (departmentId != DepartmentId.UNKNOWN)
+            {
+                departments.add(departmentId);
+            }
+        }
+        return departments.toArray(new DepartmentId[0]);
+    }
+
+    private static List<Staff> createStaff(int count, DepartmentId[] departments, Random random)
+    {
+        List<Staff> staff = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            Staff member = new Staff();
+            member.setId(i + 1);
+            member.setDepartment(departments[random.nextInt(departments.length)].getDepartmentName());
+            member.setMaxModules(1 + random.nextInt(6));
+            member.setWeeklyHours(20 + random.nextInt(18));
+            staff.add(member);
+        }
+        return staff;
+    }
+
+    private static Map<DepartmentId, Set<Module>> createModules(int count, DepartmentId[] departments, Random random)
+    {
+        Map<DepartmentId, Set<Module>> modules = new EnumMap<>(DepartmentId.class);
+        for (int i = 0; i < count; i++)
+        {
+            Module module = new Module("Module " + i, String.format("M%06d", i), "24", new ArrayList<>());
+            modules.computeIfAbsent(departments[random.nextInt(departments.length)], d -> new LinkedHashSet<>()).add(module);
+            if (random.nextInt(5) == 0)
+            {
+                modules.computeIfAbsent(departments[random.nextInt(departments.length)], d -> new LinkedHashSet<>()).add(module);
+            }
+        }
+        return modules;
+    }
+}
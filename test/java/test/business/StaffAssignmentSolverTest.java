@@ -0,0 +1,108 @@
+package business;
+
+import testframework.*;
+import users.Staff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test class for the StaffAssignmentSolver.
+ * Verifies coverage, per-staff limits and load balancing on small hand-built instances.
+ */
+public class StaffAssignmentSolverTest extends BaseTest
+{
+    /**
+     * Tests that a module shared by two departments is routed to the department
+     * that has capacity left, so every module is covered.
+     */
+    public void testSharedModuleRoutedToSpareCapacity()
+    {
+        Module shared = module("S1");
+        Module lawOnly = module("L1");
+        Map<DepartmentId, Set<Module>> modules = new EnumMap<>(DepartmentId.class);
+        modules.put(DepartmentId.LAW, new LinkedHashSet<>(Arrays.asList(shared, lawOnly)));
+        modules.put(DepartmentId.DAN, new LinkedHashSet<>(Arrays.asList(shared)));
+
+        StaffAssignmentSolver.Result result = new StaffAssignmentSolver(
+                Arrays.asList(staff(1, "Law", 1, 40), staff(2, "Dance", 1, 40)), modules).solve();
+
+        Assert.assertTrue(result.getUncovered().isEmpty(), "Both modules should be covered");
+        Assert.assertEquals(Arrays.asList("L1"), result.getModuleIdsByStaff().get(1), "Law staff should take the Law-only module");
+        Assert.assertEquals(Arrays.asList("S1"), result.getModuleIdsByStaff().get(2), "Dance staff should take the shared module");
+    }
+
+    /**
+     * Tests that no member of staff goes over their module limit or weekly hours,
+     * and that no module is given to two members of staff.
+     */
+    public void testLimitsHonoured()
+    {
+        List<Module> lawModules = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            lawModules.add(module("L" + i));
+        }
+        Map<DepartmentId, Set<Module>> modules = new EnumMap<>(DepartmentId.class);
+        modules.put(DepartmentId.LAW, new LinkedHashSet<>(lawModules));
+
+        // Staff 2 may take 5 modules but only has hours for 2
+        StaffAssignmentSolver.Result result = new StaffAssignmentSolver(
+                Arrays.asList(staff(1, "Law", 3, 40), staff(2, "Law", 5, 2 * StaffAssignmentSolver.TEACHING_HOURS_PER_MODULE)),
+                modules).solve();
+
+        Assert.assertEquals(3, result.getModuleIdsByStaff().get(1).size(), "Staff 1 should be filled to their module limit");
+        Assert.assertEquals(2, result.getModuleIdsByStaff().get(2).size(), "Staff 2 should be limited by weekly hours");
+        Assert.assertEquals(5, result.getUncovered().size(), "Modules beyond capacity should be reported");
+
+        Set<String> assigned = new HashSet<>(result.getModuleIdsByStaff().get(1));
+        assigned.addAll(result.getModuleIdsByStaff().get(2));
+        Assert.assertEquals(5, assigned.size(), "No module should be assigned twice");
+    }
+
+    /**
+     * Tests that modules are spread evenly when there is spare capacity.
+     */
+    public void testLoadBalanced()
+    {
+        Map<DepartmentId, Set<Module>> modules = new EnumMap<>(DepartmentId.class);
+        modules.put(DepartmentId.LAW, new LinkedHashSet<>(Arrays.asList(module("L1"), module("L2"))));
+
+        StaffAssignmentSolver.Result result = new StaffAssignmentSolver(
+                Arrays.asList(staff(1, "Law", 4, 40), staff(2, "Law", 4, 40)), modules).solve();
+
+        Assert.assertEquals(1, result.getModuleIdsByStaff().get(1).size(), "Staff 1 should take one module");
+        Assert.assertEquals(1, result.getModuleIdsByStaff().get(2).size(), "Staff 2 should take one module");
+    }
+
+    private static Module module(String code)
+    {
+        return new Module("Module " + code, code, "24", new ArrayList<>());
+    }
+
+    private static Staff staff(int id, String department, int maxModules, int weeklyHours)
+    {
+        Staff staff = new Staff();
+        staff.setId(id);
+        staff.setDepartment(department);
+        staff.setMaxModules(maxModules);
+        staff.setWeeklyHours(weeklyHours);
+        return staff;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new StaffAssignmentSolverTest().runTests();
+    }
+}
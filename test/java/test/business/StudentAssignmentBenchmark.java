@@ -0,0 +1,98 @@
+package business;
+
+import users.Student;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Throughput benchmark for initial student module assignment generation.
+ * Generates synthetic students spread over the real courses and times the
+ * generator on one worker and on the common pool, printing students per second
+ * so that regeneration windows can be sized for large intakes.
+ * <p>
+ * The benchmark fails if the parallel run does not assign the same number of
+ * students as the single-worker run.
+ */
+public class StudentAssignmentBenchmark
+{
+    private static final int[] SIZES = {50_000, 500_000};
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    /**
+     * Runs the benchmark and prints the throughput for each size.
+     *
+     * @param args Command line arguments (not used)
+     * @throws IOException if the course or module file cannot be read
+     */
+    public static void main(String[] args) throws IOException
+    {
+        CourseCatalogue courses = Course.getCatalogue();
+        ModuleCatalogue modules = Module.getCatalogue();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool common = ForkJoinPool.commonPool();
+
+        System.out.println("=== Student assignment benchmark (" + common.getParallelism() + " workers) ===");
+        for (int size : SIZES)
+        {
+            List<Student> students = createStudents(size, courses.getCourses());
+
+            StudentAssignmentGenerator.Result sequential = bestOf(courses, modules, students, single);
+            StudentAssignmentGenerator.Result parallel = bestOf(courses, modules, students, common);
+            System.out.printf("%,9d students: 1 worker %,12.0f students/s, pool %,12.0f students/s%n",
+                    size, sequential.getStudentsPerSecond(), parallel.getStudentsPerSecond());
+
+            if (sequential.getAssignments().size() != parallel.getAssignments().size())
+            {
+                System.out.println("FAILED: parallel run assigned " + parallel.getAssignments().size()
+                        + " students, expected " + sequential.getAssignments().size());
+                System.exit(1);
+            }
+        }
+        single.shutdown();
+        System.out.println("PASSED");
+    }
+
+    /**
+     * Runs the generator several times and keeps the fastest run.
+     */
+    private static StudentAssignmentGenerator.Result bestOf(CourseCatalogue courses, ModuleCatalogue modules,
+                                                            List<Student> students, ForkJoinPool pool)
+    {
+        StudentAssignmentGenerator.Result best = null;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+        {
+            // A fresh generator each run so the per-course cache is rebuilt
+            StudentAssignmentGenerator.Result result = new StudentAssignmentGenerator(courses, modules)
+                    .generate(students, pool);
+            if (run >= WARMUP_RUNS && (best == null || result.getElapsedNanos() < best.getElapsedNanos()))
+            {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Creates students assigned round-robin to the given courses.
+     *
+     * @param count   Number of students to create
+     * @param courses Courses to enrol them on
+     * @return The students
+     */
+    private static List<Student> createStudents(int count, List<Course> courses)
+    {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            Student student = new Student();
+            student.setId(i + 1);
+            student.setCourse(courses.get(i % courses.size()).getCourseTitle());
+            students.add(student);
+        }
+        return students;
+    }
+}
@@ -0,0 +1,81 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Benchmark for timetable generation at scale.
+ * Generates students on a set of courses, each taking a handful of core modules of
+ * their course plus a few options, solves the whole timetable, then times
+ * incremental re-solves after single students change their options.
+ */
+public class TimetableBenchmark
+{
+    private static final int STUDENTS = 100_000;
+    private static final int COURSES = 400;
+    private static final int MODULES_PER_COURSE = 8;
+    private static final int CORE_MODULES = 5;
+    private static final int OPTIONS = 2;
+    private static final int INCREMENTAL_UPDATES = 1_000;
+    private static final long SEED = 7;
+
+    /**
+     * Runs the benchmark and prints the solve times and remaining clashes.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        Random random = new Random(SEED);
+        List<List<String>> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++)
+        {
+            students.add(createModules(random));
+        }
+
+        System.out.println("=== Timetable benchmark ===");
+        long start = System.nanoTime();
+        TimetableSolver solver = new TimetableSolver(Timetable.SLOT_COUNT);
+        List<TimetableSolver.Group> groups = new ArrayList<>(STUDENTS);
+        for (List<String> modules : students)
+        {
+            groups.add(solver.enrol(modules));
+        }
+        solver.solveAll();
+        long fullNanos = System.nanoTime() - start;
+        System.out.printf("Full solve, %,d students: %.1f ms, %,d students with a clash%n",
+                STUDENTS, fullNanos / 1_000_000.0, solver.countClashingStudents());
+
+        start = System.nanoTime();
+        for (int i = 0; i < INCREMENTAL_UPDATES; i++)
+        {
+            int student = random.nextInt(STUDENTS);
+            solver.removeStudent(groups.get(student));
+            groups.set(student, solver.addStudent(createModules(random)));
+        }
+        long incrementalNanos = System.nanoTime() - start;
+        System.out.printf("Incremental re-solve: %.3f ms per changed student, %,d students with a clash%n",
+                incrementalNanos / 1_000_000.0 / INCREMENTAL_UPDATES, solver.countClashingStudents());
+    }
+
+    /**
+     * Picks a course's core modules plus options from other courses.
+     */
+    private static List<String> createModules(Random random)
+    {
+        int course = random.nextInt(COURSES);
+        Set<String> modules = new LinkedHashSet<>();
+        for (int m = 0; m < CORE_MODULES; m++)
+        {
+            modules.add("C" + course + "-M" + m);
+        }
+        for (int o = 0; o < OPTIONS; o++)
+        {
+            modules.add("C" + random.nextInt(COURSES) + "-M" + (CORE_MODULES + random.nextInt(MODULES_PER_COURSE - CORE_MODULES)));
+        }
+        return new ArrayList<>(modules);
+    }
+}
@@ -0,0 +1,80 @@
+package business;
+
+import testframework.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test class for the TimetableSolver.
+ * Verifies clash-free placement, incremental repair and unavoidable clashes on
+ * small instances.
+ */
+public class TimetableSolverTest extends BaseTest
+{
+    /**
+     * Tests that co-enrolled modules are placed in different slots.
+     */
+    public void testNoClashWhenFeasible()
+    {
+        TimetableSolver solver = new TimetableSolver(3);
+        solver.enrol(Arrays.asList("A", "B", "C"));
+        solver.enrol(Arrays.asList("C", "D"));
+        solver.enrol(Arrays.asList("A", "D"));
+        solver.solveAll();
+
+        Assert.assertEquals(0, solver.countClashingStudents(), "A feasible instance should have no clashes");
+        assertDistinctSlots(solver, Arrays.asList("A", "B", "C"));
+    }
+
+    /**
+     * Tests that adding a student only moves modules that now clash.
+     */
+    public void testIncrementalRepair()
+    {
+        // Start with A and B in the same slot, then enrol a student taking both
+        TimetableSolver seeded = new TimetableSolver(2);
+        seeded.seed(Map.of("A", 0, "B", 0, "C", 1));
+        seeded.takeChanged();
+        seeded.addStudent(Arrays.asList("A", "B"));
+
+        Assert.assertTrue(seeded.takeChanged(), "Repair should move a clashing module");
+        assertDistinctSlots(seeded, Arrays.asList("A", "B"));
+        Assert.assertEquals(1, seeded.slotOf("C"), "Modules outside the group should not move");
+    }
+
+    /**
+     * Tests that more modules than slots yields a reported clash instead of a failure.
+     */
+    public void testUnavoidableClashReported()
+    {
+        TimetableSolver solver = new TimetableSolver(2);
+        solver.enrol(Arrays.asList("A", "B", "C"));
+        solver.solveAll();
+
+        Assert.assertEquals(1, solver.countClashingStudents(), "Student with three modules in two slots should clash");
+    }
+
+    private static void assertDistinctSlots(TimetableSolver solver, List<String> modules)
+    {
+        Set<Integer> slots = new HashSet<>();
+        for (String module : modules)
+        {
+            slots.add(solver.slotOf(module));
+        }
+        Assert.assertEquals(modules.size(), slots.size(), "Modules " + modules + " should be in different slots");
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new TimetableSolverTest().runTests();
+    }
+}
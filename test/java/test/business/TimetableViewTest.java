@@ -0,0 +1,196 @@
+package business;
+
+import file_handling.DataRepository;
+import file_handling.FilePathHandler;
+import file_handling.MetricsRegistry;
+import testframework.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Test class for the TimetableView.
+ * Verifies that the view resolves module names up front and that displaying every
+ * term of a student's timetable reads each data file at most once.
+ * The saved timetable file is restored after each test method.
+ */
+public class TimetableViewTest extends BaseTest
+{
+    private Path timetableFile;
+    private byte[] originalContent;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Keeps a copy of the saved timetable, if there is one, so it can be restored.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        try
+        {
+            timetableFile = Paths.get(FilePathHandler.TIMETABLE_FILE.getNormalisedPath());
+            originalContent = Files.exists(timetableFile) ? Files.readAllBytes(timetableFile) : null;
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Restores the saved timetable after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        try
+        {
+            if (originalContent != null)
+            {
+                Files.write(timetableFile, originalContent);
+            }
+            else
+            {
+                Files.deleteIfExists(timetableFile);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        super.cleanup();
+    }
+
+    /**
+     * Tests that the view places modules in their slots and names them from the catalogue.
+     */
+    public void testResolvesModuleNames()
+    {
+        Map<String, Integer> slots = Map.of("CS101", 0, "CS102", Timetable.slotIndex(1, 2, 3));
+        StudentTimetable timetable = StudentTimetable.of(Arrays.asList("CS101", "CS102", "XX999"),
+                module -> slots.getOrDefault(module, -1), Timetable.SLOT_COUNT);
+        ModuleCatalogue catalogue = new ModuleCatalogue(Arrays.asList(
+                new Module("Programming", "CS101", "2024", Collections.singletonList("CS")),
+                new Module("Algorithms", "CS102", "2024", Collections.singletonList("CS"))));
+
+        TimetableView view = TimetableView.of(timetable, catalogue);
+
+        Assert.assertEquals(Collections.singletonList("CS101"), view.getModules(0, 0, 0), "First slot should hold CS101");
+        Assert.assertEquals(Collections.singletonList("CS102"), view.getModules(1, 2, 3), "CS102 should be in its slot");
+        Assert.assertEquals("Algorithms", view.getModuleName("CS102"), "Module names should be resolved");
+        Assert.assertNull(view.getModuleName("XX999"), "Unplaced modules should not be named");
+        Assert.assertFalse(view.hasClash(), "Separate slots should not clash");
+    }
+
+    /**
+     * Tests that resolving a view on a cold cache reads the assignments and the module
+     * catalogue once each, and that rendering every cell of every term reads nothing more.
+     */
+    public void testColdViewReadsEachFileOnce()
+    {
+        try
+        {
+            int studentId = anyStudentId();
+            DataRepository.getInstance().invalidate(FilePathHandler.ASSIGNED_STUDENTS_FILE);
+            DataRepository.getInstance().invalidate(FilePathHandler.MODULES_FILE);
+
+            long assignmentsBefore = readCount(FilePathHandler.ASSIGNED_STUDENTS_FILE);
+            long modulesBefore = readCount(FilePathHandler.MODULES_FILE);
+            int placed = renderEveryCell(TimetableView.forStudent(studentId));
+
+            Assert.assertEquals(1L, readCount(FilePathHandler.ASSIGNED_STUDENTS_FILE) - assignmentsBefore,
+                    "A cold view should read the assignments once");
+            Assert.assertEquals(1L, readCount(FilePathHandler.MODULES_FILE) - modulesBefore,
+                    "A cold view should read the module catalogue once");
+            if (!StudentModuleAssignment.loadSnapshot().isEmpty())
+            {
+                Assert.assertTrue(placed > 0, "A student with assignments should have modules in the timetable");
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Tests that resolving and rendering a view on a warm cache loads nothing.
+     */
+    public void testWarmViewLoadsNothing()
+    {
+        try
+        {
+            int studentId = anyStudentId();
+            TimetableView.forStudent(studentId);
+
+            long loadsBefore = DataRepository.getInstance().getLoadCount();
+            renderEveryCell(TimetableView.forStudent(studentId));
+
+            Assert.assertEquals(0L, DataRepository.getInstance().getLoadCount() - loadsBefore,
+                    "A warm view should not load any dataset");
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return The ID of a student with assignments, or 1 if there are none
+     */
+    private static int anyStudentId() throws IOException
+    {
+        Map<Integer, StudentModuleAssignment> assignments = StudentModuleAssignment.loadSnapshot();
+        return assignments.isEmpty() ? 1 : assignments.keySet().iterator().next();
+    }
+
+    /**
+     * Reads every cell of every term the way the timetable dialog does.
+     *
+     * @param view The view to render
+     * @return Number of modules placed in the timetable
+     */
+    private static int renderEveryCell(TimetableView view)
+    {
+        int placed = 0;
+        for (int term = 0; term < Timetable.TERMS; term++)
+        {
+            for (int day = 0; day < Timetable.DAYS; day++)
+            {
+                for (int period = 0; period < Timetable.PERIODS; period++)
+                {
+                    for (String code : view.getModules(term, day, period))
+                    {
+                        view.getModuleName(code);
+                        placed++;
+                    }
+                }
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * @return Number of times a dataset's files have been read
+     */
+    private static long readCount(FilePathHandler dataset)
+    {
+        return MetricsRegistry.getInstance().traffic(dataset).getReadCount();
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new TimetableViewTest().runTests();
+    }
+}
@@ -0,0 +1,136 @@
+package file_handling;
+
+import testframework.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the AtomicFileWriter.
+ * Verifies that files are replaced whole, that no temporary files are left behind
+ * and that concurrent saves leave the content of one of them.
+ */
+public class AtomicFileWriterTest extends BaseTest
+{
+    private File directory;
+    private File target;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates an empty temporary directory holding a target file.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        try
+        {
+            directory = Files.createTempDirectory("atomic_writer_test_").toFile();
+            target = new File(directory, "data.json");
+            Files.writeString(target.toPath(), "old");
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Removes the temporary directory after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        File[] files = directory.listFiles();
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                file.delete();
+            }
+        }
+        directory.delete();
+        super.cleanup();
+    }
+
+    /**
+     * Tests that a write replaces the file and leaves no temporary file behind.
+     */
+    public void testReplacesFile() throws IOException
+    {
+        AtomicFileWriter.write(target.getPath(), writer -> writer.write("new"));
+
+        Assert.assertEquals("new", Files.readString(target.toPath()), "File should hold the new content");
+        Assert.assertEquals(1, directory.listFiles().length, "No temporary file should remain");
+    }
+
+    /**
+     * Tests that a failing content writer leaves the original file untouched.
+     */
+    public void testFailedWriteKeepsOriginal() throws IOException
+    {
+        boolean failed = false;
+        try
+        {
+            AtomicFileWriter.write(target.getPath(), writer ->
+            {
+                writer.write("partial");
+                throw new IOException("simulated failure");
+            });
+        }
+        catch (IOException e)
+        {
+            failed = true;
+        }
+
+        Assert.assertTrue(failed, "Write should report the failure");
+        Assert.assertEquals("old", Files.readString(target.toPath()), "Original content should survive");
+        Assert.assertEquals(1, directory.listFiles().length, "No temporary file should remain");
+    }
+
+    /**
+     * Tests that concurrent saves leave the complete content of one of them.
+     */
+    public void testConcurrentSaves() throws Exception
+    {
+        List<Thread> threads = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            String content = String.valueOf(i).repeat(1_000);
+            contents.add(content);
+            threads.add(new Thread(() ->
+            {
+                try
+                {
+                    AtomicFileWriter.write(target.getPath(), writer -> writer.write(content));
+                }
+                catch (IOException e)
+                {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        Assert.assertTrue(contents.contains(Files.readString(target.toPath())), "File should hold one complete save");
+        Assert.assertEquals(1, directory.listFiles().length, "No temporary file should remain");
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new AtomicFileWriterTest().runTests();
+    }
+}
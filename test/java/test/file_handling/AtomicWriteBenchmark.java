@@ -0,0 +1,111 @@
+package file_handling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput benchmark for {@link AtomicFileWriter}.
+ * Runs many small saves of one file from an increasing number of threads and
+ * prints the saves per second and the number of disk flushes each save cost.
+ * With group commit, concurrent saves should share flushes, so the flushes per
+ * save should fall as threads are added.
+ */
+public class AtomicWriteBenchmark
+{
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+    private static final int SAVES_PER_THREAD = 200;
+    private static final int RECORD_COUNT = 100;
+
+    /**
+     * Runs the benchmark and prints the throughput for each thread count.
+     *
+     * @param args Command line arguments (not used)
+     * @throws Exception if the benchmark file cannot be written
+     */
+    public static void main(String[] args) throws Exception
+    {
+        File directory = Files.createTempDirectory("atomic_write_bench_").toFile();
+        File target = new File(directory, "assignments.json");
+        String content = buildContent();
+
+        System.out.println("=== Atomic write benchmark ===");
+        try
+        {
+            for (int threads : THREAD_COUNTS)
+            {
+                long syncsBefore = AtomicFileWriter.getSyncCount();
+                long start = System.nanoTime();
+                runSaves(target, content, threads);
+                long elapsed = System.nanoTime() - start;
+
+                int saves = threads * SAVES_PER_THREAD;
+                long syncs = AtomicFileWriter.getSyncCount() - syncsBefore;
+                System.out.printf("%2d threads: %,6d saves in %7.1f ms = %,8.0f saves/s, %.2f flushes/save%n",
+                        threads, saves, elapsed / 1_000_000.0, saves / (elapsed / 1_000_000_000.0),
+                        (double) syncs / saves);
+            }
+        }
+        finally
+        {
+            target.delete();
+            directory.delete();
+        }
+    }
+
+    /**
+     * Saves the content from several threads at once and waits for them all.
+     *
+     * @param target  The file to save
+     * @param content The content of each save
+     * @param threads Number of saving threads
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void runSaves(File target, String content, int threads) throws InterruptedException
+    {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+        {
+            workers.add(new Thread(() ->
+            {
+                for (int i = 0; i < SAVES_PER_THREAD; i++)
+                {
+                    try
+                    {
+                        AtomicFileWriter.write(target.getPath(), writer -> writer.write(content));
+                    }
+                    catch (IOException e)
+                    {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers)
+        {
+            worker.join();
+        }
+    }
+
+    /**
+     * Builds an assignments document of roughly the size of the real one.
+     *
+     * @return The JSON content
+     */
+    private static String buildContent()
+    {
+        StringBuilder json = new StringBuilder("{\"assignments\":[");
+        for (int i = 0; i < RECORD_COUNT; i++)
+        {
+            if (i > 0)
+            {
+                json.append(',');
+            }
+            json.append("{\"studentId\":").append(i).append(",\"moduleIds\":[\"4f9-18\",\"a01-19\"]}");
+        }
+        return json.append("]}").toString();
+    }
+}
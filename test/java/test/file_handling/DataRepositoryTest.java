@@ -0,0 +1,268 @@
+package file_handling;
+
+import testframework.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class for the DataRepository cache.
+ * Verifies that datasets are parsed once, shared between callers and reloaded
+ * when the underlying file changes or is invalidated, and that concurrent reads
+ * share one load.
+ */
+public class DataRepositoryTest extends BaseTest
+{
+    private DataRepository repository;
+    private AtomicInteger loadCount;
+    private DataRepository.DatasetLoader<String> countingLoader;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a loader that counts how many times the file is read.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        repository = DataRepository.getInstance();
+        loadCount = new AtomicInteger();
+        countingLoader = filePath -> "load-" + loadCount.incrementAndGet();
+        repository.invalidate(FilePathHandler.DEPARTMENTS_FILE);
+    }
+
+    /**
+     * Tests that repeated reads of an unchanged file share one snapshot.
+     */
+    public void testLoadsOnce() throws Exception
+    {
+        String first = repository.get(FilePathHandler.DEPARTMENTS_FILE, countingLoader);
+        String second = repository.get(FilePathHandler.DEPARTMENTS_FILE, countingLoader);
+
+        Assert.assertEquals(1, loadCount.get(), "File should only be loaded once");
+        Assert.assertTrue(first == second, "Callers should share the same snapshot");
+    }
+
+    /**
+     * Tests that invalidating a dataset forces the next read to reload it.
+     */
+    public void testInvalidateReloads() throws Exception
+    {
+        repository.get(FilePathHandler.DEPARTMENTS_FILE, countingLoader);
+        repository.invalidate(FilePathHandler.DEPARTMENTS_FILE);
+        String reloaded = repository.get(FilePathHandler.DEPARTMENTS_FILE, countingLoader);
+
+        Assert.assertEquals(2, loadCount.get(), "Invalidated dataset should be reloaded");
+        Assert.assertEquals("load-2", reloaded, "Reloaded snapshot should be returned");
+    }
+
+    /**
+     * Tests that a change to the file's modification time is detected.
+     */
+    public void testModifiedFileReloads() throws Exception
+    {
+        File file = new File(FilePathHandler.DEPARTMENTS_FILE.getNormalisedPath());
+        long originalModified = file.lastModified();
+        try
+        {
+            repository.get(FilePathHandler.DEPARTMENTS_FILE, countingLoader);
+            file.setLastModified(originalModified - 60_000);
+            repository.get(FilePathHandler.DEPARTMENTS_FILE, countingLoader);
+
+            Assert.assertEquals(2, loadCount.get(), "Modified file should be reloaded");
+        }
+        finally
+        {
+            file.setLastModified(originalModified);
+        }
+    }
+
+    /**
+     * Tests that reads made while a load is in progress share that load.
+     */
+    public void testConcurrentReadsShareOneLoad() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        DataRepository.DatasetLoader<String> blockingLoader = blockingLoader(release);
+        long coalescedBefore = repository.getCoalescedCount();
+
+        CompletableFuture<String> first = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        CompletableFuture<String> second = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        release.countDown();
+
+        Assert.assertEquals("load-1", first.get(5, TimeUnit.SECONDS), "First caller should get the load");
+        Assert.assertEquals("load-1", second.get(5, TimeUnit.SECONDS), "Second caller should share the load");
+        Assert.assertEquals(1, loadCount.get(), "File should only be loaded once");
+        Assert.assertEquals(1L, repository.getCoalescedCount() - coalescedBefore,
+                "Second read should be counted as coalesced");
+    }
+
+    /**
+     * Tests that cancelling one caller leaves the shared load running for the others.
+     */
+    public void testCancellingOneCallerKeepsSharedLoad() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        DataRepository.DatasetLoader<String> blockingLoader = blockingLoader(release);
+
+        CompletableFuture<String> cancelled = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        CompletableFuture<String> waiting = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        cancelled.cancel(true);
+        release.countDown();
+
+        Assert.assertTrue(cancelled.isCancelled(), "Cancelled caller should be cancelled");
+        Assert.assertEquals("load-1", waiting.get(5, TimeUnit.SECONDS), "Other caller should still get the load");
+        Assert.assertEquals("load-1", repository.get(FilePathHandler.DEPARTMENTS_FILE, blockingLoader),
+                "Completed load should be cached");
+        Assert.assertEquals(1, loadCount.get(), "File should only be loaded once");
+    }
+
+    /**
+     * Tests that interrupting a blocking read stops only that caller.
+     */
+    public void testInterruptedReadKeepsSharedLoad() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        DataRepository.DatasetLoader<String> blockingLoader = blockingLoader(release);
+        CompletableFuture<String> waiting = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+
+        AtomicReference<Exception> thrown = new AtomicReference<>();
+        Thread reader = new Thread(() ->
+        {
+            try
+            {
+                repository.get(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+            }
+            catch (IOException e)
+            {
+                thrown.set(e);
+            }
+        });
+        reader.start();
+        reader.interrupt();
+        reader.join(5_000);
+        release.countDown();
+
+        Assert.assertTrue(thrown.get() instanceof InterruptedIOException,
+                "Interrupted reader should stop with an InterruptedIOException");
+        Assert.assertEquals("load-1", waiting.get(5, TimeUnit.SECONDS), "Other caller should still get the load");
+        Assert.assertEquals(1, loadCount.get(), "File should only be loaded once");
+    }
+
+    /**
+     * Tests that a load in progress when the dataset is invalidated is not shared or cached.
+     */
+    public void testInvalidateDuringLoadIsNotCached() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        DataRepository.DatasetLoader<String> blockingLoader = blockingLoader(release);
+
+        CompletableFuture<String> beforeWrite = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        awaitLoadsStarted(1);
+        repository.invalidate(FilePathHandler.DEPARTMENTS_FILE);
+        CompletableFuture<String> afterWrite = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        release.countDown();
+
+        Assert.assertEquals("load-1", beforeWrite.get(5, TimeUnit.SECONDS), "Earlier caller should get its load");
+        Assert.assertEquals("load-2", afterWrite.get(5, TimeUnit.SECONDS), "Later caller should get a new load");
+        Assert.assertEquals("load-2", repository.get(FilePathHandler.DEPARTMENTS_FILE, blockingLoader),
+                "Only the load started after invalidation should be cached");
+    }
+
+    /**
+     * Tests that a refresh during a load joins that load rather than starting another.
+     */
+    public void testRefreshDuringLoadSharesLoad() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        DataRepository.DatasetLoader<String> blockingLoader = blockingLoader(release);
+
+        CompletableFuture<String> first = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        repository.refresh(FilePathHandler.DEPARTMENTS_FILE);
+        CompletableFuture<String> second = repository.getAsync(FilePathHandler.DEPARTMENTS_FILE, blockingLoader);
+        release.countDown();
+
+        Assert.assertEquals("load-1", first.get(5, TimeUnit.SECONDS), "First caller should get the load");
+        Assert.assertEquals("load-1", second.get(5, TimeUnit.SECONDS), "Refresh should share the load");
+        Assert.assertEquals(1, loadCount.get(), "File should only be loaded once");
+    }
+
+    /**
+     * Tests that a failed load reaches every caller and is not cached.
+     */
+    public void testFailedLoadIsRetried() throws Exception
+    {
+        DataRepository.DatasetLoader<String> failingLoader = filePath ->
+        {
+            if (loadCount.incrementAndGet() == 1)
+            {
+                throw new IOException("Disk error");
+            }
+            return "load-" + loadCount.get();
+        };
+
+        IOException failure = null;
+        try
+        {
+            repository.get(FilePathHandler.DEPARTMENTS_FILE, failingLoader);
+        }
+        catch (IOException e)
+        {
+            failure = e;
+        }
+
+        Assert.assertNotNull(failure, "Load failure should be thrown to the caller");
+        Assert.assertEquals("Disk error", failure.getMessage(), "Original exception should be thrown");
+        Assert.assertEquals("load-2", repository.get(FilePathHandler.DEPARTMENTS_FILE, failingLoader),
+                "Failed load should not be cached");
+    }
+
+    /**
+     * Waits until the given number of loads have started, so that loads are numbered
+     * in the order the test starts them.
+     */
+    private void awaitLoadsStarted(int loads) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loadCount.get() < loads && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Creates a counting loader that waits for a latch before returning.
+     */
+    private DataRepository.DatasetLoader<String> blockingLoader(CountDownLatch release)
+    {
+        return filePath ->
+        {
+            int load = loadCount.incrementAndGet();
+            try
+            {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                throw new InterruptedIOException();
+            }
+            return "load-" + load;
+        };
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new DataRepositoryTest().runTests();
+    }
+}
@@ -0,0 +1,183 @@
+package file_handling;
+
+import testframework.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the IdSequence.
+ * Verifies that the sequence is seeded once, that IDs only increase, that blocks are
+ * reserved whole and that concurrent callers never share an ID.
+ */
+public class IdSequenceTest extends BaseTest
+{
+    private File directory;
+    private File file;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates an empty temporary directory for the sequence file.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        try
+        {
+            directory = Files.createTempDirectory("id_sequence_test_").toFile();
+            file = new File(directory, "ids.seq");
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Removes the temporary directory after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        file.delete();
+        directory.delete();
+        super.cleanup();
+    }
+
+    /**
+     * Tests that the seed is only asked for the first ID and that IDs then count up.
+     */
+    public void testSeedsOnceThenCountsUp() throws IOException
+    {
+        AtomicInteger seeded = new AtomicInteger();
+        IdSequence sequence = new IdSequence(file.toPath(), () ->
+        {
+            seeded.incrementAndGet();
+            return 100;
+        });
+
+        Assert.assertEquals(100, sequence.next(), "First ID should come from the seed");
+        Assert.assertEquals(101, sequence.next(), "Second ID should follow the first");
+        Assert.assertEquals(1, seeded.get(), "Seed should be asked only once");
+        Assert.assertEquals("102", Files.readString(file.toPath()).trim(), "File should hold the next unused ID");
+    }
+
+    /**
+     * Tests that a new instance carries on from the stored ID rather than reseeding.
+     */
+    public void testResumesFromFile() throws IOException
+    {
+        new IdSequence(file.toPath(), () -> 1).next();
+
+        IdSequence reopened = new IdSequence(file.toPath(), () -> 1);
+        Assert.assertEquals(2, reopened.next(), "Reopened sequence should continue from the file");
+    }
+
+    /**
+     * Tests that a block reservation skips the whole block.
+     */
+    public void testReservesBlock() throws IOException
+    {
+        IdSequence sequence = new IdSequence(file.toPath(), () -> 10);
+
+        Assert.assertEquals(10, sequence.reserve(5), "Block should start at the first free ID");
+        Assert.assertEquals(15, sequence.next(), "Next ID should follow the block");
+    }
+
+    /**
+     * Tests that counts below one are rejected without touching the file.
+     */
+    public void testRejectsEmptyReservation()
+    {
+        IdSequence sequence = new IdSequence(file.toPath(), () -> 1);
+        boolean rejected = false;
+        try
+        {
+            sequence.reserve(0);
+        }
+        catch (IllegalArgumentException | IOException e)
+        {
+            rejected = e instanceof IllegalArgumentException;
+        }
+
+        Assert.assertTrue(rejected, "Reserving no IDs should be rejected");
+        Assert.assertFalse(file.exists(), "Rejected reservation should not create the file");
+    }
+
+    /**
+     * Tests that a file not holding a number is reported rather than reseeded.
+     */
+    public void testCorruptFile() throws IOException
+    {
+        Files.writeString(file.toPath(), "not a number");
+        IdSequence sequence = new IdSequence(file.toPath(), () -> 1);
+        boolean failed = false;
+        try
+        {
+            sequence.next();
+        }
+        catch (IOException e)
+        {
+            failed = true;
+        }
+
+        Assert.assertTrue(failed, "Corrupt sequence should be reported");
+    }
+
+    /**
+     * Tests that separate instances used from many threads never hand out the same ID.
+     */
+    public void testConcurrentReservations() throws Exception
+    {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            IdSequence sequence = new IdSequence(file.toPath(), () -> 1);
+            threads.add(new Thread(() ->
+            {
+                try
+                {
+                    for (int j = 0; j < 50; j++)
+                    {
+                        if (!ids.add(sequence.next()))
+                        {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                }
+                catch (IOException e)
+                {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        Assert.assertEquals(0, duplicates.get(), "No ID should be handed out twice");
+        Assert.assertEquals(400, ids.size(), "Every reservation should get an ID");
+        Assert.assertEquals("401", Files.readString(file.toPath()).trim(), "File should hold the next unused ID");
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new IdSequenceTest().runTests();
+    }
+}
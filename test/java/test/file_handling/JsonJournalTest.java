@@ -0,0 +1,118 @@
+package file_handling;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import testframework.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the JsonJournal.
+ * Uses the departments dataset's journal path, which the application never writes,
+ * and removes the journal file after each test.
+ */
+public class JsonJournalTest extends BaseTest
+{
+    private JsonJournal<JsonObject> journal;
+    private File journalFile;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a journal with no entries on disk.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        journal = new JsonJournal<>(FilePathHandler.DEPARTMENTS_FILE, JsonObject.class, new Gson());
+        journalFile = new File(FilePathHandler.DEPARTMENTS_FILE.getJournalPath());
+        journalFile.delete();
+    }
+
+    /**
+     * Cleans up the journal file after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        journalFile.delete();
+        super.cleanup();
+    }
+
+    /**
+     * Tests that appended records are replayed in the order they were written.
+     */
+    public void testAppendAndReplay() throws IOException
+    {
+        journal.append(record("a"));
+        journal.append(record("b"));
+
+        Assert.assertEquals(List.of("a", "b"), replayNames(), "Records should be replayed in append order");
+    }
+
+    /**
+     * Tests that a final line torn by a crash is ignored.
+     */
+    public void testTornLastLineIgnored() throws IOException
+    {
+        journal.append(record("a"));
+        try (FileWriter writer = new FileWriter(journalFile, true))
+        {
+            writer.write("{\"name\": \"b");
+        }
+
+        Assert.assertEquals(List.of("a"), replayNames(), "Torn final entry should be skipped");
+    }
+
+    /**
+     * Tests that rewriting the base file empties the journal.
+     */
+    public void testRewriteBaseClearsJournal() throws IOException
+    {
+        journal.append(record("a"));
+        journal.rewriteBase(() -> { });
+
+        Assert.assertFalse(journal.exists(), "Journal file should be removed after a rewrite");
+        Assert.assertTrue(replayNames().isEmpty(), "No records should be replayed after a rewrite");
+    }
+
+    /**
+     * Creates a journal record with the given name.
+     *
+     * @param name The record name
+     * @return The record
+     */
+    private static JsonObject record(String name)
+    {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("name", name);
+        return obj;
+    }
+
+    /**
+     * Replays the journal and collects the record names.
+     *
+     * @return Names of the replayed records, in order
+     * @throws IOException if the journal cannot be read
+     */
+    private List<String> replayNames() throws IOException
+    {
+        List<String> names = new ArrayList<>();
+        journal.replay(obj -> names.add(obj.get("name").getAsString()));
+        return names;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new JsonJournalTest().runTests();
+    }
+}
@@ -0,0 +1,168 @@
+package file_handling;
+
+import com.google.gson.JsonObject;
+import testframework.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the JsonProcessor.
+ * Contains unit tests for whole-file reading and record streaming of both
+ * array-rooted and object-rooted JSON files.
+ */
+public class JsonProcessorTest extends BaseTest
+{
+    private File tempFile;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates an empty temporary JSON file.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        try
+        {
+            tempFile = File.createTempFile("json_processor_test_", ".json");
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Cleans up the temporary file after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        tempFile.delete();
+        super.cleanup();
+    }
+
+    /**
+     * Tests that readFile detects an object root with a single parse.
+     */
+    public void testReadFileObjectRoot() throws IOException
+    {
+        write("{\"items\": [1, 2]}");
+        JsonProcessor processor = new JsonProcessor(tempFile.getPath());
+        processor.processFile();
+
+        Assert.assertFalse(processor.isArrayContent(), "Object root should not be reported as an array");
+        Assert.assertTrue(processor.getJsonContent() instanceof JsonObject, "Content should be a JsonObject");
+    }
+
+    /**
+     * Tests streaming the elements of an array root.
+     */
+    public void testStreamArrayRoot() throws IOException
+    {
+        write("[{\"name\": \"a\"}, {\"name\": \"b\"}]");
+        List<String> names = new ArrayList<>();
+        boolean found = new JsonProcessor(tempFile.getPath())
+                .streamRecords(null, JsonObject.class, obj -> names.add(obj.get("name").getAsString()));
+
+        Assert.assertTrue(found, "Array root should be streamed");
+        Assert.assertEquals(List.of("a", "b"), names, "Records should arrive in file order");
+    }
+
+    /**
+     * Tests streaming a named array member, skipping the members before it.
+     */
+    public void testStreamObjectMember() throws IOException
+    {
+        write("{\"meta\": {\"skip\": [1, 2, 3]}, \"modules\": [{\"name\": \"m1\"}]}");
+        List<String> names = new ArrayList<>();
+        boolean found = new JsonProcessor(tempFile.getPath())
+                .streamRecords("modules", JsonObject.class, obj -> names.add(obj.get("name").getAsString()));
+
+        Assert.assertTrue(found, "Named array member should be found");
+        Assert.assertEquals(List.of("m1"), names, "Only the named array should be streamed");
+    }
+
+    /**
+     * Tests that a missing array member is reported rather than treated as empty.
+     */
+    public void testStreamMissingMember() throws IOException
+    {
+        write("{\"courses\": []}");
+        boolean found = new JsonProcessor(tempFile.getPath())
+                .streamRecords("modules", JsonObject.class, obj -> { });
+
+        Assert.assertFalse(found, "Missing array member should return false");
+    }
+
+    /**
+     * Tests that malformed records are reported as an IOException.
+     */
+    public void testStreamMalformedRecord() throws IOException
+    {
+        write("[{\"name\": \"a\"}, {\"name\": ]");
+        boolean failed = false;
+        try
+        {
+            new JsonProcessor(tempFile.getPath()).streamRecords(null, JsonObject.class, obj -> { });
+        }
+        catch (IOException e)
+        {
+            failed = e.getMessage().startsWith("Malformed JSON");
+        }
+
+        Assert.assertTrue(failed, "Malformed record should be reported as malformed JSON");
+    }
+
+    /**
+     * Tests that an exception thrown by the handler reaches the caller unchanged
+     * rather than being reported as malformed JSON.
+     */
+    public void testStreamHandlerExceptionPassesThrough() throws IOException
+    {
+        write("[{\"name\": \"a\"}]");
+        IllegalStateException thrown = new IllegalStateException("handler bug");
+        IllegalStateException caught = null;
+        try
+        {
+            new JsonProcessor(tempFile.getPath()).streamRecords(null, JsonObject.class, obj ->
+            {
+                throw thrown;
+            });
+        }
+        catch (IllegalStateException e)
+        {
+            caught = e;
+        }
+
+        Assert.assertTrue(caught == thrown, "Handler exception should reach the caller unchanged");
+    }
+
+    /**
+     * Writes the given content to the temporary file.
+     *
+     * @param content The JSON content to write
+     * @throws IOException if the file cannot be written
+     */
+    private void write(String content) throws IOException
+    {
+        try (FileWriter writer = new FileWriter(tempFile))
+        {
+            writer.write(content);
+        }
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new JsonProcessorTest().runTests();
+    }
+}
@@ -0,0 +1,130 @@
+package file_handling;
+
+import testframework.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the LatencyTimer.
+ * Verifies the histogram buckets, the reported statistics and recording from many threads.
+ */
+public class LatencyTimerTest extends BaseTest
+{
+    private LatencyTimer timer;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a timer with nothing recorded.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        timer = new LatencyTimer();
+    }
+
+    /**
+     * Tests that every bucket's bounds map back to the bucket and that buckets leave no gaps.
+     */
+    public void testBucketBounds()
+    {
+        for (int bucket = 0; bucket < LatencyTimer.BUCKET_COUNT; bucket++)
+        {
+            long lower = LatencyTimer.lowerBoundOf(bucket);
+            long upper = LatencyTimer.upperBoundOf(bucket);
+            Assert.assertEquals(bucket, LatencyTimer.bucketOf(lower), "Lower bound should fall in bucket " + bucket);
+            Assert.assertEquals(bucket, LatencyTimer.bucketOf(upper), "Upper bound should fall in bucket " + bucket);
+            if (bucket > 0)
+            {
+                Assert.assertEquals(LatencyTimer.upperBoundOf(bucket - 1) + 1, lower,
+                        "Bucket " + bucket + " should start where the previous one ends");
+            }
+        }
+        Assert.assertEquals(Long.MAX_VALUE, LatencyTimer.upperBoundOf(LatencyTimer.BUCKET_COUNT - 1),
+                "Last bucket should reach the largest time");
+    }
+
+    /**
+     * Tests that an empty timer reports zeros.
+     */
+    public void testEmptyTimer()
+    {
+        Assert.assertEquals(0L, timer.getCount(), "Nothing should be counted");
+        Assert.assertEquals(0.0, timer.getMeanMillis(), "Mean should be zero");
+        Assert.assertEquals(0L, timer.getPercentileNanos(0.99), "Percentile should be zero");
+    }
+
+    /**
+     * Tests the count, mean, maximum and percentiles of a known set of times.
+     * Percentiles may be up to 12.5% above the true value.
+     */
+    public void testStatistics()
+    {
+        for (int millis = 1; millis <= 100; millis++)
+        {
+            timer.record(millis * 1_000_000L);
+        }
+
+        Assert.assertEquals(100L, timer.getCount(), "Every time should be counted");
+        Assert.assertEquals(50.5, timer.getMeanMillis(), "Mean should be exact");
+        Assert.assertEquals(100.0, timer.getMaxMillis(), "Maximum should be exact");
+        assertWithin(50, timer.getP50Millis(), "Median");
+        assertWithin(95, timer.getP95Millis(), "95th percentile");
+        assertWithin(99, timer.getP99Millis(), "99th percentile");
+        Assert.assertEquals(100_000_000L, timer.getPercentileNanos(1.0), "100th percentile should be the maximum");
+    }
+
+    /**
+     * Tests that negative times are counted as zero.
+     */
+    public void testNegativeTime()
+    {
+        timer.record(-5);
+
+        Assert.assertEquals(1L, timer.getCount(), "Negative time should still be counted");
+        Assert.assertEquals(0L, timer.getPercentileNanos(1.0), "Negative time should count as zero");
+    }
+
+    /**
+     * Tests that no time is lost when many threads record at once.
+     */
+    public void testConcurrentRecording() throws Exception
+    {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            threads.add(new Thread(() ->
+            {
+                for (int j = 1; j <= 10_000; j++)
+                {
+                    timer.record(j);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        Assert.assertEquals(80_000L, timer.getCount(), "Every time should be counted");
+        Assert.assertEquals(0.01, timer.getMaxMillis(), "Maximum should be the longest time");
+    }
+
+    private static void assertWithin(double expectedMillis, double actualMillis, String what)
+    {
+        Assert.assertTrue(actualMillis >= expectedMillis && actualMillis <= expectedMillis * 1.125,
+                what + " should be close to " + expectedMillis + " ms but was " + actualMillis);
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new LatencyTimerTest().runTests();
+    }
+}
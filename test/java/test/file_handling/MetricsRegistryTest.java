@@ -0,0 +1,89 @@
+package file_handling;
+
+import testframework.*;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+/**
+ * Test class for the MetricsRegistry.
+ * Verifies that metrics are shared by name, published over JMX and that file traffic
+ * is attributed to the right dataset.
+ */
+public class MetricsRegistryTest extends BaseTest
+{
+    private MBeanServer server;
+    private MetricsRegistry registry;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a registry publishing to its own MBean server rather than the platform one.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        server = MBeanServerFactory.newMBeanServer();
+        registry = new MetricsRegistry(server);
+    }
+
+    /**
+     * Tests that the same name always gives the same metric.
+     */
+    public void testMetricsSharedByName()
+    {
+        Assert.assertTrue(registry.timer("test.op") == registry.timer("test.op"), "Timer should be shared");
+        Assert.assertTrue(registry.counter("test.events") == registry.counter("test.events"), "Counter should be shared");
+        Assert.assertFalse(registry.timer("test.op") == registry.timer("test.other"), "Names should not be shared");
+    }
+
+    /**
+     * Tests that timers and counters can be read over JMX.
+     */
+    public void testPublishedOverJmx() throws Exception
+    {
+        registry.timer("test.op").record(2_000_000);
+        registry.counter("test.events").increment();
+
+        ObjectName timerName = new ObjectName(MetricsRegistry.DOMAIN + ":type=Timer,name=test.op");
+        ObjectName counterName = new ObjectName(MetricsRegistry.DOMAIN + ":type=Counter,name=test.events");
+        Assert.assertEquals(1L, server.getAttribute(timerName, "Count"), "Timer count should be published");
+        Assert.assertEquals(2.0, server.getAttribute(timerName, "MaxMillis"), "Timer maximum should be published");
+        Assert.assertEquals(1L, server.getAttribute(counterName, "Count"), "Counter should be published");
+    }
+
+    /**
+     * Tests that reads and writes of a dataset file and its journal are counted against the dataset,
+     * and that other files are ignored.
+     */
+    public void testDatasetTraffic() throws Exception
+    {
+        FilePathHandler dataset = FilePathHandler.MODULES_FILE;
+        registry.recordRead(dataset.getNormalisedPath(), 100);
+        registry.recordWrite(dataset.getJournalPath(), 40);
+        registry.recordWrite(new java.io.File(dataset.getNormalisedPath()).getAbsolutePath(), 60);
+        registry.recordRead("not/a/dataset.json", 1_000);
+
+        DatasetTraffic traffic = registry.traffic(dataset);
+        Assert.assertEquals(1L, traffic.getReadCount(), "One read should be counted");
+        Assert.assertEquals(100L, traffic.getBytesRead(), "Bytes read should be counted");
+        Assert.assertEquals(2L, traffic.getWriteCount(), "File and journal writes should both be counted");
+        Assert.assertEquals(100L, traffic.getBytesWritten(), "Bytes written should be counted");
+
+        ObjectName name = new ObjectName(MetricsRegistry.DOMAIN + ":type=Dataset,name=" + dataset.name());
+        Assert.assertEquals(100L, server.getAttribute(name, "BytesRead"), "Dataset traffic should be published");
+        Assert.assertEquals(1, server.queryNames(new ObjectName(MetricsRegistry.DOMAIN + ":type=Dataset,*"), null).size(),
+                "Only datasets with traffic should be published");
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new MetricsRegistryTest().runTests();
+    }
+}
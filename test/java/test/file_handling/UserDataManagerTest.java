@@ -0,0 +1,125 @@
+package file_handling;
+
+import testframework.*;
+import users.Student;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for the UserDataManager bulk import.
+ * The students file is restored after each test method.
+ */
+public class UserDataManagerTest extends BaseTest
+{
+    private Path studentsFile;
+    private byte[] originalContent;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Keeps a copy of the students file so it can be restored.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        try
+        {
+            studentsFile = Paths.get(FilePathHandler.STUDENTS_FILE.getNormalisedPath());
+            originalContent = Files.readAllBytes(studentsFile);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Restores the students file after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        try
+        {
+            Files.write(studentsFile, originalContent);
+            DataRepository.getInstance().invalidate(FilePathHandler.STUDENTS_FILE);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        super.cleanup();
+    }
+
+    /**
+     * Tests that valid students are saved while invalid and duplicate ones are reported.
+     */
+    public void testBulkAddStudents() throws IOException
+    {
+        int before = Student.getByCourse("").size();
+        String existingEmail = Student.getByCourse("").get(0).getEmail();
+
+        Student valid = student("bulk.one@test.com");
+        Student duplicateInBatch = student("BULK.ONE@test.com");
+        Student duplicateExisting = student(existingEmail);
+        Student invalid = student("bulk.two@test.com");
+        invalid.setCourse("");
+
+        ImportResult<Student> result = UserDataManager.addStudents(
+                List.of(valid, duplicateInBatch, duplicateExisting, invalid));
+
+        Assert.assertEquals(List.of(valid), result.getImported(), "Only the valid student should be imported");
+        Assert.assertEquals(3, result.getRejected().size(), "Each bad record should be reported");
+        Assert.assertTrue(result.getRejected().get(0).getReason().startsWith("Duplicate email"),
+                "Clash within the batch should be reported as a duplicate");
+        Assert.assertEquals(before + 1, Student.getByCourse("").size(), "One student should be saved");
+    }
+
+    /**
+     * Tests that a batch with no valid records leaves the file untouched.
+     */
+    public void testRejectedBatchDoesNotWrite() throws IOException
+    {
+        Student invalid = student("bulk.three@test.com");
+        invalid.setFirstName(null);
+
+        ImportResult<Student> result = UserDataManager.addStudents(List.of(invalid));
+
+        Assert.assertFalse(result.isComplete(), "Invalid record should be rejected");
+        Assert.assertTrue(Arrays.equals(originalContent, Files.readAllBytes(studentsFile)),
+                "Students file should not be rewritten");
+    }
+
+    /**
+     * Creates a complete student with the given email address.
+     *
+     * @param email The email address
+     * @return The student
+     */
+    private static Student student(String email)
+    {
+        Student student = new Student();
+        student.setFirstName("Bulk");
+        student.setLastName("Import");
+        student.setEmail(email);
+        student.setGender("Female");
+        student.setType("Full-Time");
+        student.setCourse("Computer Science");
+        return student;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new UserDataManagerTest().runTests();
+    }
+}
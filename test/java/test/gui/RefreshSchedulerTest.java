@@ -0,0 +1,145 @@
+package gui;
+
+import testframework.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the RefreshScheduler.
+ * Verifies dependency order, concurrency of independent stages, that each stage runs
+ * once, and that a failure only skips the stages that depend on it.
+ */
+public class RefreshSchedulerTest extends BaseTest
+{
+    private ExecutorService executor;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a pool with enough threads for every stage to run at once.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    /**
+     * Shuts down the pool after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        executor.shutdownNow();
+        super.cleanup();
+    }
+
+    /**
+     * Tests that a stage runs after its dependencies and that every stage of a
+     * diamond-shaped graph runs exactly once.
+     */
+    public void testDependencyOrder()
+    {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger sharedRuns = new AtomicInteger();
+
+        RefreshScheduler.Result result = new RefreshScheduler(executor)
+                .addStage("files", () ->
+                {
+                    sharedRuns.incrementAndGet();
+                    order.add("files");
+                })
+                .addStage("left", () -> order.add("left"), "files")
+                .addStage("right", () -> order.add("right"), "files")
+                .addStage("join", () -> order.add("join"), "left", "right")
+                .run(null);
+
+        Assert.assertTrue(result.isSuccessful(), "Every stage should succeed");
+        Assert.assertEquals(1, sharedRuns.get(), "A shared dependency should run once");
+        Assert.assertEquals(4, order.size(), "Every stage should run once");
+        Assert.assertEquals("files", order.get(0), "The dependency should run first");
+        Assert.assertEquals("join", order.get(3), "The joining stage should run last");
+    }
+
+    /**
+     * Tests that independent stages run at the same time.
+     */
+    public void testIndependentStagesConcurrent()
+    {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        RefreshScheduler.StageAction waitForOther = () ->
+        {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS))
+            {
+                throw new IllegalStateException("Stages ran one after the other");
+            }
+        };
+
+        RefreshScheduler.Result result = new RefreshScheduler(executor)
+                .addStage("students", waitForOther)
+                .addStage("staff", waitForOther)
+                .run(null);
+
+        Assert.assertTrue(result.isSuccessful(), "Independent stages should overlap");
+    }
+
+    /**
+     * Tests that a failed stage skips its dependents but not unrelated stages,
+     * and that the listener hears about every stage.
+     */
+    public void testFailureSkipsDependents()
+    {
+        AtomicInteger reported = new AtomicInteger();
+        RefreshScheduler.Result result = new RefreshScheduler(executor)
+                .addStage("modules", () ->
+                {
+                    throw new IllegalStateException("Unreadable file");
+                })
+                .addStage("staff", () -> { })
+                .addStage("assignments", () -> { }, "modules", "staff")
+                .run(outcome -> reported.incrementAndGet());
+
+        List<RefreshScheduler.Outcome> outcomes = result.getOutcomes();
+        Assert.assertFalse(result.isSuccessful(), "A failed stage should fail the refresh");
+        Assert.assertEquals("Unreadable file", outcomes.get(0).getError().getMessage(), "The failure should be kept");
+        Assert.assertTrue(outcomes.get(1).isSuccessful(), "Unrelated stages should still run");
+        Assert.assertTrue(outcomes.get(2).isSkipped(), "Dependent stages should be skipped");
+        Assert.assertEquals(3, reported.get(), "The listener should hear about every stage");
+        Assert.assertTrue(result.describeTimings().contains("assignments skipped"), "Timings should show skipped stages");
+    }
+
+    /**
+     * Tests that a stage cannot depend on a stage that has not been added.
+     */
+    public void testUnknownDependencyRejected()
+    {
+        boolean rejected = false;
+        try
+        {
+            new RefreshScheduler(executor).addStage("assignments", () -> { }, "students");
+        }
+        catch (IllegalArgumentException e)
+        {
+            rejected = true;
+        }
+        Assert.assertTrue(rejected, "Unknown dependencies should be rejected");
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new RefreshSchedulerTest().runTests();
+    }
+}
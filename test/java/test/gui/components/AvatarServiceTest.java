@@ -0,0 +1,214 @@
+package gui.components;
+
+import com.sun.net.httpserver.HttpServer;
+import testframework.*;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the AvatarService.
+ * Serves avatars from a local stub HTTP server and checks scaling, both cache tiers,
+ * shared fetches, the fallback to the default avatar and retrying failed avatars.
+ */
+public class AvatarServiceTest extends BaseTest
+{
+    private HttpServer server;
+    private AtomicInteger requests;
+    private Path cacheDirectory;
+
+    /**
+     * Starts the stub server and creates an empty cache directory before each test method.
+     * The server answers /avatar.png with a 100 x 100 image and anything else with 404.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        try
+        {
+            BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", png);
+            byte[] body = png.toByteArray();
+
+            requests = new AtomicInteger();
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange ->
+            {
+                requests.incrementAndGet();
+                boolean found = exchange.getRequestURI().getPath().equals("/avatar.png");
+                exchange.sendResponseHeaders(found ? 200 : 404, found ? body.length : -1);
+                try (OutputStream out = exchange.getResponseBody())
+                {
+                    if (found)
+                    {
+                        out.write(body);
+                    }
+                }
+            });
+            server.start();
+
+            cacheDirectory = Files.createTempDirectory("avatar-test");
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Stops the stub server and deletes the cache directory after each test method.
+     */
+    @Override
+    protected void cleanup()
+    {
+        server.stop(0);
+        try (Stream<Path> files = Files.walk(cacheDirectory))
+        {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+            {
+                Files.delete(file);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        super.cleanup();
+    }
+
+    /**
+     * Tests that an avatar is downloaded once, scaled, and then served from memory.
+     */
+    public void testDownloadsOnceAndScales()
+    {
+        AvatarService service = new AvatarService(cacheDirectory, 10, 2, 60_000);
+
+        ImageIcon icon = await(service.fetch(url("/avatar.png")));
+        Assert.assertEquals(AvatarService.THUMBNAIL_SIZE, icon.getIconWidth(), "Avatar should be scaled");
+        Assert.assertEquals(AvatarService.THUMBNAIL_SIZE, icon.getIconHeight(), "Avatar should be scaled");
+
+        ImageIcon again = await(service.fetch(url("/avatar.png")));
+        Assert.assertTrue(icon == again, "Second request should be served from memory");
+        Assert.assertEquals(1, requests.get(), "Avatar should be downloaded once");
+    }
+
+    /**
+     * Tests that a new session reads thumbnails from the disk cache instead of the network.
+     */
+    public void testServedFromDiskCache()
+    {
+        await(new AvatarService(cacheDirectory, 10, 2, 60_000).fetch(url("/avatar.png")));
+
+        AvatarService restarted = new AvatarService(cacheDirectory, 10, 2, 60_000);
+        ImageIcon icon = await(restarted.fetch(url("/avatar.png")));
+
+        Assert.assertEquals(AvatarService.THUMBNAIL_SIZE, icon.getIconWidth(), "Cached avatar should be a thumbnail");
+        Assert.assertEquals(0L, restarted.getDownloadCount(), "Cached avatar should not be downloaded again");
+        Assert.assertEquals(1, requests.get(), "Server should only be asked once");
+    }
+
+    /**
+     * Tests that concurrent requests for one URL share a single download.
+     */
+    public void testConcurrentRequestsShareFetch()
+    {
+        AvatarService service = new AvatarService(cacheDirectory, 10, 4, 60_000);
+
+        List<CompletableFuture<ImageIcon>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            futures.add(service.fetch(url("/avatar.png")));
+        }
+        for (CompletableFuture<ImageIcon> future : futures)
+        {
+            await(future);
+        }
+
+        Assert.assertEquals(1, requests.get(), "Concurrent requests should share one download");
+    }
+
+    /**
+     * Tests that a missing avatar falls back to the default avatar and is not fetched
+     * again before its retry delay has passed.
+     */
+    public void testMissingAvatarFallsBack()
+    {
+        AvatarService service = new AvatarService(cacheDirectory, 10, 2, 60_000);
+
+        ImageIcon icon = await(service.fetch(url("/missing.png")));
+        await(service.fetch(url("/missing.png")));
+
+        Assert.assertTrue(icon == AvatarService.getDefaultAvatar(), "Missing avatar should show the default");
+        Assert.assertEquals(1, requests.get(), "Missing avatar should not be requested again");
+    }
+
+    /**
+     * Tests that a failed avatar is not cached, so it loads once the server recovers.
+     */
+    public void testFailedAvatarRetried()
+    {
+        AvatarService service = new AvatarService(cacheDirectory, 10, 2, 0);
+
+        ImageIcon failed = await(service.fetch(url("/late.png")));
+        server.createContext("/late.png", exchange ->
+        {
+            requests.incrementAndGet();
+            BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", png);
+            exchange.sendResponseHeaders(200, png.size());
+            try (OutputStream out = exchange.getResponseBody())
+            {
+                png.writeTo(out);
+            }
+        });
+        ImageIcon recovered = await(service.fetch(url("/late.png")));
+
+        Assert.assertTrue(failed == AvatarService.getDefaultAvatar(), "Failed avatar should show the default");
+        Assert.assertFalse(recovered == AvatarService.getDefaultAvatar(), "Avatar should load once the server recovers");
+        Assert.assertEquals(2, requests.get(), "Failed avatar should be requested again after its delay");
+    }
+
+    private static ImageIcon await(CompletableFuture<ImageIcon> future)
+    {
+        try
+        {
+            return future.get(5, TimeUnit.SECONDS);
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String url(String path)
+    {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new AvatarServiceTest().runTests();
+    }
+}
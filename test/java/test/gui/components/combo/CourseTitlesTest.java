@@ -0,0 +1,101 @@
+package gui.components.combo;
+
+import business.Course;
+import testframework.*;
+
+import javax.swing.*;
+import java.util.Arrays;
+
+/**
+ * Test class for the CourseTitles shared by course combo boxes.
+ * Verifies that blank titles are skipped, that the titles are only rebuilt when the
+ * course snapshot changes and that each model keeps its own selection.
+ */
+public class CourseTitlesTest extends BaseTest
+{
+    private CourseTitles titles;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Builds titles from two named courses and one without a title.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        titles = new CourseTitles(Arrays.asList(
+                createCourse("BSc Computing"),
+                createCourse(" "),
+                createCourse("BA (Hons) Theatre and Performance")));
+    }
+
+    /**
+     * Tests that blank titles are skipped and the rest kept in order.
+     */
+    public void testSkipsBlankTitles()
+    {
+        Assert.assertEquals(2, titles.size(), "Blank title should be skipped");
+        Assert.assertEquals("BSc Computing", titles.get(0), "First title should be kept");
+        Assert.assertEquals("BA (Hons) Theatre and Performance", titles.get(1), "Second title should be kept");
+    }
+
+    /**
+     * Tests that the widest title is used as the prototype.
+     */
+    public void testPrototypeIsWidestTitle()
+    {
+        JLabel label = new JLabel();
+        Assert.assertEquals("BA (Hons) Theatre and Performance", titles.getPrototype(label),
+                "Widest title should be the prototype");
+    }
+
+    /**
+     * Tests that models share the titles but not the selection.
+     */
+    public void testModelsHaveOwnSelection()
+    {
+        ComboBoxModel<String> first = titles.newModel();
+        ComboBoxModel<String> second = titles.newModel();
+        first.setSelectedItem("BA (Hons) Theatre and Performance");
+
+        Assert.assertEquals(2, second.getSize(), "Models should show every title");
+        Assert.assertEquals("BA (Hons) Theatre and Performance", first.getSelectedItem(),
+                "Model should keep its selection");
+        Assert.assertEquals("BSc Computing", second.getSelectedItem(),
+                "Other model should still select the first title");
+    }
+
+    /**
+     * Tests that the current titles are reused while the course snapshot is unchanged.
+     */
+    public void testCurrentTitlesAreShared()
+    {
+        try
+        {
+            Assert.assertTrue(CourseTitles.getCurrent() == CourseTitles.getCurrent(),
+                    "Titles should only be built once per course snapshot");
+            Assert.assertTrue(CourseTitles.getCurrent().size() > 0, "Courses file should have titles");
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Course createCourse(String title)
+    {
+        Course course = new Course();
+        course.setCourseTitle(title);
+        return course;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new CourseTitlesTest().runTests();
+    }
+}
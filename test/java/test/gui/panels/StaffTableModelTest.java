@@ -0,0 +1,107 @@
+package gui.panels;
+
+import business.DepartmentId;
+import testframework.*;
+import users.Staff;
+
+import javax.swing.*;
+import javax.swing.table.TableRowSorter;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test class for the StaffTableModel.
+ * Verifies cell values and that department filtering and sorting through a row
+ * sorter select and order the expected rows.
+ */
+public class StaffTableModelTest extends BaseTest
+{
+    private StaffTableModel model;
+    private TableRowSorter<StaffTableModel> sorter;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a model of three staff in two departments and one without a department.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        String engineering = DepartmentId.ENG.getDepartmentName();
+        String dance = DepartmentId.DAN.getDepartmentName();
+
+        model = new StaffTableModel();
+        model.setStaff(Arrays.asList(
+                createStaff(1, engineering, 30),
+                createStaff(2, dance, 10),
+                createStaff(3, engineering, 20),
+                createStaff(4, "", 40)));
+        sorter = new TableRowSorter<>(model);
+    }
+
+    /**
+     * Tests that each column shows the matching staff property.
+     */
+    public void testCellValues()
+    {
+        Assert.assertEquals(4, model.getRowCount(), "Model should have one row per member of staff");
+        Assert.assertEquals("https://example.com/1.png", model.getValueAt(0, StaffTableModel.AVATAR_COLUMN),
+                "Avatar column should hold the avatar URL");
+        Assert.assertEquals(30, model.getValueAt(0, 4), "Weekly hours should be shown");
+        Assert.assertEquals("No Department", model.getValueAt(3, 3), "Missing department should be labelled");
+        Assert.assertTrue(model.getValueAt(1, StaffTableModel.ACTIONS_COLUMN) == model.getStaffAt(1),
+                "Actions column should hold the member of staff");
+    }
+
+    /**
+     * Tests that the department filter keeps only that department's rows.
+     */
+    public void testDepartmentFilter()
+    {
+        sorter.setRowFilter(model.departmentFilter(DepartmentId.ENG));
+        Assert.assertEquals(2, sorter.getViewRowCount(), "Two staff are in the department");
+        Assert.assertEquals(0, sorter.convertRowIndexToModel(0), "First match should be the first row");
+        Assert.assertEquals(2, sorter.convertRowIndexToModel(1), "Second match should be the third row");
+
+        sorter.setRowFilter(model.departmentFilter(DepartmentId.UNKNOWN));
+        Assert.assertEquals(4, sorter.getViewRowCount(), "No department selected should show everyone");
+    }
+
+    /**
+     * Tests that numeric columns sort by value within a filter.
+     */
+    public void testSortWithinFilter()
+    {
+        sorter.setRowFilter(model.departmentFilter(DepartmentId.ENG));
+        sorter.setSortKeys(Collections.singletonList(new RowSorter.SortKey(4, SortOrder.ASCENDING)));
+
+        Assert.assertEquals(3, model.getStaffAt(sorter.convertRowIndexToModel(0)).getId(),
+                "Fewest weekly hours should come first");
+        Assert.assertEquals(1, model.getStaffAt(sorter.convertRowIndexToModel(1)).getId(),
+                "Most weekly hours should come last");
+    }
+
+    private static Staff createStaff(int id, String department, int weeklyHours)
+    {
+        Staff staff = new Staff();
+        staff.setId(id);
+        staff.setFirstName("Test");
+        staff.setLastName("Staff" + id);
+        staff.setEmail("staff" + id + "@example.com");
+        staff.setDepartment(department);
+        staff.setWeeklyHours(weeklyHours);
+        staff.setMaxModules(3);
+        staff.setAvatar("https://example.com/" + id + ".png");
+        return staff;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new StaffTableModelTest().runTests();
+    }
+}
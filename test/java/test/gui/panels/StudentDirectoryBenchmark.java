@@ -0,0 +1,118 @@
+package gui.panels;
+
+import users.Student;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Benchmark for the student directory at scale.
+ * Loads a million students into the directory table and times painting the visible
+ * rows at positions spread across the whole list, the work done on each scroll step.
+ */
+public class StudentDirectoryBenchmark
+{
+    private static final int STUDENTS = 1_000_000;
+    private static final int FRAMES = 200;
+
+    /**
+     * Runs the benchmark and prints the time to load the list and to paint a frame.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        System.setProperty("java.awt.headless", "true");
+
+        List<Student> students = new AbstractList<>()
+        {
+            @Override
+            public Student get(int index)
+            {
+                Student student = new Student();
+                student.setId(index);
+                student.setFirstName("Student");
+                student.setLastName(String.valueOf(index));
+                student.setEmail("student" + index + "@example.com");
+                student.setType("Full-time");
+                student.setCourse(index % 10 == 0 ? "No course available" : "Computer Science");
+                return student;
+            }
+
+            @Override
+            public int size()
+            {
+                return STUDENTS;
+            }
+        };
+
+        StudentListPanel panel = new StudentListPanel();
+        panel.setSize(1200, 800);
+        JTable table = findTable(panel);
+        JScrollPane scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, table);
+
+        System.out.println("=== Student directory benchmark ===");
+        long start = System.nanoTime();
+        ((StudentTableModel) table.getModel()).setStudents(students);
+        layOut(panel);
+        System.out.printf("Loaded %,d rows in %.1f ms%n", STUDENTS, (System.nanoTime() - start) / 1e6);
+
+        BufferedImage frame = new BufferedImage(scrollPane.getWidth(), scrollPane.getHeight(), BufferedImage.TYPE_INT_RGB);
+        long worst = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++)
+        {
+            long frameStart = System.nanoTime();
+            int row = (int) ((long) i * (STUDENTS - 1) / (FRAMES - 1));
+            table.scrollRectToVisible(table.getCellRect(row, 0, true));
+            layOut(scrollPane);
+
+            Graphics2D g = frame.createGraphics();
+            scrollPane.paint(g);
+            g.dispose();
+            worst = Math.max(worst, System.nanoTime() - frameStart);
+        }
+        double average = (System.nanoTime() - start) / 1e6 / FRAMES;
+
+        System.out.printf("Painted %d frames: %.2f ms average, %.2f ms worst%n", FRAMES, average, worst / 1e6);
+        System.out.printf("Rows on screen: %d%n", scrollPane.getViewport().getExtentSize().height / table.getRowHeight());
+    }
+
+    /**
+     * Lays out a component tree; validate() does nothing for components never shown on screen.
+     */
+    private static void layOut(Container container)
+    {
+        container.doLayout();
+        for (Component component : container.getComponents())
+        {
+            if (component instanceof Container)
+            {
+                layOut((Container) component);
+            }
+        }
+    }
+
+    private static JTable findTable(Container container)
+    {
+        for (Component component : container.getComponents())
+        {
+            if (component instanceof JTable)
+            {
+                return (JTable) component;
+            }
+            if (component instanceof Container)
+            {
+                JTable table = findTable((Container) component);
+                if (table != null)
+                {
+                    return table;
+                }
+            }
+        }
+        return null;
+    }
+}
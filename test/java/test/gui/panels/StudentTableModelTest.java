@@ -0,0 +1,110 @@
+package gui.panels;
+
+import testframework.*;
+import users.Student;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for the StudentTableModel.
+ * Verifies the cell values, which rows offer actions, and that large lists are
+ * shown without being copied.
+ */
+public class StudentTableModelTest extends BaseTest
+{
+    private StudentTableModel model;
+    private Student enrolled;
+    private Student unenrolled;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Creates a model showing one student with a course and one without.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        enrolled = createStudent(1, "Computer Science");
+        unenrolled = createStudent(2, "No course available");
+        model = new StudentTableModel();
+        model.setStudents(Arrays.asList(enrolled, unenrolled));
+    }
+
+    /**
+     * Tests that each column shows the matching student property.
+     */
+    public void testCellValues()
+    {
+        Assert.assertEquals(2, model.getRowCount(), "Model should have one row per student");
+        Assert.assertEquals(1, model.getValueAt(0, 0), "First column should be the ID");
+        Assert.assertEquals("Test Student1", model.getValueAt(0, 1), "Second column should be the full name");
+        Assert.assertEquals("Computer Science", model.getValueAt(0, 4), "Course column should show the course");
+        Assert.assertEquals("", model.getValueAt(1, 4), "Course column should be blank without a course");
+        Assert.assertTrue(model.getValueAt(0, StudentTableModel.ACTIONS_COLUMN) == enrolled,
+                "Actions column should hold the student");
+    }
+
+    /**
+     * Tests that only students with a course offer the row actions.
+     */
+    public void testActionsOnlyWithCourse()
+    {
+        Assert.assertTrue(model.isCellEditable(0, StudentTableModel.ACTIONS_COLUMN),
+                "Enrolled student should offer actions");
+        Assert.assertFalse(model.isCellEditable(1, StudentTableModel.ACTIONS_COLUMN),
+                "Student without a course should not offer actions");
+        Assert.assertFalse(model.isCellEditable(0, 1), "Data columns should not be editable");
+    }
+
+    /**
+     * Tests that a million-row list is shown without touching rows off screen.
+     */
+    public void testLargeListNotCopied()
+    {
+        int[] created = new int[1];
+        List<Student> students = new AbstractList<>()
+        {
+            @Override
+            public Student get(int index)
+            {
+                created[0]++;
+                return createStudent(index, "Computer Science");
+            }
+
+            @Override
+            public int size()
+            {
+                return 1_000_000;
+            }
+        };
+
+        model.setStudents(students);
+        Assert.assertEquals(1_000_000, model.getRowCount(), "Model should report every row");
+        Assert.assertEquals(0, created[0], "No row should be read until it is displayed");
+        Assert.assertEquals(999_999, model.getValueAt(999_999, 0), "Last row should be reachable");
+    }
+
+    private static Student createStudent(int id, String course)
+    {
+        Student student = new Student();
+        student.setId(id);
+        student.setFirstName("Test");
+        student.setLastName("Student" + id);
+        student.setEmail("student" + id + "@example.com");
+        student.setType("Full-time");
+        student.setCourse(course);
+        return student;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new StudentTableModelTest().runTests();
+    }
+}
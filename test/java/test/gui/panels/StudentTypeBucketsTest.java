@@ -0,0 +1,77 @@
+package gui.panels;
+
+import testframework.*;
+import users.Student;
+import users.StudentType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for the StudentTypeBuckets.
+ * Verifies that students are partitioned by type with matching counts and that
+ * students with unknown types only appear under all students.
+ */
+public class StudentTypeBucketsTest extends BaseTest
+{
+    private StudentTypeBuckets buckets;
+
+    /**
+     * Sets up the test environment before each test method.
+     * Partitions two full-time students, one DA student and one with an unknown type.
+     */
+    @Override
+    protected void setup()
+    {
+        super.setup();
+        buckets = new StudentTypeBuckets(Arrays.asList(
+                createStudent(1, "Full time"),
+                createStudent(2, "DA"),
+                createStudent(3, "full time"),
+                createStudent(4, "Evening")));
+    }
+
+    /**
+     * Tests that each type holds its students in their original order.
+     */
+    public void testPartitionByType()
+    {
+        List<Student> fullTime = buckets.get(StudentType.FULL_TIME);
+        Assert.assertEquals(2, fullTime.size(), "Two students are full time");
+        Assert.assertEquals(1, fullTime.get(0).getId(), "Original order should be kept");
+        Assert.assertEquals(3, fullTime.get(1).getId(), "Type matching should ignore case");
+        Assert.assertEquals(0, buckets.count(StudentType.INTERNATIONAL), "Types without students should be empty");
+    }
+
+    /**
+     * Tests that all students, including unknown types, are listed when no type is selected.
+     */
+    public void testAllStudents()
+    {
+        Assert.assertEquals(4, buckets.count(null), "All should include every student");
+        int typed = 0;
+        for (StudentType type : StudentType.values())
+        {
+            typed += buckets.count(type);
+        }
+        Assert.assertEquals(3, typed, "Unknown types should not be in any type bucket");
+    }
+
+    private static Student createStudent(int id, String type)
+    {
+        Student student = new Student();
+        student.setId(id);
+        student.setType(type);
+        return student;
+    }
+
+    /**
+     * Main method to run the test suite.
+     *
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args)
+    {
+        new StudentTypeBucketsTest().runTests();
+    }
+}